@@ -0,0 +1,84 @@
+package io.web3service.web3j.benchmark;
+
+import io.web3service.web3j.contract.Erc20Codec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ERC-20 call data and result decoding, Erc20Codec against web3j FunctionEncoder / FunctionReturnDecoder.
+ * @author github.com/x-saofen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Erc20CodecBenchmark {
+
+    private static final List<TypeReference<Type>> UINT256 = Collections.singletonList(castReference(new TypeReference<Uint256>() {
+    }));
+
+    private String owner = "0x5aAeb6053F3E94C9b9A09f33669435E7Ef1BeAed";
+
+    private String to = "0xfB6916095ca1df60bB79Ce92cE3Ea74c37c5d359";
+
+    private BigInteger value = new BigInteger("1500000000000000000000");
+
+    private String result = "0x00000000000000000000000000000000000000000000005150ae84a8cdf00000";
+
+    @Benchmark
+    public String encodeBalanceOfCodec() {
+        return Erc20Codec.balanceOf(owner);
+    }
+
+    @Benchmark
+    public String encodeBalanceOfWeb3j() {
+        return FunctionEncoder.encode(new Function("balanceOf", Collections.singletonList(new Address(owner)), Collections.emptyList()));
+    }
+
+    @Benchmark
+    public String encodeTransferCodec() {
+        return Erc20Codec.transfer(to, value);
+    }
+
+    @Benchmark
+    public String encodeTransferWeb3j() {
+        return FunctionEncoder.encode(new Function("transfer", Arrays.asList(new Address(to), new Uint256(value)), Collections.emptyList()));
+    }
+
+    @Benchmark
+    public BigInteger decodeUint256Codec() {
+        return Erc20Codec.decodeUint256(result);
+    }
+
+    @Benchmark
+    public BigInteger decodeUint256Web3j() {
+        return (BigInteger) FunctionReturnDecoder.decode(result, UINT256).get(0).getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypeReference<Type> castReference(TypeReference<?> reference) {
+        return (TypeReference<Type>) reference;
+    }
+}
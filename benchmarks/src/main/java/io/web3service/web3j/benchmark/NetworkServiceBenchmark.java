@@ -0,0 +1,88 @@
+package io.web3service.web3j.benchmark;
+
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jNetworkService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.utils.Convert;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full Web3jNetworkService read and transfer paths against {@link StubWeb3jService}: request
+ * building, Jackson round trip, endpoint tracking, encoding, signing and decoding.
+ * @author github.com/x-saofen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkServiceBenchmark {
+
+    private static final String CONTRACT = "0xdAC17F958D2ee523a2206206994597C13D831ec7";
+
+    private static final String OWNER = "0x5aAeb6053F3E94C9b9A09f33669435E7Ef1BeAed";
+
+    private static final String TO = "0xfB6916095ca1df60bB79Ce92cE3Ea74c37c5d359";
+
+    private static final Long CHAIN_ID = 1L;
+
+    private final Credentials credentials = Credentials.create("0x4646464646464646464646464646464646464646464646464646464646464646");
+
+    private final BigInteger gasPrice = BigInteger.valueOf(20_000_000_000L);
+
+    private final BigInteger value = BigInteger.TEN.pow(18);
+
+    private Web3jNetworkService service;
+
+    @Setup
+    public void setup() {
+        service = new Web3jNetworkService(new StubWeb3jService(), null, new Web3jNetworkConfig(), "eth", "stub");
+    }
+
+    @Benchmark
+    public BigInteger erc20BalanceOf() {
+        return service.getErc20ContractBalancesOf(CONTRACT, OWNER);
+    }
+
+    @Benchmark
+    public List<Type> readFunctionBalanceOf() {
+        return service.simpleReadFunction(CONTRACT, "balanceOf", Collections.singletonList(new Address(OWNER)), new TypeReference<Uint256>() {
+        });
+    }
+
+    @Benchmark
+    public EthSendTransaction transfer() {
+        return service.simpleTransfer(credentials, TO, gasPrice, BigInteger.valueOf(21_000), BigInteger.valueOf(42), value, CHAIN_ID);
+    }
+
+    @Benchmark
+    public EthSendTransaction erc20TransferPendingNonce() {
+        return service.simpleTransfer(credentials, TO, gasPrice, BigInteger.valueOf(100_000), null, value, CONTRACT, CHAIN_ID);
+    }
+
+    @Benchmark
+    public EthSendTransaction erc20TransferEip1559() {
+        return service.simpleEIP1559Transfer(CONTRACT, credentials, TO, BigDecimal.ONE, Convert.Unit.ETHER, BigInteger.valueOf(100_000), BigInteger.valueOf(42));
+    }
+}
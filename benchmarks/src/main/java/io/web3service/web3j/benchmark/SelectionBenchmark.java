@@ -0,0 +1,76 @@
+package io.web3service.web3j.benchmark;
+
+import io.web3service.web3j.balancer.LoadBalancerType;
+import io.web3service.web3j.balancer.LoadBalancers;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jNetworkService;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Web3jServiceTemplate.getNextTemplate per load balancer, alone and with 8 threads selecting on the
+ * same network.
+ * @author github.com/x-saofen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionBenchmark {
+
+    private static final String NETWORK = "eth";
+
+    @Param({"ROUND_ROBIN", "RANDOM", "EWMA", "P2C", "LEAST_OUTSTANDING"})
+    private LoadBalancerType loadBalancer;
+
+    @Param({"1", "4"})
+    private int endpoints;
+
+    private Web3jServiceTemplate template;
+
+    @Setup
+    public void setup() {
+        List<Web3jNetworkService> services = new ArrayList<>(endpoints);
+        for (int i = 0; i < endpoints; i++) {
+            services.add(new Web3jNetworkService(new StubWeb3jService(), null, new Web3jNetworkConfig(), NETWORK, "stub-" + i));
+        }
+        template = Web3jServiceTemplate.buildEmpty()
+                .buildServiceList(services, NETWORK, LoadBalancers.create(loadBalancer))
+                .getWeb3jServiceTemplate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        template.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Web3jNetworkService select() {
+        return template.getNextTemplate(NETWORK);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Web3jNetworkService selectContended() {
+        return template.getNextTemplate(NETWORK);
+    }
+}
@@ -0,0 +1,50 @@
+package io.web3service.web3j.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionEncoder.signMessage of the transactions built by sendTransaction and the EIP-1559 transfers.
+ * @author github.com/x-saofen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SigningBenchmark {
+
+    private static final long CHAIN_ID = 1L;
+
+    private final Credentials credentials = Credentials.create("0x4646464646464646464646464646464646464646464646464646464646464646");
+
+    private final RawTransaction legacy = RawTransaction.createEtherTransaction(BigInteger.valueOf(42), BigInteger.valueOf(20_000_000_000L),
+            BigInteger.valueOf(21_000), "0x3535353535353535353535353535353535353535", BigInteger.TEN.pow(18));
+
+    private final RawTransaction eip1559 = RawTransaction.createEtherTransaction(CHAIN_ID, BigInteger.valueOf(42), BigInteger.valueOf(21_000),
+            "0x3535353535353535353535353535353535353535", BigInteger.TEN.pow(18), BigInteger.valueOf(1_000_000_000L), BigInteger.valueOf(30_000_000_000L));
+
+    @Benchmark
+    public byte[] signLegacy() {
+        return TransactionEncoder.signMessage(legacy, CHAIN_ID, credentials);
+    }
+
+    @Benchmark
+    public byte[] signEip1559() {
+        return TransactionEncoder.signMessage(eip1559, credentials);
+    }
+}
@@ -0,0 +1,130 @@
+package io.web3service.web3j.benchmark;
+
+import org.web3j.protocol.Service;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-process JSON-RPC endpoint with canned results. Requests go through the same Jackson
+ * serialization and response parsing as HttpService, async calls complete on the calling thread,
+ * so a benchmark measures the client code without network or thread hand-off.
+ * @author github.com/x-saofen
+ */
+public class StubWeb3jService extends Service {
+
+    private static class Constant {
+        private static final String METHOD = "\"method\":\"";
+        private static final String ID = "\"id\":";
+        private static final String WORD = "0x0000000000000000000000000000000000000000000000000de0b6b3a7640000";
+        private static final String HASH = "0x88df016429689c079f3b2f6ad39fa052532c56795b733da78a91ebe6a713944b";
+    }
+
+    private final Map<String, String> results = new HashMap<>();
+
+    public StubWeb3jService() {
+        super(false);
+        results.put("eth_call", quote(Constant.WORD));
+        results.put("eth_getBalance", quote(Constant.WORD));
+        results.put("eth_blockNumber", quote("0x10d4f"));
+        results.put("eth_chainId", quote("0x1"));
+        results.put("eth_gasPrice", quote("0x3b9aca00"));
+        results.put("eth_maxPriorityFeePerGas", quote("0x3b9aca00"));
+        results.put("eth_getTransactionCount", quote("0x2a"));
+        results.put("eth_sendRawTransaction", quote(Constant.HASH));
+        results.put("eth_getCode", quote("0x6080604052"));
+        results.put("net_version", quote("1"));
+        results.put("web3_clientVersion", quote("stub/v1.0.0"));
+        results.put("eth_getBlockByNumber", "{\"number\":\"0x10d4f\",\"hash\":" + quote(Constant.HASH)
+                + ",\"baseFeePerGas\":\"0x6fc23ac00\",\"gasLimit\":\"0x1c9c380\",\"gasUsed\":\"0xe4e1c0\",\"timestamp\":\"0x6553f100\",\"transactions\":[]}");
+    }
+
+    /**
+     * change the result of a method
+     * @param method JSON-RPC method
+     * @param result result as JSON, strings quoted
+     * @return this
+     */
+    public StubWeb3jService result(String method, String result) {
+        results.put(method, result);
+        return this;
+    }
+
+    private static String quote(String value) {
+        return '"' + value + '"';
+    }
+
+    @Override
+    protected InputStream performIO(String payload) {
+        StringBuilder response = new StringBuilder(payload.length() + 64);
+        boolean batch = payload.charAt(0) == '[';
+        if (batch) {
+            response.append('[');
+        }
+        int from = 0;
+        for (int index = 0; ; index++) {
+            int methodAt = payload.indexOf(Constant.METHOD, from);
+            if (methodAt < 0) {
+                break;
+            }
+            int methodStart = methodAt + Constant.METHOD.length();
+            String method = payload.substring(methodStart, payload.indexOf('"', methodStart));
+            int idStart = payload.indexOf(Constant.ID, methodStart) + Constant.ID.length();
+            int idEnd = idStart;
+            while (idEnd < payload.length() && Character.isDigit(payload.charAt(idEnd))) {
+                idEnd++;
+            }
+            if (index > 0) {
+                response.append(',');
+            }
+            response.append("{\"jsonrpc\":\"2.0\",\"id\":").append(payload, idStart, idEnd);
+            String result = results.get(method);
+            if (Objects.isNull(result)) {
+                response.append(",\"error\":{\"code\":-32601,\"message\":\"the method ").append(method).append(" does not exist\"}}");
+            } else {
+                response.append(",\"result\":").append(result).append('}');
+            }
+            from = idEnd;
+        }
+        if (batch) {
+            response.append(']');
+        }
+        return new ByteArrayInputStream(response.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(send(request, responseType));
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        CompletableFuture<BatchResponse> future = new CompletableFuture<>();
+        try {
+            future.complete(sendBatch(batchRequest));
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public void close() {
+    }
+}
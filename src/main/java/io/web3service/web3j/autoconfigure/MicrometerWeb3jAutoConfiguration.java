@@ -0,0 +1,27 @@
+package io.web3service.web3j.autoconfigure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.web3service.web3j.core.Web3jMetrics;
+import io.web3service.web3j.metrics.MicrometerWeb3jMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author github.com/x-saofen
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@AutoConfigureBefore(Web3jAutoConfiguration.class)
+public class MicrometerWeb3jAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Web3jMetrics web3jMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MicrometerWeb3jMetrics(meterRegistry.getIfUnique(() -> Metrics.globalRegistry));
+    }
+}
@@ -0,0 +1,27 @@
+package io.web3service.web3j.autoconfigure;
+
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import io.web3service.web3j.reactive.ReactiveWeb3jServiceTemplate;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Flux;
+
+/**
+ * @author github.com/x-saofen
+ */
+@Configuration
+@ConditionalOnClass(Flux.class)
+@AutoConfigureAfter(Web3jAutoConfiguration.class)
+public class ReactiveWeb3jAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(Web3jServiceTemplate.class)
+    public ReactiveWeb3jServiceTemplate reactiveWeb3j(Web3jServiceTemplate web3jServiceTemplate) {
+        return new ReactiveWeb3jServiceTemplate(web3jServiceTemplate);
+    }
+}
@@ -1,10 +1,24 @@
 package io.web3service.web3j.autoconfigure;
 
+import io.web3service.web3j.balancer.LoadBalancer;
+import io.web3service.web3j.balancer.LoadBalancers;
+import io.web3service.web3j.cache.CallResultCache;
+import io.web3service.web3j.cache.TokenMetadataCache;
+import io.web3service.web3j.contract.ContractFactory;
+import io.web3service.web3j.core.EndpointInitializer;
+import io.web3service.web3j.core.Web3jMetrics;
+import io.web3service.web3j.core.Web3jNetworkConfig;
 import io.web3service.web3j.core.Web3jNetworkService;
 import io.web3service.web3j.core.Web3jServiceFactory;
 import io.web3service.web3j.core.Web3jServiceTemplate;
+import io.web3service.web3j.fee.FeeOracle;
+import io.web3service.web3j.health.HealthMonitor;
+import io.web3service.web3j.nonce.NonceRegistry;
+import io.web3service.web3j.receipt.ReceiptTracker;
+import io.reactivex.disposables.Disposable;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -13,11 +27,19 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.web3j.protocol.Web3j;
+import org.web3j.utils.Numeric;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
 
 /**
  * @author github.com/x-saofen
@@ -33,28 +55,138 @@ public class Web3jAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public Web3jServiceTemplate web3j() {
+    public Web3jServiceTemplate web3j(ObjectProvider<Web3jMetrics> metricsProvider) {
+        Web3jMetrics metrics = metricsProvider.getIfAvailable();
         Map<String, List<String>> propertiesNetwork = properties.getNetwork();
         Assert.isTrue(!CollectionUtils.isEmpty(propertiesNetwork), "Web3j client address must not be null");
         Set<String> networks = propertiesNetwork.keySet();
+        Web3jProperties.Startup startup = properties.getStartup();
+        long startedAt = System.currentTimeMillis();
         Web3jServiceTemplate.Build build = Web3jServiceTemplate.buildEmpty();
-        networks.forEach( network -> {
-            Exception ex = null;
+        ScheduledExecutorService healthScheduler = null;
+        List<Web3jNetworkService> allServices = new ArrayList<>();
+        List<Runnable> afterInit = new ArrayList<>();
+        for (String network : networks) {
             try{
                 List<String> networkAddress = propertiesNetwork.get(network);
-                List<Web3jNetworkService> web3jService = Web3jServiceFactory.buildServiceList(networkAddress, properties.getHttpTimeoutSeconds());
-                log.info("Building service {} for endpoint: {}", network,  networkAddress);
-                build.buildServiceList(web3jService, network);
+                Web3jNetworkConfig config = properties.getNetworkConfig(network);
+                List<Web3jNetworkService> web3jService = Web3jServiceFactory.buildServiceList(networkAddress, properties.getHttpTimeoutSeconds(), config, network, metrics);
+                log.info("Building service {} for endpoint: {}, load balancer: {}", network,  networkAddress, config.getLoadBalancer());
+                LoadBalancer loadBalancer = LoadBalancers.create(config.getLoadBalancer());
+                build.buildServiceList(web3jService, network, Objects.isNull(metrics) ? loadBalancer : metrics.decorate(network, loadBalancer));
+                allServices.addAll(web3jService);
+                Integer asyncThreads = config.getAsync().getThreads();
+                if (Objects.nonNull(asyncThreads) && asyncThreads > 0) {
+                    ExecutorService asyncExecutor = Executors.newFixedThreadPool(asyncThreads, daemonThreadFactory("web3j-async-" + network));
+                    build.addCloseable(asyncExecutor::shutdown);
+                    web3jService.forEach(service -> service.setAsyncExecutor(asyncExecutor));
+                }
+                Web3jNetworkConfig.MetadataCache metadataCache = config.getMetadataCache();
+                if (Boolean.TRUE.equals(metadataCache.getEnabled())) {
+                    TokenMetadataCache cache = new TokenMetadataCache(network, metadataCache.getMaxSize(), metadataCache.getTtlMillis(),
+                            Boolean.TRUE.equals(metadataCache.getNegativeCaching()), metadataCache.getNegativeTtlMillis());
+                    web3jService.forEach(service -> service.setMetadataCache(cache));
+                    if (!CollectionUtils.isEmpty(metadataCache.getPrefetch())) {
+                        afterInit.add(() -> cache.prefetch(build.getWeb3jServiceTemplate().getNextTemplate(network), metadataCache.getPrefetch()).whenComplete((v, e) -> {
+                            if (Objects.nonNull(e)) {
+                                log.warn("Prefetch token metadata of network {} failed: {}", network, e.getMessage());
+                            }
+                        }));
+                    }
+                }
+                ContractFactory contractFactory = new ContractFactory(config.getContract());
+                web3jService.forEach(service -> service.setContractFactory(contractFactory));
+                List<LongConsumer> headListeners = new ArrayList<>();
+                Web3jNetworkConfig.CallCache callCacheConfig = config.getCallCache();
+                if (Boolean.TRUE.equals(callCacheConfig.getEnabled())) {
+                    CallResultCache callCache = new CallResultCache(network, callCacheConfig.getMaxEntries(), callCacheConfig.getHeadTtlMillis());
+                    for (Web3jNetworkService service : web3jService) {
+                        service.setCallCache(callCache);
+                    }
+                    headListeners.add(callCache::onNewHead);
+                }
+                if (Boolean.TRUE.equals(config.getFeeOracle().getEnabled())) {
+                    FeeOracle feeOracle = new FeeOracle(build.getWeb3jServiceTemplate(), network, config.getFeeOracle());
+                    web3jService.forEach(service -> service.setFeeOracle(feeOracle));
+                    headListeners.add(feeOracle::onNewHead);
+                    build.addCloseable(feeOracle);
+                    afterInit.add(() -> feeOracle.refresh().whenComplete((quotes, e) -> {
+                        if (Objects.nonNull(e)) {
+                            log.warn("Load fee history of network {} failed: {}", network, e.getMessage());
+                        }
+                    }));
+                }
+                if (Boolean.TRUE.equals(config.getNonce().getEnabled())) {
+                    NonceRegistry nonceRegistry = new NonceRegistry(build.getWeb3jServiceTemplate(), network);
+                    web3jService.forEach(service -> service.setNonceRegistry(nonceRegistry));
+                }
+                if (Boolean.TRUE.equals(config.getReceipt().getEnabled())) {
+                    ReceiptTracker receiptTracker = new ReceiptTracker(build.getWeb3jServiceTemplate(), network, config.getReceipt());
+                    web3jService.forEach(service -> service.setReceiptTracker(receiptTracker));
+                    headListeners.add(receiptTracker::onNewHead);
+                    build.addCloseable(receiptTracker);
+                }
+                for (Web3jNetworkService service : web3jService) {
+                    if (service.isSubscriptionSupported()) {
+                        build.addCloseable(service::shutdown);
+                    }
+                }
+                if (!headListeners.isEmpty() && web3jService.stream().anyMatch(Web3jNetworkService::isSubscriptionSupported)) {
+                    // pushed heads reach the listeners without waiting for a poll
+                    afterInit.add(() -> {
+                        Disposable heads = build.getWeb3jServiceTemplate().getSubscriptionTemplate(network).subscribeNewHeads()
+                                .subscribe(head -> {
+                                    long number = Numeric.toBigInt(head.getNumber()).longValue();
+                                    headListeners.forEach(listener -> listener.accept(number));
+                                }, e -> log.warn("New heads subscription of network {} failed: {}", network, e.getMessage()));
+                        build.addCloseable(heads::dispose);
+                    });
+                }
+                Web3jNetworkConfig.Health health = config.getHealth();
+                if (Boolean.TRUE.equals(health.getEnabled())) {
+                    if (Objects.isNull(healthScheduler)) {
+                        healthScheduler = newScheduler("web3j-health");
+                        build.addCloseable(healthScheduler::shutdownNow);
+                    }
+                    HealthMonitor monitor = new HealthMonitor(network, web3jService, healthScheduler, health.getIntervalMillis(), health.getTimeoutMillis(), health.getMaxLagBlocks());
+                    headListeners.forEach(monitor::addHeadListener);
+                    build.addCloseable(monitor);
+                    afterInit.add(monitor::start);
+                }
             }catch (Exception e){
-                ex = e;
+                if (Boolean.TRUE.equals(startup.getFailFast())) {
+                    throw new IllegalStateException("Build web3j network " + network + " failed", e);
+                }
+                log.error("Build web3j network {} failed, network skipped", network, e);
             }
-            if(Objects.nonNull(ex)){
-                ex.printStackTrace();
-                System.exit(-1);
+        }
+        List<EndpointInitializer.Result> results = EndpointInitializer.initialize(allServices, startup.getTimeoutMillis());
+        afterInit.forEach(Runnable::run);
+        long ready = results.stream().filter(EndpointInitializer.Result::isReady).count();
+        log.info("Web3j started {} networks, {}/{} endpoints ready in {}ms", networks.size(), ready, results.size(), System.currentTimeMillis() - startedAt);
+        if (Boolean.TRUE.equals(startup.getFailFast())) {
+            for (String network : networks) {
+                if (results.stream().noneMatch(result -> network.equals(result.getNetwork()) && result.isReady())) {
+                    build.getWeb3jServiceTemplate().close();
+                    throw new IllegalStateException("No reachable web3j endpoint for network " + network);
+                }
             }
-        });
+        }
         return build.getWeb3jServiceTemplate();
     }
 
+    private static ScheduledExecutorService newScheduler(String name) {
+        return Executors.newSingleThreadScheduledExecutor(daemonThreadFactory(name));
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
 
 }
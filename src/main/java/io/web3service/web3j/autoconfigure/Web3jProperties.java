@@ -1,8 +1,10 @@
 package io.web3service.web3j.autoconfigure;
 
+import io.web3service.web3j.core.Web3jNetworkConfig;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,4 +25,37 @@ public class Web3jProperties {
      * Blockchain network, example=>  ethereum: https://rpc.ankr.com/eth, https://rpc.flashbots.net
      */
     private Map<String, List<String>> network;
+
+    /**
+     * Per network options, example=>  ethereum.batch.max-size: 200
+     */
+    private Map<String, Web3jNetworkConfig> config = new HashMap<>();
+
+    /**
+     * Startup options
+     */
+    private Startup startup = new Startup();
+
+    /**
+     * get network options, defaults when not configured
+     * @param network network
+     * @return Web3jNetworkConfig
+     */
+    public Web3jNetworkConfig getNetworkConfig(String network) {
+        return config.computeIfAbsent(network, key -> new Web3jNetworkConfig());
+    }
+
+    @Data
+    public static class Startup {
+
+        /**
+         * Deadline for the chain id / client version of every endpoint, endpoints missing it start out of selection
+         */
+        private Long timeoutMillis = 10_000L;
+
+        /**
+         * Fail the application when a network can not be built or has no reachable endpoint
+         */
+        private Boolean failFast = false;
+    }
 }
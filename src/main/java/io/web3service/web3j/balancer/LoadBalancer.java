@@ -0,0 +1,20 @@
+package io.web3service.web3j.balancer;
+
+import io.web3service.web3j.core.Web3jNetworkService;
+
+/**
+ * Endpoint selection strategy of one network, implementations must be lock free
+ * and must not allocate on {@link #select(Web3jNetworkService[])}. Endpoints that are not
+ * {@link Web3jNetworkService#isAvailable() available} are skipped while any other one is.
+ * @author github.com/x-saofen
+ */
+public interface LoadBalancer {
+
+    /**
+     * select endpoint
+     *
+     * @param services network endpoints, never empty
+     * @return Web3jNetworkService
+     */
+    Web3jNetworkService select(Web3jNetworkService[] services);
+}
@@ -0,0 +1,32 @@
+package io.web3service.web3j.balancer;
+
+/**
+ * @author github.com/x-saofen
+ */
+public enum LoadBalancerType {
+
+    /**
+     * plain rotation
+     */
+    ROUND_ROBIN,
+
+    /**
+     * uniform random
+     */
+    RANDOM,
+
+    /**
+     * lowest ewma latency weighted by in flight requests
+     */
+    EWMA,
+
+    /**
+     * power of two random choices on in flight requests
+     */
+    P2C,
+
+    /**
+     * least outstanding requests
+     */
+    LEAST_OUTSTANDING
+}
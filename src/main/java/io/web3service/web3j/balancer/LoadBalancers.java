@@ -0,0 +1,162 @@
+package io.web3service.web3j.balancer;
+
+import io.web3service.web3j.core.EndpointStats;
+import io.web3service.web3j.core.Web3jNetworkService;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Built in {@link LoadBalancer} strategies.
+ * @author github.com/x-saofen
+ */
+public class LoadBalancers {
+
+    private LoadBalancers() {
+    }
+
+    /**
+     * create strategy, every network needs its own instance
+     *
+     * @param type strategy type
+     * @return LoadBalancer
+     */
+    public static LoadBalancer create(LoadBalancerType type) {
+        if (Objects.isNull(type)) {
+            return new RoundRobin();
+        }
+        switch (type) {
+            case RANDOM:
+                return new RandomChoice();
+            case EWMA:
+                return new Ewma();
+            case P2C:
+                return new PowerOfTwoChoices();
+            case LEAST_OUTSTANDING:
+                return new LeastOutstanding();
+            case ROUND_ROBIN:
+            default:
+                return new RoundRobin();
+        }
+    }
+
+    /**
+     * first available endpoint scanning from start, or services[start] when none is available
+     */
+    public static Web3jNetworkService firstAvailable(Web3jNetworkService[] services, int start) {
+        int length = services.length;
+        for (int i = 0; i < length; i++) {
+            Web3jNetworkService candidate = services[(start + i) % length];
+            if (candidate.isAvailable()) {
+                return candidate;
+            }
+        }
+        return services[start];
+    }
+
+    static class RoundRobin implements LoadBalancer {
+
+        private final AtomicInteger next = new AtomicInteger();
+
+        @Override
+        public Web3jNetworkService select(Web3jNetworkService[] services) {
+            if (services.length == 1) {
+                return services[0];
+            }
+            return firstAvailable(services, (next.getAndIncrement() & Integer.MAX_VALUE) % services.length);
+        }
+    }
+
+    static class RandomChoice implements LoadBalancer {
+
+        @Override
+        public Web3jNetworkService select(Web3jNetworkService[] services) {
+            if (services.length == 1) {
+                return services[0];
+            }
+            return firstAvailable(services, ThreadLocalRandom.current().nextInt(services.length));
+        }
+    }
+
+    static class Ewma implements LoadBalancer {
+
+        @Override
+        public Web3jNetworkService select(Web3jNetworkService[] services) {
+            int length = services.length;
+            if (length == 1) {
+                return services[0];
+            }
+            int start = ThreadLocalRandom.current().nextInt(length);
+            Web3jNetworkService best = null;
+            long bestScore = Long.MAX_VALUE;
+            for (int i = 0; i < length; i++) {
+                Web3jNetworkService candidate = services[(start + i) % length];
+                if (!candidate.isAvailable()) {
+                    continue;
+                }
+                long score = candidate.getEndpointStats().getLoadScore();
+                if (Objects.isNull(best) || score < bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+            return Objects.isNull(best) ? services[start] : best;
+        }
+    }
+
+    static class PowerOfTwoChoices implements LoadBalancer {
+
+        @Override
+        public Web3jNetworkService select(Web3jNetworkService[] services) {
+            int length = services.length;
+            if (length == 1) {
+                return services[0];
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(length);
+            int second = random.nextInt(length - 1);
+            if (second >= first) {
+                second++;
+            }
+            boolean firstAvailable = services[first].isAvailable();
+            boolean secondAvailable = services[second].isAvailable();
+            if (!firstAvailable || !secondAvailable) {
+                return secondAvailable ? services[second] : firstAvailable(services, first);
+            }
+            EndpointStats a = services[first].getEndpointStats();
+            EndpointStats b = services[second].getEndpointStats();
+            int compare = Integer.compare(a.getInFlight(), b.getInFlight());
+            if (compare == 0) {
+                compare = Long.compare(a.getEwmaNanos(), b.getEwmaNanos());
+            }
+            return compare <= 0 ? services[first] : services[second];
+        }
+    }
+
+    static class LeastOutstanding implements LoadBalancer {
+
+        @Override
+        public Web3jNetworkService select(Web3jNetworkService[] services) {
+            int length = services.length;
+            if (length == 1) {
+                return services[0];
+            }
+            int start = ThreadLocalRandom.current().nextInt(length);
+            Web3jNetworkService best = null;
+            int bestInFlight = Integer.MAX_VALUE;
+            for (int i = 0; i < length && bestInFlight > 0; i++) {
+                Web3jNetworkService candidate = services[(start + i) % length];
+                if (!candidate.isAvailable()) {
+                    continue;
+                }
+                int inFlight = candidate.getEndpointStats().getInFlight();
+                if (Objects.isNull(best) || inFlight < bestInFlight) {
+                    best = candidate;
+                    bestInFlight = inFlight;
+                }
+            }
+            return Objects.isNull(best) ? services[start] : best;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.web3service.web3j.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Splits read calls into JSON-RPC batch arrays and sends a bounded number of them in parallel.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class BatchExecutor {
+
+    private BatchExecutor() {
+    }
+
+    /**
+     * send calls as JSON-RPC batches
+     *
+     * @param web3j       endpoint
+     * @param calls       read calls
+     * @param maxSize     max calls per batch
+     * @param parallelism max batches in flight
+     * @return results in call order, never completes exceptionally
+     */
+    public static <T> CompletableFuture<List<BatchResult<T>>> execute(Web3j web3j, List<? extends ReadCall<? extends T>> calls, int maxSize, int parallelism) {
+        if (calls.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        int size = Math.max(1, maxSize);
+        int chunks = (calls.size() + size - 1) / size;
+        int lanes = Math.min(Math.max(1, parallelism), chunks);
+        BatchResult<T>[] results = newResultArray(calls.size());
+        CompletableFuture<?>[] laneFutures = new CompletableFuture<?>[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+            for (int chunk = lane; chunk < chunks; chunk += lanes) {
+                int from = chunk * size;
+                int to = Math.min(from + size, calls.size());
+                future = future.thenCompose(v -> sendChunk(web3j, calls, from, to, results));
+            }
+            laneFutures[lane] = future;
+        }
+        return CompletableFuture.allOf(laneFutures).thenApply(v -> Arrays.asList(results));
+    }
+
+    private static <T> CompletableFuture<Void> sendChunk(Web3j web3j, List<? extends ReadCall<? extends T>> calls, int from, int to, BatchResult<T>[] results) {
+        BatchRequest batchRequest = web3j.newBatch();
+        List<Request<?, ? extends Response<?>>> requests = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Request<?, ? extends Response<?>> request = calls.get(i).createRequest(web3j);
+            requests.add(request);
+            batchRequest.add(request);
+        }
+        CompletableFuture<BatchResponse> future;
+        try {
+            future = batchRequest.sendAsync();
+        } catch (Exception e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        return future.handle((batchResponse, ex) -> {
+            if (Objects.nonNull(ex)) {
+                log.warn("JSON-RPC batch of {} calls failed: {}", requests.size(), ex.getMessage());
+                for (int i = from; i < to; i++) {
+                    results[i] = BatchResult.failure(ex);
+                }
+                return null;
+            }
+            Map<Long, Response<?>> responses = new HashMap<>(requests.size() * 2);
+            for (Response<?> response : batchResponse.getResponses()) {
+                responses.put(response.getId(), response);
+            }
+            for (int i = from; i < to; i++) {
+                results[i] = decode(calls.get(i), responses.get(requests.get(i - from).getId()));
+            }
+            return null;
+        });
+    }
+
+    private static <T> BatchResult<T> decode(ReadCall<? extends T> call, Response<?> response) {
+        if (Objects.isNull(response)) {
+            return BatchResult.failure(new IllegalStateException("Missing response in JSON-RPC batch"));
+        }
+        if (response.hasError()) {
+            return BatchResult.error(response.getError());
+        }
+        try {
+            return BatchResult.success(call.decode(response));
+        } catch (Exception e) {
+            return BatchResult.failure(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> BatchResult<T>[] newResultArray(int size) {
+        return (BatchResult<T>[]) new BatchResult<?>[size];
+    }
+}
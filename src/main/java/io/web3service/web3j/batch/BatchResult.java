@@ -0,0 +1,74 @@
+package io.web3service.web3j.batch;
+
+import io.web3service.web3j.core.JsonRpcException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.web3j.protocol.core.Response;
+
+import java.util.Objects;
+
+/**
+ * Result of one call inside a JSON-RPC batch.
+ * @author github.com/x-saofen
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BatchResult<T> {
+
+    /**
+     * decoded value, null when the call failed
+     */
+    private final T value;
+
+    /**
+     * JSON-RPC error returned by the node
+     */
+    private final Response.Error error;
+
+    /**
+     * transport or decoding failure
+     */
+    private final Throwable exception;
+
+    public static <T> BatchResult<T> success(T value) {
+        return new BatchResult<>(value, null, null);
+    }
+
+    public static <T> BatchResult<T> error(Response.Error error) {
+        return new BatchResult<>(null, error, null);
+    }
+
+    public static <T> BatchResult<T> failure(Throwable exception) {
+        return new BatchResult<>(null, null, exception);
+    }
+
+    public boolean isSuccess() {
+        return Objects.isNull(error) && Objects.isNull(exception);
+    }
+
+    /**
+     * transform a successful value, errors are kept
+     *
+     * @param mapper value mapper
+     * @return BatchResult
+     */
+    public <U> BatchResult<U> map(java.util.function.Function<? super T, ? extends U> mapper) {
+        return isSuccess() ? success(mapper.apply(value)) : new BatchResult<>(null, error, exception);
+    }
+
+    /**
+     * get value or throw the call failure
+     *
+     * @return value
+     */
+    public T getOrThrow() {
+        if (Objects.nonNull(error)) {
+            throw new JsonRpcException(error);
+        }
+        if (Objects.nonNull(exception)) {
+            throw new IllegalStateException(exception.getMessage(), exception);
+        }
+        return value;
+    }
+}
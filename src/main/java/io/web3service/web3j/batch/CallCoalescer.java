@@ -0,0 +1,130 @@
+package io.web3service.web3j.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects requests arriving within a short window on one endpoint and sends them
+ * as one JSON-RPC batch, each caller still gets its own future.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class CallCoalescer {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "web3j-call-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @AllArgsConstructor
+    private static class Pending {
+        private final Request<?, ? extends Response<?>> request;
+        private final CompletableFuture<Response<?>> future;
+    }
+
+    private final Web3j web3j;
+    private final long windowMicros;
+    private final int maxBatch;
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param web3j        endpoint
+     * @param windowMillis max time a request waits for others
+     * @param maxBatch     flush as soon as this many requests are waiting
+     */
+    public CallCoalescer(Web3j web3j, long windowMillis, int maxBatch) {
+        this.web3j = web3j;
+        this.windowMicros = Math.max(1L, TimeUnit.MILLISECONDS.toMicros(windowMillis));
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    /**
+     * queue request for the next batch
+     *
+     * @param request request
+     * @return response future
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Response<?>> CompletableFuture<T> submit(Request<?, T> request) {
+        CompletableFuture<Response<?>> future = new CompletableFuture<>();
+        queue.add(new Pending(request, future));
+        if (size.incrementAndGet() >= maxBatch) {
+            flush();
+        } else if (scheduled.compareAndSet(false, true)) {
+            SCHEDULER.schedule(this::onWindowClosed, windowMicros, TimeUnit.MICROSECONDS);
+        }
+        return (CompletableFuture<T>) (CompletableFuture<?>) future;
+    }
+
+    private void onWindowClosed() {
+        scheduled.set(false);
+        flush();
+        if (size.get() > 0 && scheduled.compareAndSet(false, true)) {
+            SCHEDULER.schedule(this::onWindowClosed, windowMicros, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    private void flush() {
+        List<Pending> batch = new ArrayList<>(Math.min(size.get(), maxBatch));
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(pending);
+            if (batch.size() == maxBatch) {
+                send(batch);
+                batch = new ArrayList<>(Math.min(size.get(), maxBatch));
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void send(List<Pending> batch) {
+        if (batch.size() == 1) {
+            Pending single = batch.get(0);
+            ((CompletableFuture<Response<?>>) single.request.sendAsync()).whenComplete((response, ex) -> {
+                if (Objects.nonNull(ex)) {
+                    single.future.completeExceptionally(ex);
+                } else {
+                    single.future.complete(response);
+                }
+            });
+            return;
+        }
+        BatchRequest batchRequest = web3j.newBatch();
+        batch.forEach(item -> batchRequest.add(item.request));
+        batchRequest.sendAsync().whenComplete((batchResponse, ex) -> {
+            if (Objects.nonNull(ex)) {
+                log.warn("Coalesced JSON-RPC batch of {} calls failed: {}", batch.size(), ex.getMessage());
+                batch.forEach(item -> item.future.completeExceptionally(ex));
+                return;
+            }
+            Map<Long, Response<?>> responses = new HashMap<>(batch.size() * 2);
+            for (Response<?> response : batchResponse.getResponses()) {
+                responses.put(response.getId(), response);
+            }
+            for (Pending item : batch) {
+                Response<?> response = responses.get(item.request.getId());
+                if (Objects.isNull(response)) {
+                    item.future.completeExceptionally(new IllegalStateException("Missing response in JSON-RPC batch"));
+                } else {
+                    item.future.complete(response);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,187 @@
+package io.web3service.web3j.batch;
+
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Read only JSON-RPC call with its result decoder, the request is created against
+ * whichever endpoint finally sends it.
+ * @author github.com/x-saofen
+ */
+public class ReadCall<T> {
+
+    private static class Constant {
+        private static final String EMPTY_ADDRESS = "0x0000000000000000000000000000000000000000";
+    }
+
+    private final java.util.function.Function<Web3j, Request<?, ? extends Response<?>>> requestFactory;
+    private final java.util.function.Function<Response<?>, T> decoder;
+
+    private ReadCall(java.util.function.Function<Web3j, Request<?, ? extends Response<?>>> requestFactory, java.util.function.Function<Response<?>, T> decoder) {
+        this.requestFactory = requestFactory;
+        this.decoder = decoder;
+    }
+
+    /**
+     * custom read call
+     *
+     * @param requestFactory create request for a endpoint
+     * @param decoder        response decoder
+     * @return ReadCall
+     */
+    @SuppressWarnings("unchecked")
+    public static <R extends Response<?>, T> ReadCall<T> of(java.util.function.Function<Web3j, Request<?, R>> requestFactory, java.util.function.Function<R, T> decoder) {
+        return new ReadCall<>(requestFactory::apply, response -> decoder.apply((R) response));
+    }
+
+    /**
+     * contract read function at latest block
+     *
+     * @param contractAddress contract address
+     * @param function        contract function
+     * @return ReadCall
+     */
+    public static ReadCall<List<Type>> ethCall(String contractAddress, Function function) {
+        return ethCall(contractAddress, function, DefaultBlockParameterName.LATEST);
+    }
+
+    /**
+     * contract read function
+     *
+     * @param contractAddress contract address
+     * @param function        contract function
+     * @param block           block parameter
+     * @return ReadCall
+     */
+    public static ReadCall<List<Type>> ethCall(String contractAddress, Function function, DefaultBlockParameter block) {
+        String data = FunctionEncoder.encode(function);
+        return of(web3j -> web3j.ethCall(Transaction.createEthCallTransaction(Constant.EMPTY_ADDRESS, contractAddress, data), block),
+                (EthCall ethCall) -> FunctionReturnDecoder.decode(ethCall.getValue(), function.getOutputParameters()));
+    }
+
+    /**
+     * raw eth_call
+     *
+     * @param contractAddress contract address
+     * @param data            encoded call data
+     * @param block           block parameter
+     * @return ReadCall of the raw return data
+     */
+    public static ReadCall<String> ethCall(String contractAddress, String data, DefaultBlockParameter block) {
+        return of(web3j -> web3j.ethCall(Transaction.createEthCallTransaction(Constant.EMPTY_ADDRESS, contractAddress, data), block),
+                EthCall::getValue);
+    }
+
+    public static ReadCall<BigInteger> ethGetBalance(String address) {
+        return ethGetBalance(address, DefaultBlockParameterName.LATEST);
+    }
+
+    public static ReadCall<BigInteger> ethGetBalance(String address, DefaultBlockParameter block) {
+        return of(web3j -> web3j.ethGetBalance(address, block), EthGetBalance::getBalance);
+    }
+
+    public static ReadCall<BigInteger> ethGetTransactionCount(String address) {
+        return ethGetTransactionCount(address, DefaultBlockParameterName.LATEST);
+    }
+
+    public static ReadCall<BigInteger> ethGetTransactionCount(String address, DefaultBlockParameter block) {
+        return of(web3j -> web3j.ethGetTransactionCount(address, block), EthGetTransactionCount::getTransactionCount);
+    }
+
+    public static ReadCall<String> ethGetCode(String address) {
+        return of(web3j -> web3j.ethGetCode(address, DefaultBlockParameterName.LATEST), EthGetCode::getCode);
+    }
+
+    public static ReadCall<BigInteger> ethBlockNumber() {
+        return of(Web3j::ethBlockNumber, EthBlockNumber::getBlockNumber);
+    }
+
+    public static ReadCall<TransactionReceipt> ethGetTransactionReceipt(String transactionHash) {
+        return of(web3j -> web3j.ethGetTransactionReceipt(transactionHash), receipt -> receipt.getTransactionReceipt().orElse(null));
+    }
+
+    /**
+     * logs of a block range
+     *
+     * @param addresses contract addresses, empty matches any
+     * @param topics    topics by position, null is a wildcard
+     * @param fromBlock from block
+     * @param toBlock   to block, null for latest
+     * @return ReadCall
+     */
+    public static ReadCall<List<Log>> ethGetLogs(List<String> addresses, List<String> topics, BigInteger fromBlock, BigInteger toBlock) {
+        EthFilter filter = new EthFilter(DefaultBlockParameter.valueOf(fromBlock),
+                Objects.isNull(toBlock) ? DefaultBlockParameterName.LATEST : DefaultBlockParameter.valueOf(toBlock),
+                Objects.isNull(addresses) ? Collections.emptyList() : addresses);
+        if (Objects.nonNull(topics)) {
+            for (String topic : topics) {
+                if (Objects.isNull(topic)) {
+                    filter.addNullTopic();
+                } else {
+                    filter.addSingleTopic(topic);
+                }
+            }
+        }
+        return of(web3j -> web3j.ethGetLogs(filter), ReadCall::toLogs);
+    }
+
+    private static List<Log> toLogs(EthLog ethLog) {
+        List<EthLog.LogResult> results = ethLog.getLogs();
+        if (Objects.isNull(results)) {
+            return Collections.emptyList();
+        }
+        List<Log> logs = new ArrayList<>(results.size());
+        for (EthLog.LogResult result : results) {
+            if (result instanceof EthLog.LogObject) {
+                logs.add(((EthLog.LogObject) result).get());
+            }
+        }
+        return logs;
+    }
+
+    /**
+     * transform the decoded value
+     *
+     * @param mapper value mapper
+     * @return ReadCall
+     */
+    public <U> ReadCall<U> map(java.util.function.Function<? super T, ? extends U> mapper) {
+        return new ReadCall<>(requestFactory, decoder.andThen(mapper));
+    }
+
+    /**
+     * create the request for a endpoint
+     *
+     * @param web3j endpoint
+     * @return request
+     */
+    public Request<?, ? extends Response<?>> createRequest(Web3j web3j) {
+        return requestFactory.apply(web3j);
+    }
+
+    /**
+     * decode a successful response
+     *
+     * @param response response
+     * @return value
+     */
+    public T decode(Response<?> response) {
+        return decoder.apply(response);
+    }
+}
@@ -0,0 +1,46 @@
+package io.web3service.web3j.block;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * A block reaching the consumer of a BlockFollower, or a delivered block taken back by a reorg.
+ * @author github.com/x-saofen
+ */
+@Getter
+@AllArgsConstructor
+public class BlockEvent {
+
+    public enum Type {
+        /**
+         * next canonical block
+         */
+        BLOCK,
+        /**
+         * a delivered block left the canonical chain, rollbacks arrive newest first
+         */
+        ROLLBACK
+    }
+
+    private final Type type;
+
+    private final EthBlock.Block block;
+
+    /**
+     * receipts in transaction order, empty for rollbacks or when follow.receipts is off
+     */
+    private final List<TransactionReceipt> receipts;
+
+    public BigInteger getNumber() {
+        return block.getNumber();
+    }
+
+    public String getHash() {
+        return block.getHash();
+    }
+}
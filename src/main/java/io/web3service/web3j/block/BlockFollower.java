@@ -0,0 +1,377 @@
+package io.web3service.web3j.block;
+
+import io.web3service.web3j.batch.BatchResult;
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jNetworkService;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import io.web3service.web3j.logs.CheckpointStore;
+import io.web3service.web3j.logs.InMemoryCheckpointStore;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.io.Closeable;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the head of a network as a pipeline: blocks and receipts are fetched ahead of the consumer
+ * across the endpoints, decoded on the async executor of the network, and handed in order to the
+ * listener on its own thread. Blocks in flight are bounded by follow.buffer-size, so a slow consumer
+ * stops the fetching instead of filling memory. A block whose parent hash does not match the last
+ * delivered block rolls delivered blocks back, newest first, until the canonical chain joins again.
+ * The checkpoint keeps the hash of the last delivered block, so the first block after a restart is
+ * checked against it too.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class BlockFollower implements Closeable {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "web3j-block-follower");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Web3jServiceTemplate template;
+
+    private final String network;
+
+    private final String followerId;
+
+    private final Web3jNetworkConfig.Follow options;
+
+    private final CheckpointStore checkpointStore;
+
+    private final BlockListener listener;
+
+    private final int bufferSize;
+
+    /**
+     * decoded blocks waiting for an earlier block
+     */
+    private final TreeMap<Long, BlockEvent> decoded = new TreeMap<>();
+
+    /**
+     * blocks in order waiting for the consumer
+     */
+    private final BlockingQueue<BlockEvent> ready;
+
+    /**
+     * last delivered blocks, newest last, used by the consumer thread only
+     */
+    private final Deque<EthBlock.Block> delivered = new ArrayDeque<>();
+
+    private final CompletableFuture<Void> stopped = new CompletableFuture<>();
+
+    private long head = -1L;
+    private long nextFetch;
+    private long nextReady;
+    private int inFlight;
+    private boolean headRefreshing;
+
+    /**
+     * bumped by a rollback, fetches of an older generation are dropped
+     */
+    private long generation;
+
+    /**
+     * set while the consumer rolls back, nothing is fetched until the canonical block is known
+     */
+    private boolean rollingBack;
+
+    private volatile boolean running;
+
+    private Thread consumer;
+
+    public BlockFollower(Web3jServiceTemplate template, String network, String followerId, Web3jNetworkConfig.Follow options,
+                         CheckpointStore checkpointStore, BlockListener listener) {
+        this.template = template;
+        this.network = network;
+        this.followerId = followerId;
+        this.options = Objects.isNull(options) ? new Web3jNetworkConfig.Follow() : options;
+        this.checkpointStore = Objects.isNull(checkpointStore) ? new InMemoryCheckpointStore() : checkpointStore;
+        this.listener = listener;
+        this.bufferSize = Math.max(1, this.options.getBufferSize());
+        this.ready = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    /**
+     * start following, resuming from the checkpoint of followerId
+     * @param fromBlock first block without a checkpoint, null starts at the head
+     * @return completes when the follower is closed, exceptionally when the listener fails or a reorg is deeper than follow.confirmations
+     */
+    public synchronized CompletableFuture<Void> start(BigInteger fromBlock) {
+        if (Objects.nonNull(consumer)) {
+            throw new IllegalStateException("Block follower " + followerId + " already started");
+        }
+        BigInteger checkpoint = checkpointStore.load(followerId);
+        BigInteger start = Objects.nonNull(checkpoint) ? checkpoint
+                : Objects.nonNull(fromBlock) ? fromBlock : template.call(network, ReadCall.ethBlockNumber());
+        seedParent(start, Objects.isNull(checkpoint) ? null : checkpointStore.loadHash(followerId));
+        nextFetch = start.longValueExact();
+        nextReady = nextFetch;
+        running = true;
+        consumer = new Thread(this::consume, "web3j-block-follower-" + followerId);
+        consumer.setDaemon(true);
+        consumer.start();
+        log.info("Block follower {} of network {} started at block {}", followerId, network, start);
+        pump();
+        return stopped;
+    }
+
+    /**
+     * the block before the first block is the parent the first block is checked against: the saved hash of the
+     * last delivered block, or the canonical block when no hash was saved
+     */
+    private void seedParent(BigInteger start, String lastHash) {
+        if (start.signum() <= 0) {
+            return;
+        }
+        BigInteger number = start.subtract(BigInteger.ONE);
+        EthBlock.Block parent;
+        if (Objects.nonNull(lastHash)) {
+            // only number and hash are known, a rollback of it carries nothing else
+            parent = new EthBlock.Block();
+            parent.setNumber(Numeric.encodeQuantity(number));
+            parent.setHash(lastHash);
+        } else {
+            parent = template.call(network, blockCall(number, false));
+        }
+        if (Objects.nonNull(parent)) {
+            delivered.addLast(parent);
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Thread thread;
+        synchronized (this) {
+            thread = consumer;
+        }
+        if (Objects.nonNull(thread) && thread != Thread.currentThread()) {
+            thread.interrupt();
+        }
+        stopped.complete(null);
+    }
+
+    private synchronized void pump() {
+        if (!running || rollingBack) {
+            return;
+        }
+        int readAhead = Math.max(1, options.getReadAhead());
+        while (inFlight < readAhead && nextFetch <= head && inFlight + decoded.size() + ready.size() < bufferSize) {
+            inFlight++;
+            fetch(nextFetch++, generation);
+        }
+        if (nextFetch > head && !headRefreshing) {
+            headRefreshing = true;
+            SCHEDULER.schedule(this::refreshHead, head < 0 ? 0L : options.getPollMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refreshHead() {
+        CompletableFuture<BigInteger> future;
+        try {
+            future = template.callAsync(network, ReadCall.ethBlockNumber());
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((number, ex) -> {
+            synchronized (this) {
+                headRefreshing = false;
+                if (Objects.isNull(ex)) {
+                    head = Math.max(head, number.longValue());
+                } else {
+                    log.debug("Block follower {} head refresh failed: {}", followerId, ex.getMessage());
+                }
+                pump();
+            }
+        });
+    }
+
+    private void fetch(long number, long fetchGeneration) {
+        CompletableFuture<BlockEvent> future;
+        try {
+            future = fetchBlock(number);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((event, ex) -> onFetched(number, fetchGeneration, event, ex));
+    }
+
+    private CompletableFuture<BlockEvent> fetchBlock(long number) {
+        return template.callAsync(network, blockCall(BigInteger.valueOf(number), Boolean.TRUE.equals(options.getFullTransactions())))
+                .thenCompose(block -> {
+                    if (Objects.isNull(block)) {
+                        // not yet known to the answering endpoint
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    List<EthBlock.TransactionResult> transactions = block.getTransactions();
+                    if (!Boolean.TRUE.equals(options.getReceipts()) || Objects.isNull(transactions) || transactions.isEmpty()) {
+                        return CompletableFuture.completedFuture(new BlockEvent(BlockEvent.Type.BLOCK, block, Collections.emptyList()));
+                    }
+                    Web3jNetworkService service = template.getNextTemplate(network);
+                    List<ReadCall<TransactionReceipt>> calls = new ArrayList<>(transactions.size());
+                    for (EthBlock.TransactionResult transaction : transactions) {
+                        calls.add(ReadCall.ethGetTransactionReceipt(transactionHash(transaction)));
+                    }
+                    return service.readBatchAsync(calls).thenApplyAsync(results -> decode(block, results), service.getAsyncExecutor());
+                });
+    }
+
+    private static BlockEvent decode(EthBlock.Block block, List<BatchResult<TransactionReceipt>> results) {
+        List<TransactionReceipt> receipts = new ArrayList<>(results.size());
+        for (BatchResult<TransactionReceipt> result : results) {
+            TransactionReceipt receipt = result.getOrThrow();
+            if (Objects.isNull(receipt)) {
+                throw new IllegalStateException("Receipts of block " + block.getNumber() + " not yet available");
+            }
+            receipts.add(receipt);
+        }
+        return new BlockEvent(BlockEvent.Type.BLOCK, block, receipts);
+    }
+
+    private synchronized void onFetched(long number, long fetchGeneration, BlockEvent event, Throwable ex) {
+        inFlight--;
+        if (!running || fetchGeneration != generation || number < nextReady) {
+            // stale: fetched before a rollback, or a block already handed to the consumer
+            pump();
+            return;
+        }
+        if (Objects.nonNull(ex) || Objects.isNull(event)) {
+            if (Objects.nonNull(ex)) {
+                log.warn("Block follower {} fetch block {} failed: {}", followerId, number, ex.getMessage());
+            }
+            // the slot stays taken until the retry is sent
+            inFlight++;
+            SCHEDULER.schedule(() -> retry(number, fetchGeneration), options.getPollMillis(), TimeUnit.MILLISECONDS);
+            return;
+        }
+        decoded.put(number, event);
+        while (!decoded.isEmpty() && decoded.firstKey() == nextReady) {
+            ready.add(decoded.pollFirstEntry().getValue());
+            nextReady++;
+        }
+        pump();
+    }
+
+    private synchronized void retry(long number, long fetchGeneration) {
+        if (running && fetchGeneration == generation) {
+            fetch(number, fetchGeneration);
+        } else {
+            inFlight--;
+            pump();
+        }
+    }
+
+    private void consume() {
+        try {
+            while (running) {
+                BlockEvent event = ready.poll(options.getPollMillis(), TimeUnit.MILLISECONDS);
+                if (Objects.isNull(event)) {
+                    continue;
+                }
+                EthBlock.Block last = delivered.peekLast();
+                if (Objects.nonNull(last) && !last.getHash().equals(event.getBlock().getParentHash())) {
+                    rollback(event.getNumber());
+                    continue;
+                }
+                listener.onEvent(event);
+                delivered.addLast(event.getBlock());
+                while (delivered.size() > Math.max(1, options.getConfirmations())) {
+                    delivered.pollFirst();
+                }
+                checkpointStore.save(followerId, event.getNumber().add(BigInteger.ONE), event.getBlock().getHash());
+                pump();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            running = false;
+            log.error("Block follower {} of network {} stopped: {}", followerId, network, e.getMessage());
+            stopped.completeExceptionally(e);
+            return;
+        }
+        log.info("Block follower {} of network {} stopped", followerId, network);
+        stopped.complete(null);
+    }
+
+    /**
+     * roll delivered blocks back until one is canonical, then fetch again after it
+     */
+    private void rollback(BigInteger number) throws InterruptedException {
+        synchronized (this) {
+            rollingBack = true;
+            generation++;
+            ready.clear();
+            decoded.clear();
+        }
+        log.warn("Block follower {} of network {} reorg detected at block {}", followerId, network, number);
+        // a failed rollback stops the follower, fetching stays paused
+        rollbackDelivered();
+        synchronized (this) {
+            nextFetch = delivered.peekLast().getNumber().longValueExact() + 1;
+            nextReady = nextFetch;
+            rollingBack = false;
+        }
+        pump();
+    }
+
+    private void rollbackDelivered() throws InterruptedException {
+        while (true) {
+            EthBlock.Block last = delivered.peekLast();
+            if (Objects.isNull(last)) {
+                throw new IllegalStateException("Reorg of network " + network + " deeper than " + options.getConfirmations() + " blocks");
+            }
+            EthBlock.Block canonical = template.call(network, blockCall(last.getNumber(), false));
+            if (Objects.isNull(canonical)) {
+                Thread.sleep(options.getPollMillis());
+                continue;
+            }
+            if (canonical.getHash().equals(last.getHash())) {
+                break;
+            }
+            log.warn("Block follower {} rollback block {} {}", followerId, last.getNumber(), last.getHash());
+            listener.onEvent(new BlockEvent(BlockEvent.Type.ROLLBACK, last, Collections.emptyList()));
+            delivered.pollLast();
+            EthBlock.Block parent = delivered.peekLast();
+            if (Objects.nonNull(parent)) {
+                checkpointStore.save(followerId, last.getNumber(), parent.getHash());
+            } else {
+                checkpointStore.save(followerId, last.getNumber());
+            }
+        }
+    }
+
+    private static ReadCall<EthBlock.Block> blockCall(BigInteger number, boolean fullTransactions) {
+        return ReadCall.of(web3j -> web3j.ethGetBlockByNumber(DefaultBlockParameter.valueOf(number), fullTransactions), EthBlock::getBlock);
+    }
+
+    private static String transactionHash(EthBlock.TransactionResult<?> transaction) {
+        Object value = transaction.get();
+        return value instanceof EthBlock.TransactionObject ? ((EthBlock.TransactionObject) value).getHash() : (String) value;
+    }
+}
@@ -0,0 +1,15 @@
+package io.web3service.web3j.block;
+
+/**
+ * Consumer of a BlockFollower, called on the follower thread one event at a time.
+ * @author github.com/x-saofen
+ */
+@FunctionalInterface
+public interface BlockListener {
+
+    /**
+     * a block or a rollback, the cursor moves once the listener returns
+     * @param event event
+     */
+    void onEvent(BlockEvent event);
+}
@@ -0,0 +1,26 @@
+package io.web3service.web3j.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Point in time counters of a cache.
+ * @author github.com/x-saofen
+ */
+@Data
+@AllArgsConstructor
+public class CacheStats {
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    private int size;
+
+    public double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0D : (double) hitCount / total;
+    }
+}
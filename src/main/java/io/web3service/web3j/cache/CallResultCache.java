@@ -0,0 +1,150 @@
+package io.web3service.web3j.cache;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthCall;
+
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * eth_call results of a network at the current head block, shared by every endpoint of the network.
+ * A latest read is keyed by the head number and sent at that block, so a cached result always belongs
+ * to its key, identical reads within a block share one RPC and every entry is dropped when a new head arrives. Heads are pushed by the HealthMonitor, or fetched
+ * with eth_blockNumber once the known head is older than headTtlMillis.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class CallResultCache {
+
+    private static class Constant {
+        private static final long ENTRY_TTL_MILLIS = 3_600_000L;
+    }
+
+    @Getter
+    private final String network;
+
+    private final long headTtlMillis;
+
+    private final LruCache<String, CompletableFuture<EthCall>> results;
+
+    /**
+     * current head block, -1 before the first head
+     */
+    @Getter
+    private volatile long head = -1L;
+
+    private volatile long headUpdatedAt;
+
+    private final AtomicReference<CompletableFuture<Long>> headRefresh = new AtomicReference<>();
+
+    public CallResultCache(String network, int maxEntries, long headTtlMillis) {
+        this.network = network;
+        this.headTtlMillis = headTtlMillis;
+        this.results = new LruCache<>(maxEntries);
+    }
+
+    /**
+     * eth_call result at the latest block
+     * @param web3j           endpoint used when the head has to be refreshed
+     * @param contractAddress contract address
+     * @param data            encoded calldata
+     * @param loader          send the eth_call at the given block, the head block or latest when the head is unknown
+     * @return response, node errors and failures are not cached
+     */
+    public CompletableFuture<EthCall> get(Web3j web3j, String contractAddress, String data, Function<DefaultBlockParameter, CompletableFuture<EthCall>> loader) {
+        return currentHead(web3j).handle((number, headEx) -> Objects.isNull(headEx) ? number : null)
+                .thenCompose(number -> Objects.isNull(number) ? loader.apply(DefaultBlockParameterName.LATEST) : get(number, contractAddress, data, loader));
+    }
+
+    private CompletableFuture<EthCall> get(long number, String contractAddress, String data, Function<DefaultBlockParameter, CompletableFuture<EthCall>> loader) {
+        String key = number + ":" + contractAddress.toLowerCase(Locale.ROOT) + ":" + data;
+        CompletableFuture<EthCall> created = new CompletableFuture<>();
+        CompletableFuture<EthCall> cached = results.computeIfAbsent(key, Constant.ENTRY_TTL_MILLIS, k -> created);
+        if (cached != created) {
+            return cached;
+        }
+        CompletableFuture<EthCall> load;
+        try {
+            load = loader.apply(DefaultBlockParameter.valueOf(BigInteger.valueOf(number)));
+        } catch (RuntimeException e) {
+            load = new CompletableFuture<>();
+            load.completeExceptionally(e);
+        }
+        load.whenComplete((response, ex) -> {
+            if (Objects.nonNull(ex) || Objects.isNull(response) || response.hasError()) {
+                results.remove(key, created);
+            }
+            if (Objects.nonNull(ex)) {
+                created.completeExceptionally(ex);
+            } else {
+                created.complete(response);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * new head block, a higher number drops every cached result
+     * @param number block number
+     */
+    public void onNewHead(long number) {
+        if (number > head) {
+            synchronized (this) {
+                if (number > head) {
+                    head = number;
+                    results.clear();
+                }
+            }
+        }
+        if (number >= head) {
+            headUpdatedAt = System.currentTimeMillis();
+        }
+    }
+
+    public void clear() {
+        results.clear();
+    }
+
+    public CacheStats getStats() {
+        return results.getStats();
+    }
+
+    private CompletableFuture<Long> currentHead(Web3j web3j) {
+        long current = head;
+        if (current >= 0 && System.currentTimeMillis() - headUpdatedAt < headTtlMillis) {
+            return CompletableFuture.completedFuture(current);
+        }
+        CompletableFuture<Long> refresh = headRefresh.get();
+        if (Objects.nonNull(refresh)) {
+            return refresh;
+        }
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        if (!headRefresh.compareAndSet(null, future)) {
+            refresh = headRefresh.get();
+            return Objects.nonNull(refresh) ? refresh : currentHead(web3j);
+        }
+        web3j.ethBlockNumber().sendAsync().whenComplete((response, ex) -> {
+            headRefresh.compareAndSet(future, null);
+            if (Objects.isNull(ex) && response.hasError()) {
+                ex = new IllegalStateException(response.getError().getMessage());
+            }
+            if (Objects.nonNull(ex)) {
+                log.debug("Refresh head of network {} failed: {}", network, ex.getMessage());
+                future.completeExceptionally(ex);
+                return;
+            }
+            long number = response.getBlockNumber().longValue();
+            onNewHead(number);
+            future.complete(Math.max(head, number));
+        });
+        return future;
+    }
+}
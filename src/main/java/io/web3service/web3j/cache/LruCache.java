@@ -0,0 +1,140 @@
+package io.web3service.web3j.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size bounded least recently used cache with a time to live per entry.
+ * @author github.com/x-saofen
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public LruCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75F, true);
+    }
+
+    /**
+     * cached value
+     * @param key key
+     * @return value, null when absent or expired
+     */
+    public V get(K key) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (Objects.nonNull(entry) && entry.expireAt > now) {
+                hits.increment();
+                return entry.value;
+            }
+            if (Objects.nonNull(entry)) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * cached value, or the value created by the loader which is cached with ttlMillis
+     * @param key       key
+     * @param ttlMillis time to live of a created value
+     * @param loader    value loader, called under the cache lock so it must not block
+     * @return value
+     */
+    public V computeIfAbsent(K key, long ttlMillis, Function<? super K, ? extends V> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (Objects.nonNull(entry) && entry.expireAt > now) {
+                hits.increment();
+                return entry.value;
+            }
+            misses.increment();
+            V value = loader.apply(key);
+            if (Objects.nonNull(value)) {
+                putLocked(key, value, now + ttlMillis);
+            }
+            return value;
+        }
+    }
+
+    public void put(K key, V value, long ttlMillis) {
+        long expireAt = System.currentTimeMillis() + ttlMillis;
+        synchronized (entries) {
+            putLocked(key, value, expireAt);
+        }
+    }
+
+    /**
+     * remove a key only if it still maps to the value
+     */
+    public boolean remove(K key, V value) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (Objects.nonNull(entry) && entry.value == value) {
+                entries.remove(key);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private void putLocked(K key, V value, long expireAt) {
+        entries.put(key, new Entry<>(value, expireAt));
+        if (entries.size() > maxSize) {
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expireAt;
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
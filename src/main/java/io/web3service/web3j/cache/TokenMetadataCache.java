@@ -0,0 +1,154 @@
+package io.web3service.web3j.cache;
+
+import io.web3service.web3j.batch.BatchResult;
+import io.web3service.web3j.core.Web3jNetworkService;
+import io.web3service.web3j.multicall.ContractCall;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.CollectionUtils;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Token name / symbol / decimals / bytecode of a network, shared by every endpoint of the network.
+ * Concurrent loads of the same key share one RPC, failed loads are not cached. An absent value
+ * (not a ERC-20, no code) is kept for negativeTtlMillis when negative caching is enabled.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class TokenMetadataCache {
+
+    public enum Field {
+        NAME, SYMBOL, DECIMALS, BINARY
+    }
+
+    private static class Constant {
+        private static final String EMPTY_CODE = "0x";
+        private static final Field[] PREFETCH_FIELDS = {Field.NAME, Field.SYMBOL, Field.DECIMALS};
+    }
+
+    @Getter
+    private final String network;
+
+    private final long ttlMillis;
+
+    private final boolean negativeCaching;
+
+    private final long negativeTtlMillis;
+
+    private final LruCache<String, CompletableFuture<?>> cache;
+
+    public TokenMetadataCache(String network, int maxSize, long ttlMillis, boolean negativeCaching, long negativeTtlMillis) {
+        this.network = network;
+        this.ttlMillis = ttlMillis;
+        this.negativeCaching = negativeCaching;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.cache = new LruCache<>(maxSize);
+    }
+
+    /**
+     * cached value or the loaded one
+     * @param field           field
+     * @param contractAddress contract address
+     * @param loader          load the value from chain
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<Optional<T>> get(Field field, String contractAddress, Supplier<CompletableFuture<Optional<T>>> loader) {
+        String key = key(field, contractAddress);
+        CompletableFuture<Optional<T>> created = new CompletableFuture<>();
+        CompletableFuture<?> cached = cache.computeIfAbsent(key, ttlMillis, k -> created);
+        if (cached != created) {
+            return (CompletableFuture<Optional<T>>) cached;
+        }
+        CompletableFuture<Optional<T>> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException e) {
+            load = new CompletableFuture<>();
+            load.completeExceptionally(e);
+        }
+        load.whenComplete((value, ex) -> {
+            if (Objects.nonNull(ex) || Objects.isNull(value)) {
+                cache.remove(key, created);
+            } else if (isNegative(value) && cache.remove(key, created) && negativeCaching) {
+                cache.put(key, created, negativeTtlMillis);
+            }
+            if (Objects.nonNull(ex)) {
+                created.completeExceptionally(ex);
+            } else {
+                created.complete(Objects.isNull(value) ? Optional.empty() : value);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * load name, symbol and decimals of tokens with Multicall3
+     * @param service         endpoint
+     * @param contractAddresses token addresses
+     * @return completes once the cache is filled, a failed call is skipped
+     */
+    public CompletableFuture<Void> prefetch(Web3jNetworkService service, Collection<String> contractAddresses) {
+        if (CollectionUtils.isEmpty(contractAddresses)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<String> tokens = new ArrayList<>(contractAddresses);
+        List<ContractCall> calls = new ArrayList<>(tokens.size() * Constant.PREFETCH_FIELDS.length);
+        for (String token : tokens) {
+            calls.add(ContractCall.name(token));
+            calls.add(ContractCall.symbol(token));
+            calls.add(ContractCall.decimals(token));
+        }
+        return service.multicallAsync(calls, DefaultBlockParameterName.LATEST).thenAccept(results -> {
+            int loaded = 0;
+            for (int i = 0; i < results.size(); i++) {
+                BatchResult<List<Type>> result = results.get(i);
+                if (Objects.nonNull(result.getException())) {
+                    continue;
+                }
+                Optional<Object> value = Objects.isNull(result.getError()) ? firstValue(result.getValue()) : Optional.empty();
+                if (isNegative(value) && !negativeCaching) {
+                    continue;
+                }
+                String key = key(Constant.PREFETCH_FIELDS[i % Constant.PREFETCH_FIELDS.length], tokens.get(i / Constant.PREFETCH_FIELDS.length));
+                cache.put(key, CompletableFuture.completedFuture(value), isNegative(value) ? negativeTtlMillis : ttlMillis);
+                loaded++;
+            }
+            log.info("Prefetched {} token metadata of network {}", loaded, network);
+        });
+    }
+
+    public void invalidate(Field field, String contractAddress) {
+        cache.invalidate(key(field, contractAddress));
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    private static Optional<Object> firstValue(List<Type> types) {
+        return CollectionUtils.isEmpty(types) ? Optional.empty() : Optional.ofNullable(types.get(0).getValue());
+    }
+
+    private static boolean isNegative(Optional<?> value) {
+        return !value.isPresent() || Constant.EMPTY_CODE.equals(value.get());
+    }
+
+    private static String key(Field field, String contractAddress) {
+        return field.name() + ":" + contractAddress.toLowerCase(Locale.ROOT);
+    }
+}
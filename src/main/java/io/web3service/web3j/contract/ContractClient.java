@@ -1,32 +1,45 @@
 package io.web3service.web3j.contract;
 
 import io.web3service.web3j.core.Web3jNetworkService;
-import lombok.SneakyThrows;
-import org.springframework.util.Assert;
-import org.web3j.protocol.Web3j;
 import org.web3j.tx.Contract;
-import org.web3j.tx.ReadonlyTransactionManager;
-import org.web3j.tx.TransactionManager;
-import org.web3j.tx.gas.ContractGasProvider;
-import org.web3j.tx.gas.DefaultGasProvider;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.Optional;
+import java.util.Objects;
 
 /**
   * @author   github.com/x-saofen
   */
 public class ContractClient {
 
-    @SneakyThrows({NoSuchMethodException.class, InvocationTargetException.class , InstantiationException.class, IllegalAccessException.class})
+    /**
+     * factory of services built without a network factory
+     */
+    private static final ContractFactory DEFAULT_FACTORY = new ContractFactory(null);
+
+    /**
+     * read-only contract wrapper, reused while cached by the contract factory of the network
+     * @param web3j           endpoint
+     * @param contractAddress contract address
+     * @param type            wrapper class
+     * @return wrapper
+     */
+    @SuppressWarnings("unchecked")
     public static <T> T loadContract(Web3jNetworkService web3j, String contractAddress, Class<? extends Contract> type)  {
-        Optional<String> contractBinary = web3j.getContractBinary(contractAddress);
-        Assert.isTrue(contractBinary.isPresent(), "Failed to get "+ contractAddress +" contract bytecode.");
-        Constructor<? extends Contract> constructor = type.getConstructor(String.class, String.class, Web3j.class, TransactionManager.class, ContractGasProvider.class);
-        return (T) constructor.newInstance(contractBinary.get(), contractAddress, web3j, new ReadonlyTransactionManager(web3j, contractAddress), new DefaultGasProvider());
+        return (T) factory(web3j).load(web3j, contractAddress, type);
     }
 
+    /**
+     * read-only contract wrapper without the bytecode request
+     * @param web3j           endpoint
+     * @param contractAddress contract address
+     * @param type            wrapper class
+     * @return wrapper
+     */
+    public static <T extends Contract> T loadReadonlyContract(Web3jNetworkService web3j, String contractAddress, Class<T> type)  {
+        return factory(web3j).loadReadonly(web3j, contractAddress, type);
+    }
 
+    private static ContractFactory factory(Web3jNetworkService web3j) {
+        return Objects.isNull(web3j.getContractFactory()) ? DEFAULT_FACTORY : web3j.getContractFactory();
+    }
 
 }
@@ -0,0 +1,191 @@
+package io.web3service.web3j.contract;
+
+import io.web3service.web3j.cache.CacheStats;
+import io.web3service.web3j.cache.LruCache;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jNetworkService;
+import lombok.SneakyThrows;
+import org.web3j.protocol.Web3j;
+import org.web3j.tx.Contract;
+import org.web3j.tx.ReadonlyTransactionManager;
+import org.web3j.tx.TransactionManager;
+import org.web3j.tx.gas.ContractGasProvider;
+import org.web3j.tx.gas.DefaultGasProvider;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Read-only contract wrappers of a network. Constructor handles are resolved once per wrapper class,
+ * the bytecode check of an address is cached for contract.bytecode-ttl-millis and wrappers are reused
+ * per endpoint, address and class in a bounded LRU cache. Cached wrappers are shared, so their gas
+ * provider and default block must not be changed.
+ * @author github.com/x-saofen
+ */
+public class ContractFactory {
+
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(void.class,
+            String.class, String.class, Web3j.class, TransactionManager.class, ContractGasProvider.class);
+
+    private static final MethodType GENERIC_CONSTRUCTOR = CONSTRUCTOR.changeReturnType(Contract.class);
+
+    private static final Map<Class<?>, MethodHandle> CONSTRUCTORS = new ConcurrentHashMap<>();
+
+    private static final ContractGasProvider GAS_PROVIDER = new DefaultGasProvider();
+
+    private static class Constant {
+        private static final String EMPTY = "";
+        private static final String EMPTY_CODE = "0x";
+        /**
+         * wrapper lifetime, entries leave by size only
+         */
+        private static final long NO_EXPIRY = Long.MAX_VALUE / 2;
+    }
+
+    private final Web3jNetworkConfig.Contract options;
+
+    /**
+     * bytecode by network and address, addresses without code are not cached
+     */
+    private final LruCache<String, String> binaries;
+
+    private final LruCache<Key, Contract> contracts;
+
+    public ContractFactory(Web3jNetworkConfig.Contract options) {
+        this.options = Objects.isNull(options) ? new Web3jNetworkConfig.Contract() : options;
+        this.binaries = new LruCache<>(this.options.getMaxSize());
+        this.contracts = new LruCache<>(this.options.getMaxSize());
+    }
+
+    /**
+     * contract wrapper, the bytecode is checked first when contract.verify-bytecode is set
+     * @param service         endpoint
+     * @param contractAddress contract address
+     * @param type            wrapper class with a (String, String, Web3j, TransactionManager, ContractGasProvider) constructor
+     * @return wrapper
+     * @throws IllegalArgumentException the address has no bytecode
+     */
+    @SneakyThrows(InterruptedException.class)
+    public <T extends Contract> T load(Web3jNetworkService service, String contractAddress, Class<T> type) {
+        try {
+            return loadAsync(service, contractAddress, type).get();
+        } catch (ExecutionException e) {
+            // keep the IllegalArgumentException of a missing contract
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * contract wrapper, the bytecode is checked first when contract.verify-bytecode is set
+     * @param service         endpoint
+     * @param contractAddress contract address
+     * @param type            wrapper class
+     * @return wrapper, fails with IllegalArgumentException when the address has no bytecode
+     */
+    public <T extends Contract> CompletableFuture<T> loadAsync(Web3jNetworkService service, String contractAddress, Class<T> type) {
+        if (!Boolean.TRUE.equals(options.getVerifyBytecode())) {
+            return CompletableFuture.completedFuture(loadReadonly(service, contractAddress, type));
+        }
+        String address = contractAddress.toLowerCase(Locale.ROOT);
+        String binaryKey = binaryKey(service, address);
+        String binary = binaries.get(binaryKey);
+        if (Objects.nonNull(binary)) {
+            return CompletableFuture.completedFuture(wrapper(service, address, type, binary));
+        }
+        return service.getContractBinaryAsync(contractAddress).thenApply(code -> {
+            if (!code.isPresent() || Constant.EMPTY_CODE.equals(code.get()) || code.get().isEmpty()) {
+                throw new IllegalArgumentException("Failed to get " + contractAddress + " contract bytecode.");
+            }
+            binaries.put(binaryKey, code.get(), options.getBytecodeTtlMillis());
+            return wrapper(service, address, type, code.get());
+        });
+    }
+
+    /**
+     * contract wrapper without bytecode, no request is sent
+     * @param service         endpoint
+     * @param contractAddress contract address
+     * @param type            wrapper class
+     * @return wrapper for calls, its contract binary is empty
+     */
+    public <T extends Contract> T loadReadonly(Web3jNetworkService service, String contractAddress, Class<T> type) {
+        return wrapper(service, contractAddress.toLowerCase(Locale.ROOT), type, Constant.EMPTY);
+    }
+
+    public CacheStats getStats() {
+        return contracts.getStats();
+    }
+
+    public void clear() {
+        binaries.clear();
+        contracts.clear();
+    }
+
+    private <T extends Contract> T wrapper(Web3jNetworkService service, String address, Class<T> type, String binary) {
+        Key key = new Key(service, address, type, !binary.isEmpty());
+        return type.cast(contracts.computeIfAbsent(key, Constant.NO_EXPIRY, k -> newInstance(service, address, type, binary)));
+    }
+
+    private static Contract newInstance(Web3jNetworkService service, String address, Class<? extends Contract> type, String binary) {
+        MethodHandle constructor = CONSTRUCTORS.computeIfAbsent(type, ContractFactory::findConstructor);
+        try {
+            return (Contract) constructor.invokeExact(binary, address, (Web3j) service,
+                    (TransactionManager) new ReadonlyTransactionManager(service, address), GAS_PROVIDER);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Create " + type.getName() + " failed", e);
+        }
+    }
+
+    private static MethodHandle findConstructor(Class<?> type) {
+        try {
+            return MethodHandles.publicLookup().findConstructor(type, CONSTRUCTOR).asType(GENERIC_CONSTRUCTOR);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " has no public (String, String, Web3j, TransactionManager, ContractGasProvider) constructor", e);
+        }
+    }
+
+    private static String binaryKey(Web3jNetworkService service, String address) {
+        String network = service.getNetwork();
+        return (Objects.isNull(network) || network.isEmpty() ? service.getEndpoint() : network) + ":" + address;
+    }
+
+    /**
+     * wrapper of an endpoint, by identity of the service
+     */
+    private static class Key {
+        private final Web3jNetworkService service;
+        private final String address;
+        private final Class<?> type;
+        private final boolean withBinary;
+
+        private Key(Web3jNetworkService service, String address, Class<?> type, boolean withBinary) {
+            this.service = service;
+            this.address = address;
+            this.type = type;
+            this.withBinary = withBinary;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return service == other.service && type == other.type && withBinary == other.withBinary && address.equals(other.address);
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(service) * 31 + address.hashCode()) * 31 + type.hashCode() + (withBinary ? 1 : 0);
+        }
+    }
+}
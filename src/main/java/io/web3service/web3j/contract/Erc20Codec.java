@@ -0,0 +1,236 @@
+package io.web3service.web3j.contract;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Precompiled call data and results of the standard ERC-20 functions. Selectors are fixed, address
+ * and uint256 words are written as hex straight into a per-thread buffer and uint256 results are
+ * parsed without FunctionEncoder / FunctionReturnDecoder, the Type wrappers or reflection.
+ * @author github.com/x-saofen
+ */
+public final class Erc20Codec {
+
+    public static final String NAME = "0x06fdde03";
+    public static final String SYMBOL = "0x95d89b41";
+    public static final String DECIMALS = "0x313ce567";
+    public static final String TOTAL_SUPPLY = "0x18160ddd";
+
+    private static class Constant {
+        private static final String BALANCE_OF = "70a08231";
+        private static final String ALLOWANCE = "dd62ed3e";
+        private static final String TRANSFER = "a9059cbb";
+        private static final String APPROVE = "095ea7b3";
+        private static final String TRANSFER_FROM = "23b872dd";
+        private static final int WORD = 64;
+        private static final int ADDRESS = 40;
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+        /**
+         * 0x, selector and three words
+         */
+        private static final int MAX_LENGTH = 2 + 8 + WORD * 3;
+    }
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[Constant.MAX_LENGTH]);
+
+    private Erc20Codec() {
+    }
+
+    /**
+     * balanceOf(address) call data
+     * @param owner owner
+     * @return call data
+     */
+    public static String balanceOf(String owner) {
+        char[] buffer = start(Constant.BALANCE_OF);
+        writeAddress(buffer, 10, owner);
+        return new String(buffer, 0, 10 + Constant.WORD);
+    }
+
+    /**
+     * allowance(address,address) call data
+     * @param owner   owner
+     * @param spender spender
+     * @return call data
+     */
+    public static String allowance(String owner, String spender) {
+        char[] buffer = start(Constant.ALLOWANCE);
+        writeAddress(buffer, 10, owner);
+        writeAddress(buffer, 10 + Constant.WORD, spender);
+        return new String(buffer, 0, 10 + Constant.WORD * 2);
+    }
+
+    /**
+     * transfer(address,uint256) call data
+     * @param to    to address
+     * @param value amount
+     * @return call data
+     */
+    public static String transfer(String to, BigInteger value) {
+        char[] buffer = start(Constant.TRANSFER);
+        writeAddress(buffer, 10, to);
+        writeUint256(buffer, 10 + Constant.WORD, value);
+        return new String(buffer, 0, 10 + Constant.WORD * 2);
+    }
+
+    /**
+     * approve(address,uint256) call data
+     * @param spender spender
+     * @param value   amount
+     * @return call data
+     */
+    public static String approve(String spender, BigInteger value) {
+        char[] buffer = start(Constant.APPROVE);
+        writeAddress(buffer, 10, spender);
+        writeUint256(buffer, 10 + Constant.WORD, value);
+        return new String(buffer, 0, 10 + Constant.WORD * 2);
+    }
+
+    /**
+     * transferFrom(address,address,uint256) call data
+     * @param from  from address
+     * @param to    to address
+     * @param value amount
+     * @return call data
+     */
+    public static String transferFrom(String from, String to, BigInteger value) {
+        char[] buffer = start(Constant.TRANSFER_FROM);
+        writeAddress(buffer, 10, from);
+        writeAddress(buffer, 10 + Constant.WORD, to);
+        writeUint256(buffer, 10 + Constant.WORD * 2, value);
+        return new String(buffer, 0, 10 + Constant.WORD * 3);
+    }
+
+    /**
+     * first uint256 word of a call result
+     * @param result eth_call result
+     * @return value, 0 when the result is empty like FunctionReturnDecoder
+     * @throws IllegalArgumentException result shorter than a word
+     */
+    public static BigInteger decodeUint256(String result) {
+        int from = wordStart(result);
+        int start = firstDigit(result, from);
+        if (start < 0) {
+            return BigInteger.ZERO;
+        }
+        int end = from + Constant.WORD;
+        if (end - start <= 15) {
+            return BigInteger.valueOf(parseLong(result, start, end));
+        }
+        return new BigInteger(result.substring(start, end), 16);
+    }
+
+    /**
+     * first uint256 word of a call result as long
+     * @param result eth_call result
+     * @return value, 0 when the result is empty
+     * @throws ArithmeticException value above Long.MAX_VALUE
+     * @throws IllegalArgumentException result shorter than a word
+     */
+    public static long decodeLong(String result) {
+        int from = wordStart(result);
+        int start = firstDigit(result, from);
+        if (start < 0) {
+            return 0L;
+        }
+        int end = from + Constant.WORD;
+        if (end - start > 16 || (end - start == 16 && Character.digit(result.charAt(start), 16) > 7)) {
+            throw new ArithmeticException("uint256 result out of long range");
+        }
+        return parseLong(result, start, end);
+    }
+
+    private static char[] start(String selector) {
+        char[] buffer = BUFFER.get();
+        buffer[0] = '0';
+        buffer[1] = 'x';
+        selector.getChars(0, 8, buffer, 2);
+        return buffer;
+    }
+
+    private static void writeAddress(char[] buffer, int offset, String address) {
+        if (Objects.isNull(address)) {
+            throw new IllegalArgumentException("Address must not be null");
+        }
+        int from = address.startsWith("0x") || address.startsWith("0X") ? 2 : 0;
+        int length = address.length() - from;
+        if (length != Constant.ADDRESS) {
+            throw new IllegalArgumentException("Invalid address: " + address);
+        }
+        int padding = Constant.WORD - Constant.ADDRESS;
+        for (int i = 0; i < padding; i++) {
+            buffer[offset + i] = '0';
+        }
+        for (int i = 0; i < Constant.ADDRESS; i++) {
+            int digit = Character.digit(address.charAt(from + i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid address: " + address);
+            }
+            buffer[offset + padding + i] = Constant.HEX[digit];
+        }
+    }
+
+    private static void writeUint256(char[] buffer, int offset, BigInteger value) {
+        if (value.signum() < 0 || value.bitLength() > 256) {
+            throw new IllegalArgumentException("Value out of uint256 range: " + value);
+        }
+        if (value.bitLength() < 64) {
+            long bits = value.longValue();
+            for (int i = Constant.WORD - 1; i >= 0; i--) {
+                buffer[offset + i] = Constant.HEX[(int) (bits & 0xF)];
+                bits >>>= 4;
+            }
+            return;
+        }
+        String hex = value.toString(16);
+        int padding = Constant.WORD - hex.length();
+        for (int i = 0; i < padding; i++) {
+            buffer[offset + i] = '0';
+        }
+        hex.getChars(0, hex.length(), buffer, offset + padding);
+    }
+
+    /**
+     * index of the first word, -1 when the result is empty
+     */
+    private static int wordStart(String result) {
+        if (Objects.isNull(result)) {
+            return -1;
+        }
+        int from = result.startsWith("0x") ? 2 : 0;
+        if (result.length() == from) {
+            return -1;
+        }
+        if (result.length() - from < Constant.WORD) {
+            throw new IllegalArgumentException("uint256 result shorter than a word: " + result);
+        }
+        return from;
+    }
+
+    /**
+     * index of the first non-zero digit of the first word, -1 when the result is empty or zero
+     */
+    private static int firstDigit(String result, int from) {
+        if (from < 0) {
+            return -1;
+        }
+        for (int i = from; i < from + Constant.WORD; i++) {
+            if (result.charAt(i) != '0') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long parseLong(String result, int start, int end) {
+        long value = 0L;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(result.charAt(i), 16);
+            if (digit < 0) {
+                throw new NumberFormatException("Invalid hex result: " + result);
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+}
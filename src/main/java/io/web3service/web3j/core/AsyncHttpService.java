@@ -0,0 +1,169 @@
+package io.web3service.web3j.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.http.HttpService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * HttpService whose async calls are enqueued on the OkHttp dispatcher instead of blocking a
+ * web3j worker thread per request, so maxRequests / maxRequestsPerHost of the dispatcher bound
+ * the in flight requests of a network and extra requests queue without extra threads.
+ * @author github.com/x-saofen
+ */
+public class AsyncHttpService extends HttpService {
+
+    private final OkHttpClient httpClient;
+
+    public AsyncHttpService(String url, OkHttpClient httpClient) {
+        super(url, httpClient, false);
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            enqueue(objectMapper.writeValueAsString(request), body -> objectMapper.readValue(body.byteStream(), responseType), future);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        CompletableFuture<BatchResponse> future = new CompletableFuture<>();
+        if (batchRequest.getRequests().isEmpty()) {
+            future.complete(null);
+            return future;
+        }
+        try {
+            enqueue(objectMapper.writeValueAsString(batchRequest.getRequests()), body -> parseBatch(batchRequest, body), future);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * like {@link CompletableFuture#whenComplete}, but cancelling the returned future cancels the source
+     * and still runs the action (with a CancellationException), so a decorated call cancelled by its caller
+     * (the loser of a hedged request) reaches the http call and its bookkeeping
+     * @param source call
+     * @param action run when the source completes
+     * @return future completed with the source result after the action
+     */
+    public static <T> CompletableFuture<T> whenComplete(CompletableFuture<T> source, BiConsumer<? super T, ? super Throwable> action) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        source.whenComplete((response, ex) -> {
+            try {
+                action.accept(response, ex);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(Objects.isNull(ex) ? e : ex);
+                return;
+            }
+            if (Objects.nonNull(ex)) {
+                future.completeExceptionally(ex);
+            } else {
+                future.complete(response);
+            }
+        });
+        future.whenComplete((response, ex) -> {
+            if (future.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * underlying client, shared by the endpoints of a network
+     * @return OkHttpClient
+     */
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    private BatchResponse parseBatch(BatchRequest batchRequest, ResponseBody body) throws IOException {
+        JsonNode nodes = objectMapper.readTree(body.byteStream());
+        if (!nodes.isArray()) {
+            throw new ClientConnectionException("Invalid batch response received: " + nodes);
+        }
+        Map<Long, JsonNode> byId = new HashMap<>(nodes.size() * 2);
+        for (JsonNode node : nodes) {
+            JsonNode id = node.get("id");
+            if (Objects.nonNull(id) && id.canConvertToLong()) {
+                byId.put(id.asLong(), node);
+            }
+        }
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Request<?, ? extends Response<?>> request = requests.get(i);
+            JsonNode node = byId.get(request.getId());
+            if (Objects.isNull(node) && i < nodes.size()) {
+                node = nodes.get(i);
+            }
+            responses.add(Objects.isNull(node) ? null : objectMapper.treeToValue(node, request.getResponseType()));
+        }
+        return new BatchResponse(requests, responses);
+    }
+
+    private <T> void enqueue(String payload, BodyParser<T> parser, CompletableFuture<T> future) {
+        okhttp3.Request httpRequest = new okhttp3.Request.Builder()
+                .url(getUrl())
+                .headers(Headers.of(getHeaders()))
+                .post(RequestBody.create(payload, JSON_MEDIA_TYPE))
+                .build();
+        Call httpCall = httpClient.newCall(httpRequest);
+        // a cancelled future (the loser of a hedged request) frees its connection and dispatcher slot
+        future.whenComplete((response, ex) -> {
+            if (future.isCancelled()) {
+                httpCall.cancel();
+            }
+        });
+        httpCall.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, okhttp3.Response response) {
+                try (ResponseBody body = response.body()) {
+                    processHeaders(response.headers());
+                    if (!response.isSuccessful() || Objects.isNull(body)) {
+                        throw new ClientConnectionException("Invalid response received: " + response.code() + "; "
+                                + (Objects.isNull(body) ? "N/A" : body.string()));
+                    }
+                    future.complete(parser.parse(body));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    private interface BodyParser<T> {
+        T parse(ResponseBody body) throws IOException;
+    }
+}
@@ -0,0 +1,120 @@
+package io.web3service.web3j.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fetches chain id and client version of every endpoint concurrently under one deadline.
+ * Readiness depends on the chain id only, the client version is logged when it has arrived by then
+ * (some providers block web3_clientVersion). An endpoint whose chain id fails or misses the deadline is taken out of selection instead of failing startup:
+ * marked down when its network is health probed, otherwise its circuit breaker is tripped.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class EndpointInitializer {
+
+    private EndpointInitializer() {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final String network;
+        private final String endpoint;
+        private final Long chainId;
+        private final String clientVersion;
+        private final long elapsedMillis;
+        /**
+         * failure reason, null when ready
+         */
+        private final String error;
+
+        public boolean isReady() {
+            return Objects.isNull(error);
+        }
+    }
+
+    /**
+     * initialize endpoints concurrently
+     * @param services       endpoints of any networks
+     * @param deadlineMillis global deadline
+     * @return result per endpoint in services order
+     */
+    public static List<Result> initialize(List<Web3jNetworkService> services, long deadlineMillis) {
+        long start = System.nanoTime();
+        int size = services.size();
+        long[] elapsed = new long[size];
+        List<CompletableFuture<Long>> futures = new ArrayList<>(size);
+        List<CompletableFuture<String>> clientVersions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            Web3jNetworkService service = services.get(i);
+            CompletableFuture<Long> chainId = service.getChainIdAsync();
+            CompletableFuture<String> clientVersion = service.getClientVersionAsync();
+            clientVersions.add(clientVersion);
+            futures.add(chainId.whenComplete((v, ex) -> elapsed[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(deadlineMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Endpoint initialization incomplete: {}", e.toString());
+        }
+        List<Result> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Web3jNetworkService service = services.get(i);
+            CompletableFuture<Long> future = futures.get(i);
+            String error = null;
+            if (!future.isDone()) {
+                error = "no answer within " + deadlineMillis + "ms";
+            } else if (future.isCompletedExceptionally()) {
+                error = failureMessage(future);
+            }
+            long elapsedMillis = future.isDone() ? elapsed[i] : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            CompletableFuture<String> clientVersion = clientVersions.get(i);
+            if (clientVersion.isCompletedExceptionally()) {
+                log.debug("Endpoint {} {} client version unavailable: {}", service.getNetwork(), service.getEndpoint(), failureMessage(clientVersion));
+            }
+            Result result = new Result(service.getNetwork(), service.getEndpoint(), valueOrNull(future),
+                    valueOrNull(clientVersion), elapsedMillis, error);
+            if (result.isReady()) {
+                log.info("Endpoint {} {} ready in {}ms, chain ID: {}, client: {}", result.getNetwork(), result.getEndpoint(),
+                        elapsedMillis, result.getChainId(), result.getClientVersion());
+            } else {
+                log.warn("Endpoint {} {} unavailable after {}ms: {}", result.getNetwork(), result.getEndpoint(), elapsedMillis, error);
+                if (Boolean.TRUE.equals(service.getConfig().getHealth().getEnabled())) {
+                    service.getEndpointHealth().markDown(error);
+                } else {
+                    service.getEndpointHealth().getCircuitBreaker().trip();
+                }
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static <T> T valueOrNull(CompletableFuture<T> future) {
+        return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    private static String failureMessage(CompletableFuture<?> future) {
+        try {
+            future.getNow(null);
+            return null;
+        } catch (CompletionException e) {
+            Throwable cause = Objects.nonNull(e.getCause()) ? e.getCause() : e;
+            return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        }
+    }
+}
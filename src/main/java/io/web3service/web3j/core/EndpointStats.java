@@ -0,0 +1,106 @@
+package io.web3service.web3j.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live request statistics of one endpoint, updated lock free on every RPC.
+ * @author github.com/x-saofen
+ */
+public class EndpointStats {
+
+    private static class Constant {
+        /**
+         * ewma weight of a new sample is 1 / 2^EWMA_SHIFT
+         */
+        private static final int EWMA_SHIFT = 3;
+        /**
+         * a failure raises the ewma to max(ewma, latency) * FAILURE_PENALTY
+         */
+        private static final long FAILURE_PENALTY = 4L;
+        private static final long MAX_EWMA_NANOS = TimeUnit.SECONDS.toNanos(10);
+        /**
+         * the ewma halves per half life without samples, so a penalized endpoint is probed again
+         */
+        private static final long HALF_LIFE_NANOS = TimeUnit.SECONDS.toNanos(5);
+    }
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong ewmaNanos = new AtomicLong();
+    private volatile long sampledAt = System.nanoTime();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * request started
+     */
+    public void onStart() {
+        inFlight.incrementAndGet();
+        requests.increment();
+    }
+
+    /**
+     * request finished
+     *
+     * @param latencyNanos latency
+     * @param failed       transport failure, raises the ewma instead of averaging a fast failure in
+     */
+    public void onComplete(long latencyNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        if (failed) {
+            failures.increment();
+        }
+        long now = System.nanoTime();
+        long current;
+        long next;
+        do {
+            current = ewmaNanos.get();
+            long decayed = decay(current, now);
+            if (failed) {
+                next = Math.min(Constant.MAX_EWMA_NANOS, Math.max(decayed, latencyNanos) * Constant.FAILURE_PENALTY);
+            } else {
+                next = decayed == 0L ? latencyNanos : decayed + ((latencyNanos - decayed) >> Constant.EWMA_SHIFT);
+            }
+        } while (!ewmaNanos.compareAndSet(current, next));
+        sampledAt = now;
+    }
+
+    /**
+     * request cancelled by the caller, neither a latency sample nor a failure
+     */
+    public void onCancel() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getEwmaNanos() {
+        return decay(ewmaNanos.get(), System.nanoTime());
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * expected cost of one more request, lower is better
+     *
+     * @return ewma latency weighted by in flight requests
+     */
+    public long getLoadScore() {
+        return getEwmaNanos() * (inFlight.get() + 1L);
+    }
+
+    private long decay(long ewma, long now) {
+        long halfLives = (now - sampledAt) / Constant.HALF_LIFE_NANOS;
+        return halfLives <= 0L ? ewma : halfLives >= 63L ? 0L : ewma >> halfLives;
+    }
+}
@@ -0,0 +1,129 @@
+package io.web3service.web3j.core;
+
+import io.reactivex.Flowable;
+import io.web3service.web3j.health.EndpointHealth;
+import lombok.Getter;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Web3jService decorator feeding {@link EndpointStats} and {@link EndpointHealth} for endpoint selection.
+ * @author github.com/x-saofen
+ */
+public class EndpointTrackingService implements Web3jService {
+
+    @Getter
+    private final Web3jService delegate;
+
+    @Getter
+    private final EndpointStats stats = new EndpointStats();
+
+    @Getter
+    private final EndpointHealth health;
+
+    public EndpointTrackingService(Web3jService delegate, EndpointHealth health) {
+        this.delegate = delegate;
+        this.health = health;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        long start = System.nanoTime();
+        stats.onStart();
+        boolean failed = true;
+        try {
+            T response = delegate.send(request, responseType);
+            failed = false;
+            return response;
+        } finally {
+            complete(start, failed);
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        long start = System.nanoTime();
+        stats.onStart();
+        return track(delegate.sendAsync(request, responseType), start);
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        long start = System.nanoTime();
+        stats.onStart();
+        boolean failed = true;
+        try {
+            BatchResponse response = delegate.sendBatch(batchRequest);
+            failed = false;
+            return response;
+        } finally {
+            complete(start, failed);
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        long start = System.nanoTime();
+        stats.onStart();
+        return track(delegate.sendBatchAsync(batchRequest), start);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod, Class<T> responseType) {
+        return delegate.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    /**
+     * track a call sent around the delegate, only I/O failures count against the endpoint
+     * @param call call
+     * @return call result
+     */
+    public <T> CompletableFuture<T> track(Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        stats.onStart();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        return AsyncHttpService.whenComplete(future, (response, ex) -> {
+            if (ex instanceof CancellationException) {
+                stats.onCancel();
+            } else {
+                complete(start, ex instanceof IOException || (Objects.nonNull(ex) && ex.getCause() instanceof IOException));
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> track(CompletableFuture<T> future, long start) {
+        return AsyncHttpService.whenComplete(future, (response, ex) -> {
+            if (ex instanceof CancellationException) {
+                stats.onCancel();
+            } else {
+                complete(start, Objects.nonNull(ex));
+            }
+        });
+    }
+
+    private void complete(long start, boolean failed) {
+        stats.onComplete(System.nanoTime() - start, failed);
+        health.record(failed);
+    }
+}
@@ -0,0 +1,27 @@
+package io.web3service.web3j.core;
+
+import lombok.Getter;
+import org.web3j.protocol.core.Response;
+
+/**
+ * JSON-RPC error returned by a node.
+ * @author github.com/x-saofen
+ */
+@Getter
+public class JsonRpcException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * not serializable, null after deserialization
+     */
+    private final transient Response.Error error;
+
+    private final int code;
+
+    public JsonRpcException(Response.Error error) {
+        super("JSON-RPC error " + error.getCode() + ": " + error.getMessage());
+        this.error = error;
+        this.code = error.getCode();
+    }
+}
@@ -0,0 +1,455 @@
+package io.web3service.web3j.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableEmitter;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.core.methods.response.EthUnsubscribe;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JSON-RPC over one OkHttp WebSocket: requests of every caller are multiplexed by id and eth_subscribe
+ * notifications are routed by subscription id. A dropped socket fails the requests in flight with an
+ * IOException and, while subscriptions are open, reconnects with exponential backoff and subscribes
+ * them again; events pushed while disconnected are lost.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class ReconnectingWebSocketService implements Web3jService {
+
+    private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "web3j-websocket");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+
+    private static class Constant {
+        private static final String ID = "id";
+        private static final String METHOD = "method";
+        private static final String PARAMS = "params";
+        private static final String SUBSCRIPTION = "subscription";
+        private static final String ETH_SUBSCRIPTION = "eth_subscription";
+        private static final int NORMAL_CLOSURE = 1000;
+    }
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    @Getter
+    private final String url;
+
+    private final OkHttpClient httpClient;
+
+    private final long requestTimeoutMillis;
+
+    private final long reconnectMinMillis;
+
+    private final long reconnectMaxMillis;
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    private final Set<Subscription<?>> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Subscription<?>> subscriptionsById = new ConcurrentHashMap<>();
+
+    private WebSocket socket;
+
+    private CompletableFuture<WebSocket> connection;
+
+    private int reconnectAttempts;
+
+    private boolean reconnectScheduled;
+
+    private volatile boolean closed;
+
+    /**
+     * @param url                  ws:// or wss:// url
+     * @param httpClient           client of the network, read timeout is disabled and pings keep the socket alive
+     * @param options              websocket options
+     * @param requestTimeoutMillis timeout of a request without answer
+     */
+    public ReconnectingWebSocketService(String url, OkHttpClient httpClient, Web3jNetworkConfig.WebSocket options, long requestTimeoutMillis) {
+        this.url = url;
+        this.httpClient = httpClient.newBuilder()
+                .readTimeout(0L, TimeUnit.MILLISECONDS)
+                .pingInterval(options.getPingIntervalMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        this.reconnectMinMillis = Math.max(1L, options.getReconnectMinMillis());
+        this.reconnectMaxMillis = Math.max(reconnectMinMillis, options.getReconnectMaxMillis());
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        return await(sendAsync(request, responseType));
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(request);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        register(request.getId(), responseType, future);
+        write(payload, Collections.singletonList(request.getId()));
+        return future;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return await(sendBatchAsync(batchRequest));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        if (requests.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(requests);
+        } catch (IOException e) {
+            CompletableFuture<BatchResponse> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        List<CompletableFuture<Response<?>>> futures = new ArrayList<>(requests.size());
+        List<Long> ids = new ArrayList<>(requests.size());
+        for (Request<?, ? extends Response<?>> request : requests) {
+            CompletableFuture<Response<?>> future = new CompletableFuture<>();
+            register(request.getId(), (Class<Response<?>>) request.getResponseType(), future);
+            futures.add(future);
+            ids.add(request.getId());
+        }
+        write(payload, ids);
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            List<Response<?>> responses = new ArrayList<>(futures.size());
+            futures.forEach(future -> responses.add(future.join()));
+            return new BatchResponse(requests, responses);
+        });
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod, Class<T> responseType) {
+        return Flowable.create(emitter -> {
+            Subscription<T> subscription = new Subscription<>(request, unsubscribeMethod, responseType, emitter);
+            subscriptions.add(subscription);
+            emitter.setCancellable(() -> unsubscribe(subscription));
+            subscribe(subscription);
+        }, BackpressureStrategy.BUFFER);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        WebSocket current;
+        synchronized (this) {
+            current = socket;
+        }
+        if (Objects.nonNull(current)) {
+            current.close(Constant.NORMAL_CLOSURE, null);
+        }
+        disconnected(current, new IOException("WebSocket " + Web3jServiceFactory.endpointName(url) + " closed"));
+        subscriptions.forEach(subscription -> subscription.emitter.onComplete());
+        subscriptions.clear();
+    }
+
+    /**
+     * whether the socket is open
+     * @return open
+     */
+    public synchronized boolean isConnected() {
+        return Objects.nonNull(connection) && connection.isDone() && !connection.isCompletedExceptionally();
+    }
+
+    private <T> void register(long id, Class<T> responseType, CompletableFuture<T> future) {
+        Pending entry = new Pending(responseType, future);
+        pending.put(id, entry);
+        ScheduledFuture<?> timeout = SCHEDULER.schedule(() -> {
+            if (pending.remove(id, entry)) {
+                future.completeExceptionally(new IOException("No answer for request " + id + " within " + requestTimeoutMillis + "ms"));
+            }
+        }, requestTimeoutMillis, TimeUnit.MILLISECONDS);
+        future.whenComplete((response, ex) -> timeout.cancel(false));
+    }
+
+    private void write(String payload, List<Long> ids) {
+        connect().whenComplete((webSocket, ex) -> {
+            if (Objects.isNull(ex) && webSocket.send(payload)) {
+                return;
+            }
+            IOException failure = ex instanceof IOException ? (IOException) ex
+                    : new IOException("WebSocket " + Web3jServiceFactory.endpointName(url) + " unavailable", ex);
+            for (Long id : ids) {
+                Pending entry = pending.remove(id);
+                if (Objects.nonNull(entry)) {
+                    entry.future.completeExceptionally(failure);
+                }
+            }
+        });
+    }
+
+    private synchronized CompletableFuture<WebSocket> connect() {
+        if (closed) {
+            CompletableFuture<WebSocket> future = new CompletableFuture<>();
+            future.completeExceptionally(new IOException("WebSocket " + Web3jServiceFactory.endpointName(url) + " closed"));
+            return future;
+        }
+        if (Objects.isNull(connection)) {
+            connection = new CompletableFuture<>();
+            socket = httpClient.newWebSocket(new okhttp3.Request.Builder().url(url).build(), new Listener());
+        }
+        return connection;
+    }
+
+    private void subscribe(Subscription<?> subscription) {
+        if (closed || subscription.emitter.isCancelled() || !subscription.subscribing.compareAndSet(false, true)) {
+            return;
+        }
+        sendAsync(subscription.request, EthSubscribe.class).whenComplete((response, ex) -> {
+            subscription.subscribing.set(false);
+            if (Objects.nonNull(ex)) {
+                log.debug("Subscribe on {} failed: {}", Web3jServiceFactory.endpointName(url), ex.getMessage());
+                if (isConnected()) {
+                    SCHEDULER.schedule(() -> subscribe(subscription), reconnectMinMillis, TimeUnit.MILLISECONDS);
+                } else {
+                    // subscribed again once the socket opens
+                    scheduleReconnect();
+                }
+            } else if (response.hasError()) {
+                subscriptions.remove(subscription);
+                subscription.emitter.onError(new JsonRpcException(response.getError()));
+            } else {
+                subscription.id = response.getSubscriptionId();
+                subscriptionsById.put(subscription.id, subscription);
+                if (subscription.emitter.isCancelled()) {
+                    unsubscribe(subscription);
+                }
+            }
+        });
+    }
+
+    private void unsubscribe(Subscription<?> subscription) {
+        subscriptions.remove(subscription);
+        String id = subscription.id;
+        if (Objects.isNull(id) || !subscriptionsById.remove(id, subscription) || !isConnected()) {
+            return;
+        }
+        Request<?, EthUnsubscribe> request = new Request<>(subscription.unsubscribeMethod, Collections.singletonList(id), this, EthUnsubscribe.class);
+        sendAsync(request, EthUnsubscribe.class).whenComplete((response, ex) -> {
+            if (Objects.nonNull(ex) || response.hasError()) {
+                log.debug("Unsubscribe {} on {} failed", id, Web3jServiceFactory.endpointName(url));
+            }
+        });
+    }
+
+    private void onMessage(String text) throws IOException {
+        JsonNode node = objectMapper.readTree(text);
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                onResponse(element);
+            }
+        } else if (Constant.ETH_SUBSCRIPTION.equals(node.path(Constant.METHOD).asText())) {
+            Subscription<?> subscription = subscriptionsById.get(node.path(Constant.PARAMS).path(Constant.SUBSCRIPTION).asText());
+            if (Objects.nonNull(subscription)) {
+                subscription.emit(objectMapper, node);
+            }
+        } else {
+            onResponse(node);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onResponse(JsonNode node) throws IOException {
+        JsonNode id = node.get(Constant.ID);
+        Pending entry = Objects.nonNull(id) && id.canConvertToLong() ? pending.remove(id.asLong()) : null;
+        if (Objects.isNull(entry)) {
+            log.debug("Unexpected response on {}: {}", Web3jServiceFactory.endpointName(url), node);
+            return;
+        }
+        ((CompletableFuture<Object>) entry.future).complete(objectMapper.treeToValue(node, entry.responseType));
+    }
+
+    private void opened(WebSocket webSocket) {
+        CompletableFuture<WebSocket> opened;
+        synchronized (this) {
+            if (webSocket != socket) {
+                return;
+            }
+            reconnectAttempts = 0;
+            opened = connection;
+        }
+        log.info("WebSocket {} connected", Web3jServiceFactory.endpointName(url));
+        opened.complete(webSocket);
+        for (Subscription<?> subscription : subscriptions) {
+            if (Objects.isNull(subscription.id)) {
+                subscribe(subscription);
+            }
+        }
+    }
+
+    private void disconnected(WebSocket webSocket, IOException cause) {
+        CompletableFuture<WebSocket> lost;
+        synchronized (this) {
+            if (webSocket != socket) {
+                return;
+            }
+            lost = connection;
+            connection = null;
+            socket = null;
+        }
+        if (Objects.nonNull(lost)) {
+            lost.completeExceptionally(cause);
+        }
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.id = null;
+        }
+        subscriptionsById.clear();
+        for (Long id : new ArrayList<>(pending.keySet())) {
+            Pending entry = pending.remove(id);
+            if (Objects.nonNull(entry)) {
+                entry.future.completeExceptionally(cause);
+            }
+        }
+        if (!closed) {
+            log.warn("WebSocket {} disconnected: {}", Web3jServiceFactory.endpointName(url), cause.getMessage());
+            scheduleReconnect();
+        }
+    }
+
+    private void scheduleReconnect() {
+        long delay;
+        synchronized (this) {
+            if (closed || reconnectScheduled || subscriptions.isEmpty() || isConnected()) {
+                return;
+            }
+            reconnectScheduled = true;
+            delay = Math.min(reconnectMaxMillis, reconnectMinMillis << Math.min(20, reconnectAttempts++));
+        }
+        SCHEDULER.schedule(() -> {
+            synchronized (this) {
+                reconnectScheduled = false;
+            }
+            connect().whenComplete((webSocket, ex) -> {
+                if (Objects.nonNull(ex)) {
+                    scheduleReconnect();
+                }
+            });
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private class Listener extends WebSocketListener {
+        @Override
+        public void onOpen(WebSocket webSocket, okhttp3.Response response) {
+            opened(webSocket);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            try {
+                ReconnectingWebSocketService.this.onMessage(text);
+            } catch (Exception e) {
+                log.warn("Invalid message on {}: {}", Web3jServiceFactory.endpointName(url), e.getMessage());
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(Constant.NORMAL_CLOSURE, null);
+            disconnected(webSocket, new IOException("WebSocket closed by server: " + code + " " + reason));
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, okhttp3.Response response) {
+            disconnected(webSocket, t instanceof IOException ? (IOException) t : new IOException(t));
+        }
+    }
+
+    private static class Pending {
+        private final Class<?> responseType;
+        private final CompletableFuture<?> future;
+
+        private Pending(Class<?> responseType, CompletableFuture<?> future) {
+            this.responseType = responseType;
+            this.future = future;
+        }
+    }
+
+    private static class Subscription<T extends Notification<?>> {
+        private final Request<?, ?> request;
+        private final String unsubscribeMethod;
+        private final Class<T> notificationType;
+        private final FlowableEmitter<T> emitter;
+
+        /**
+         * subscription id on the current socket, null until subscribed
+         */
+        private volatile String id;
+
+        private final AtomicBoolean subscribing = new AtomicBoolean();
+
+        private Subscription(Request<?, ?> request, String unsubscribeMethod, Class<T> notificationType, FlowableEmitter<T> emitter) {
+            this.request = request;
+            this.unsubscribeMethod = unsubscribeMethod;
+            this.notificationType = notificationType;
+            this.emitter = emitter;
+        }
+
+        private void emit(ObjectMapper objectMapper, JsonNode node) throws IOException {
+            emitter.onNext(objectMapper.treeToValue(node, notificationType));
+        }
+    }
+}
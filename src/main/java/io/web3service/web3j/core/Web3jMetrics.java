@@ -0,0 +1,57 @@
+package io.web3service.web3j.core;
+
+import io.web3service.web3j.balancer.LoadBalancer;
+import okhttp3.OkHttpClient;
+import org.web3j.protocol.Web3jService;
+
+/**
+ * Instrumentation hooks applied while the services of a network are built.
+ * @author github.com/x-saofen
+ */
+public interface Web3jMetrics {
+
+    /**
+     * http client shared by the endpoints of a network
+     * @param network network
+     * @param client  client
+     * @return client, may share the dispatcher and connection pool of the given one
+     */
+    OkHttpClient decorate(String network, OkHttpClient client);
+
+    /**
+     * transport of one endpoint
+     * @param network  network
+     * @param endpoint endpoint label
+     * @param service  transport
+     * @return transport, a wrapper implements {@link Decorated}
+     */
+    Web3jService decorate(String network, String endpoint, Web3jService service);
+
+    /**
+     * endpoint selection of a network
+     * @param network      network
+     * @param loadBalancer selection strategy
+     * @return selection strategy
+     */
+    LoadBalancer decorate(String network, LoadBalancer loadBalancer);
+
+    /**
+     * transport wrapper
+     */
+    interface Decorated {
+        Web3jService getDelegate();
+    }
+
+    /**
+     * transport under the wrappers
+     * @param service transport
+     * @return innermost transport
+     */
+    static Web3jService unwrap(Web3jService service) {
+        Web3jService current = service;
+        while (current instanceof Decorated) {
+            current = ((Decorated) current).getDelegate();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,498 @@
+package io.web3service.web3j.core;
+
+import io.web3service.web3j.balancer.LoadBalancerType;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per network tuning options.
+ * @author github.com/x-saofen
+ */
+@Data
+public class Web3jNetworkConfig {
+
+    /**
+     * Endpoint selection strategy of getNextTemplate
+     */
+    private LoadBalancerType loadBalancer = LoadBalancerType.ROUND_ROBIN;
+
+    /**
+     * HTTP client options, one client shared by the endpoints of the network
+     */
+    private Http http = new Http();
+
+    /**
+     * JSON-RPC batch options
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * Multicall3 aggregation options
+     */
+    private Multicall multicall = new Multicall();
+
+    /**
+     * Micro-batching of concurrent contract reads
+     */
+    private Coalesce coalesce = new Coalesce();
+
+    /**
+     * Background endpoint health probing
+     */
+    private Health health = new Health();
+
+    /**
+     * Error rate circuit breaker per endpoint
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Hedging and failover of idempotent calls sent through Web3jServiceTemplate
+     */
+    private Hedge hedge = new Hedge();
+
+    /**
+     * Executor of the async helpers
+     */
+    private Async async = new Async();
+
+    /**
+     * Token name / symbol / decimals / bytecode cache
+     */
+    private MetadataCache metadataCache = new MetadataCache();
+
+    /**
+     * Latest block eth_call result cache, dropped on every new head
+     */
+    private CallCache callCache = new CallCache();
+
+    /**
+     * Parallel eth_getLogs backfill options
+     */
+    private LogScan logScan = new LogScan();
+
+    /**
+     * Block follower read-ahead and reorg window
+     */
+    private Follow follow = new Follow();
+
+    /**
+     * EIP-1559 fee quotes from eth_feeHistory
+     */
+    private FeeOracle feeOracle = new FeeOracle();
+
+    /**
+     * In memory nonces for transfers sent without nonce
+     */
+    private Nonce nonce = new Nonce();
+
+    /**
+     * Shared receipt polling of sent transactions
+     */
+    private Receipt receipt = new Receipt();
+
+    /**
+     * Contract wrappers of ContractClient
+     */
+    private Contract contract = new Contract();
+
+    /**
+     * ws:// and wss:// endpoints
+     */
+    private WebSocket webSocket = new WebSocket();
+
+    @Data
+    public static class Http {
+
+        /**
+         * Max concurrent async requests of the network
+         */
+        private Integer maxRequests = 256;
+
+        /**
+         * Max concurrent async requests per endpoint host, OkHttp defaults to 5
+         */
+        private Integer maxRequestsPerHost = 64;
+
+        /**
+         * Idle connections kept alive by the connection pool
+         */
+        private Integer maxIdleConnections = 32;
+
+        private Long keepAliveMillis = 300_000L;
+
+        /**
+         * Negotiate HTTP/2 over TLS (ALPN), false forces HTTP/1.1
+         */
+        private Boolean http2 = true;
+
+        /**
+         * Accept gzip compressed responses
+         */
+        private Boolean gzip = true;
+    }
+
+    @Data
+    public static class Batch {
+
+        /**
+         * Max requests packed into one JSON-RPC batch array
+         */
+        private Integer maxSize = 100;
+
+        /**
+         * Max batch arrays in flight at the same time
+         */
+        private Integer parallelism = 4;
+    }
+
+    @Data
+    public static class Multicall {
+
+        /**
+         * Multicall3 contract address, same address on most EVM chains
+         */
+        private String address = "0xcA11bde05977b3631167028862bE2a173976CA11";
+
+        /**
+         * Max calls folded into one aggregate3 eth_call
+         */
+        private Integer maxCalls = 500;
+
+        /**
+         * Max aggregate3 calldata bytes per eth_call
+         */
+        private Integer maxCalldataBytes = 100_000;
+    }
+
+    @Data
+    public static class Coalesce {
+
+        /**
+         * Send concurrent contract reads of one endpoint as a JSON-RPC batch
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Max time a read waits for others
+         */
+        private Long windowMillis = 2L;
+
+        /**
+         * Flush as soon as this many reads are waiting
+         */
+        private Integer maxBatch = 50;
+    }
+
+    @Data
+    public static class Health {
+
+        /**
+         * Probe every endpoint with eth_blockNumber in the background
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Delay between probe rounds
+         */
+        private Long intervalMillis = 5_000L;
+
+        /**
+         * Probe timeout, a timed out endpoint is marked down
+         */
+        private Long timeoutMillis = 3_000L;
+
+        /**
+         * Endpoints more blocks than this behind the best peer are marked lagging
+         */
+        private Long maxLagBlocks = 5L;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        private Boolean enabled = true;
+
+        /**
+         * Failure rate in a window that opens the breaker, 0.0 - 1.0
+         */
+        private Double failureRateThreshold = 0.5D;
+
+        /**
+         * Requests needed in a window before the failure rate is evaluated
+         */
+        private Integer minimumRequests = 20;
+
+        private Long windowMillis = 10_000L;
+
+        /**
+         * Time an open breaker keeps the endpoint out of selection before half-open trials
+         */
+        private Long openMillis = 30_000L;
+
+        /**
+         * Successful half-open trials needed to close the breaker
+         */
+        private Integer halfOpenSuccesses = 3;
+    }
+
+    @Data
+    public static class Hedge {
+
+        /**
+         * Send a second request to another endpoint when the first one is slow
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Latency percentile of the method after which the hedge is sent, 0.0 - 1.0
+         */
+        private Double percentile = 0.95D;
+
+        /**
+         * Hedge delay until enough latency samples of a method are recorded
+         */
+        private Long initialDelayMillis = 200L;
+
+        /**
+         * Lower bound of the hedge delay
+         */
+        private Long minDelayMillis = 10L;
+
+        /**
+         * Endpoints tried per call, hedge and failover included
+         */
+        private Integer maxAttempts = 3;
+
+        /**
+         * Methods safe to hedge and retry, eth_sendRawTransaction is never hedged
+         */
+        private List<String> idempotentMethods = new ArrayList<>(Arrays.asList(
+                "eth_call", "eth_getBalance", "eth_getBlockByNumber", "eth_getBlockByHash", "eth_getCode",
+                "eth_getTransactionCount", "eth_getTransactionByHash", "eth_getTransactionReceipt", "eth_getLogs",
+                "eth_getStorageAt", "eth_blockNumber", "eth_chainId", "eth_gasPrice", "eth_feeHistory",
+                "eth_maxPriorityFeePerGas", "eth_estimateGas", "net_version", "web3_clientVersion"));
+    }
+
+    @Data
+    public static class Async {
+
+        /**
+         * Threads running decode and sign stages of the *Async helpers,
+         * 0 runs them on the thread completing the RPC
+         */
+        private Integer threads = 0;
+    }
+
+    @Data
+    public static class MetadataCache {
+
+        private Boolean enabled = false;
+
+        /**
+         * Max cached entries, one per token and field
+         */
+        private Integer maxSize = 10_000;
+
+        private Long ttlMillis = 86_400_000L;
+
+        /**
+         * Cache absent values, non ERC-20 contracts and addresses without code
+         */
+        private Boolean negativeCaching = true;
+
+        private Long negativeTtlMillis = 600_000L;
+
+        /**
+         * Tokens whose name, symbol and decimals are loaded with Multicall3 at startup
+         */
+        private List<String> prefetch = new ArrayList<>();
+    }
+
+    @Data
+    public static class CallCache {
+
+        private Boolean enabled = false;
+
+        /**
+         * Max cached results
+         */
+        private Integer maxEntries = 10_000;
+
+        /**
+         * Head age before it is refreshed with eth_blockNumber, heads of the health monitor refresh it too
+         */
+        private Long headTtlMillis = 1_000L;
+    }
+
+    @Data
+    public static class LogScan {
+
+        /**
+         * Blocks of the first eth_getLogs range
+         */
+        private Long initialRange = 2_000L;
+
+        private Long minRange = 1L;
+
+        private Long maxRange = 50_000L;
+
+        /**
+         * eth_getLogs ranges in flight across the endpoints of the network
+         */
+        private Integer parallelism = 4;
+
+        /**
+         * Ranges returning fewer logs than this double the next range
+         */
+        private Integer sparseLogs = 1_000;
+
+        private Integer maxRetries = 5;
+
+        private Long retryBackoffMillis = 500L;
+    }
+
+    @Data
+    public static class Follow {
+
+        /**
+         * Blocks fetched ahead of the consumer
+         */
+        private Integer readAhead = 8;
+
+        /**
+         * Blocks in flight, waiting to be decoded or waiting for the consumer
+         */
+        private Integer bufferSize = 64;
+
+        /**
+         * Delivered blocks whose hashes are kept, a reorg deeper than this stops the follower
+         */
+        private Integer confirmations = 12;
+
+        /**
+         * Head poll interval once the follower caught up, also the retry delay of a failed block
+         */
+        private Long pollMillis = 1_000L;
+
+        private Boolean fullTransactions = true;
+
+        /**
+         * Fetch the receipts of every transaction with one JSON-RPC batch per block
+         */
+        private Boolean receipts = true;
+    }
+
+    @Data
+    public static class WebSocket {
+
+        /**
+         * First reconnect delay, doubled on every failed attempt
+         */
+        private Long reconnectMinMillis = 500L;
+
+        private Long reconnectMaxMillis = 30_000L;
+
+        /**
+         * Ping interval, a socket missing a pong is reconnected
+         */
+        private Long pingIntervalMillis = 15_000L;
+    }
+
+    @Data
+    public static class FeeOracle {
+
+        /**
+         * Serve EIP-1559 transfers from the oracle instead of fetching fees per transfer
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Blocks of the rolling reward window
+         */
+        private Integer blocks = 20;
+
+        private Double slowPercentile = 10D;
+
+        private Double normalPercentile = 50D;
+
+        private Double fastPercentile = 90D;
+
+        /**
+         * Tier used by the transfer methods
+         */
+        private io.web3service.web3j.fee.FeeOracle.Tier tier = io.web3service.web3j.fee.FeeOracle.Tier.NORMAL;
+
+        /**
+         * maxFeePerGas = next base fee * multiplier + priority fee, 2 survives six full blocks
+         */
+        private Double baseFeeMultiplier = 2D;
+
+        private Long minPriorityFeeWei = 0L;
+
+        /**
+         * Quote age that starts a background refresh when no head arrives
+         */
+        private Long maxAgeMillis = 15_000L;
+
+        /**
+         * Head poll interval when no new head is pushed by the health monitor or a newHeads subscription
+         */
+        private Long pollMillis = 3000L;
+    }
+
+    @Data
+    public static class Nonce {
+
+        /**
+         * Hand out nonces per sender in memory, synced with the pending transaction count at first use and after nonce errors
+         */
+        private Boolean enabled = false;
+    }
+
+    @Data
+    public static class Receipt {
+
+        /**
+         * Wait for receipts of transfers through one tracker per network instead of polling per transaction
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Blocks including the receipt block before a receipt completes
+         */
+        private Integer confirmations = 1;
+
+        /**
+         * Head poll interval when no new head is pushed
+         */
+        private Long pollMillis = 1000L;
+
+        /**
+         * Wait limit of a transaction without receipt
+         */
+        private Long timeoutMillis = 600_000L;
+    }
+
+    @Data
+    public static class Contract {
+
+        /**
+         * Max cached contract wrappers, one per endpoint, contract address and wrapper class
+         */
+        private Integer maxSize = 1024;
+
+        /**
+         * Time to live of a cached bytecode check
+         */
+        private Long bytecodeTtlMillis = 600_000L;
+
+        /**
+         * Check that a contract address has bytecode before the first load
+         */
+        private Boolean verifyBytecode = true;
+    }
+}
@@ -1,34 +1,69 @@
 package io.web3service.web3j.core;
 
+import io.web3service.web3j.batch.BatchExecutor;
+import io.web3service.web3j.batch.BatchResult;
+import io.web3service.web3j.batch.CallCoalescer;
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.cache.CallResultCache;
+import io.web3service.web3j.cache.TokenMetadataCache;
+import io.web3service.web3j.contract.ContractFactory;
+import io.web3service.web3j.contract.Erc20Codec;
+import io.web3service.web3j.fee.FeeOracle;
+import io.web3service.web3j.health.CircuitBreaker;
+import io.web3service.web3j.health.EndpointHealth;
+import io.web3service.web3j.multicall.ContractCall;
+import io.web3service.web3j.multicall.Multicall3;
+import io.web3service.web3j.nonce.NonceManager;
+import io.web3service.web3j.nonce.NonceRegistry;
+import io.web3service.web3j.payout.PayoutExecutor;
+import io.web3service.web3j.payout.PayoutResult;
+import io.web3service.web3j.payout.PayoutTransfer;
+import io.web3service.web3j.receipt.ReceiptTracker;
+import io.web3service.web3j.stream.StreamingJsonRpc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.Flowable;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.CollectionUtils;
 import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.FunctionReturnDecoder;
 import org.web3j.abi.TypeReference;
-import org.web3j.abi.datatypes.Address;
 import org.web3j.abi.datatypes.Function;
 import org.web3j.abi.datatypes.Type;
 import org.web3j.abi.datatypes.Utf8String;
-import org.web3j.abi.datatypes.generated.Uint256;
-import org.web3j.abi.datatypes.generated.Uint8;
 import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
 import org.web3j.crypto.RawTransaction;
 import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.JsonRpc2_0Web3j;
+import org.web3j.protocol.core.RemoteCall;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.request.EthFilter;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.*;
+import org.web3j.protocol.websocket.events.NewHead;
+import org.web3j.tx.TransactionManager;
 import org.web3j.tx.Transfer;
+import org.web3j.tx.response.PollingTransactionReceiptProcessor;
 import org.web3j.utils.Convert;
 import org.web3j.utils.Numeric;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * @author github.com/x-saofen
@@ -39,40 +74,198 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
     @Getter
     private Long defaultTimeOut = 5L;
 
+    @Getter
+    private final Web3jNetworkConfig config;
+
+    @Getter
+    private final EndpointStats endpointStats;
+
+    @Getter
+    private final EndpointHealth endpointHealth;
+
+    @Getter
+    private final String network;
+
+    @Getter
+    private final String endpoint;
+
     public Web3jNetworkService(Web3jService web3jService, Long httpTimeOut) {
-        super(web3jService);
+        this(web3jService, httpTimeOut, new Web3jNetworkConfig());
+    }
+
+    public Web3jNetworkService(Web3jService web3jService, Long httpTimeOut, Web3jNetworkConfig config) {
+        this(web3jService, httpTimeOut, config, Constant.EMPTY, Web3jServiceFactory.endpointName(web3jService));
+    }
+
+    public Web3jNetworkService(Web3jService web3jService, Long httpTimeOut, Web3jNetworkConfig config, String network, String endpoint) {
+        super(new EndpointTrackingService(web3jService, createEndpointHealth(config, endpoint)));
+        this.trackingService = (EndpointTrackingService) this.web3jService;
+        Web3jService delegate = Web3jMetrics.unwrap(trackingService.getDelegate());
+        this.streamingJsonRpc = delegate instanceof AsyncHttpService ? new StreamingJsonRpc((AsyncHttpService) delegate) : null;
+        this.endpointStats = trackingService.getStats();
+        this.endpointHealth = trackingService.getHealth();
+        this.network = network;
+        this.endpoint = endpoint;
         if (Objects.nonNull(httpTimeOut) && httpTimeOut > 0L) {
             this.defaultTimeOut = httpTimeOut;
         }
+        this.config = Objects.isNull(config) ? new Web3jNetworkConfig() : config;
+        Web3jNetworkConfig.Coalesce coalesce = this.config.getCoalesce();
+        this.coalescer = Boolean.TRUE.equals(coalesce.getEnabled()) ? new CallCoalescer(this, coalesce.getWindowMillis(), coalesce.getMaxBatch()) : null;
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getObjectMapper();
+
+    private final CallCoalescer coalescer;
+
+    private final EndpointTrackingService trackingService;
+
+    private final StreamingJsonRpc streamingJsonRpc;
+
+    private static EndpointHealth createEndpointHealth(Web3jNetworkConfig config, String endpoint) {
+        Web3jNetworkConfig.CircuitBreaker breaker = (Objects.isNull(config) ? new Web3jNetworkConfig() : config).getCircuitBreaker();
+        return new EndpointHealth(endpoint, new CircuitBreaker(endpoint, Boolean.TRUE.equals(breaker.getEnabled()), breaker.getFailureRateThreshold(),
+                breaker.getMinimumRequests(), breaker.getWindowMillis(), breaker.getOpenMillis(), breaker.getHalfOpenSuccesses()));
     }
 
-    private EthChainId chainId;
+    /**
+     * whether requests should be routed to this endpoint
+     *
+     * @return healthy and circuit breaker not open
+     */
+    public boolean isAvailable() {
+        return endpointHealth.isAvailable();
+    }
+
+    private final AtomicReference<CompletableFuture<Long>> chainId = new AtomicReference<>();
+
+    private final AtomicReference<CompletableFuture<String>> clientVersion = new AtomicReference<>();
+
+    /**
+     * executor running decode / sign stages of the async helpers, the completing I/O thread by default
+     */
+    @Getter
+    @Setter
+    private Executor asyncExecutor = Runnable::run;
+
+    /**
+     * token metadata cache shared by the endpoints of the network, null disables caching
+     */
+    @Getter
+    @Setter
+    private TokenMetadataCache metadataCache;
+
+    /**
+     * nonce managers shared by the endpoints of the network, null fetches the pending transaction count
+     * when a transfer is sent without nonce
+     */
+    @Getter
+    @Setter
+    private NonceRegistry nonceRegistry;
+
+    /**
+     * fee oracle shared by the endpoints of the network, null fetches fees for every transfer
+     */
+    @Getter
+    @Setter
+    private FeeOracle feeOracle;
+
+    /**
+     * latest block eth_call cache shared by the endpoints of the network, null disables caching
+     */
+    @Getter
+    @Setter
+    private CallResultCache callCache;
+
+    /**
+     * receipt tracker shared by the endpoints of the network, null polls the receipt of every transfer on its own
+     */
+    @Getter
+    @Setter
+    private ReceiptTracker receiptTracker;
+
+    /**
+     * contract wrappers shared by the endpoints of the network, null uses the default factory of ContractClient
+     */
+    @Getter
+    @Setter
+    private ContractFactory contractFactory;
 
     @SneakyThrows({ExecutionException.class, InterruptedException.class})
     public Long getChainId() {
-        if (Objects.nonNull(chainId)) {
-            return chainId.getChainId().longValue();
-        }
-        synchronized (this) {
-            if (Objects.nonNull(chainId)) {
-                return chainId.getChainId().longValue();
+        return getChainIdAsync().get();
+    }
+
+    /**
+     * chain id, fetched once and cached
+     *
+     * @return chain id
+     */
+    public CompletableFuture<Long> getChainIdAsync() {
+        return fetchOnce(chainId, () -> super.ethChainId().sendAsync().thenApply(response -> {
+            if (response.hasError()) {
+                throw new JsonRpcException(response.getError());
+            }
+            log.info("Init chain ID: {}", response.getChainId());
+            return response.getChainId().longValue();
+        }));
+    }
+
+    /**
+     * web3_clientVersion, fetched once and cached
+     *
+     * @return client version
+     */
+    public CompletableFuture<String> getClientVersionAsync() {
+        return fetchOnce(clientVersion, () -> super.web3ClientVersion().sendAsync().thenApply(response -> {
+            if (response.hasError()) {
+                throw new JsonRpcException(response.getError());
             }
-            chainId = super.ethChainId().sendAsync().get();
-            log.info("Init chain ID: {}", chainId);
+            return response.getWeb3ClientVersion();
+        }));
+    }
+
+    /**
+     * share one request between concurrent callers, a failure is not kept so the next call retries
+     */
+    private static <T> CompletableFuture<T> fetchOnce(AtomicReference<CompletableFuture<T>> holder, Supplier<CompletableFuture<T>> loader) {
+        CompletableFuture<T> current = holder.get();
+        if (Objects.nonNull(current)) {
+            return current;
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!holder.compareAndSet(null, future)) {
+            current = holder.get();
+            return Objects.nonNull(current) ? current : fetchOnce(holder, loader);
         }
-        return chainId.getChainId().longValue();
+        CompletableFuture<T> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException e) {
+            load = new CompletableFuture<>();
+            load.completeExceptionally(e);
+        }
+        load.whenComplete((value, ex) -> {
+            if (Objects.nonNull(ex)) {
+                holder.compareAndSet(future, null);
+                future.completeExceptionally(ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex);
+                return;
+            }
+            future.complete(value);
+        });
+        return future;
     }
 
     private static class Constant {
         private static final String EMPTY = "";
         private static final String EMPTY_ADDRESS = "0x0000000000000000000000000000000000000000";
         private static final String NAME = "name";
-        private static final String TOTAL_SUPPLY = "totalSupply";
-        private static final String BALANCES_OF = "balanceOf";
-        private static final String DECIMALS = "decimals";
         private static final String SYMBOL = "symbol";
-        private static final String ALLOWANCE = "allowance";
-        private static final String TRANSFER = "transfer";
+        private static final BigInteger ERC20_TRANSFER_GAS_LIMIT = BigInteger.valueOf(100_000L);
+        private static final String TRANSACTIONS = "transactions";
+        private static final String ETH_GET_BLOCK_BY_NUMBER = "eth_getBlockByNumber";
+        private static final String ETH_GET_BLOCK_RECEIPTS = "eth_getBlockReceipts";
+        private static final String ETH_GET_LOGS = "eth_getLogs";
 
 
     }
@@ -84,12 +277,62 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param contractAddress contract address
      * @return type
      */
-    @SneakyThrows({ExecutionException.class, InterruptedException.class})
-    private List<Type> callReadFunction(Function function, String contractAddress) {
-        String data = FunctionEncoder.encode(function);
+    private CompletableFuture<List<Type>> callReadFunctionAsync(Function function, String contractAddress) {
+        return callAsync(contractAddress, FunctionEncoder.encode(function))
+                .thenApplyAsync(ethCall -> FunctionReturnDecoder.decode(ethCall.getValue(), function.getOutputParameters()), asyncExecutor);
+    }
+
+    /**
+     * contract call returning one uint256, encoded and decoded by Erc20Codec
+     *
+     * @param contractAddress contract address
+     * @param data            call data
+     * @return value
+     */
+    private CompletableFuture<BigInteger> callUint256Async(String contractAddress, String data) {
+        return callAsync(contractAddress, data).thenApply(ethCall -> Erc20Codec.decodeUint256(ethCall.getValue()));
+    }
+
+    /**
+     * contract call for token metadata, a JSON-RPC error fails the future so that only a real
+     * empty result is negative cached
+     *
+     * @param contractAddress contract address
+     * @param data            call data
+     * @return eth call without error
+     */
+    private CompletableFuture<EthCall> metadataCallAsync(String contractAddress, String data) {
+        return callAsync(contractAddress, data).thenApply(ethCall -> {
+            if (ethCall.hasError()) {
+                throw new JsonRpcException(ethCall.getError());
+            }
+            return ethCall;
+        });
+    }
+
+    /**
+     * string metadata (name, symbol) of a contract
+     *
+     * @param contractAddress contract address
+     * @param name            contract function name
+     * @return string, empty when the contract returns nothing
+     */
+    private CompletableFuture<Optional<String>> stringMetadataAsync(String contractAddress, String name) {
+        Function function = new Function(name, new ArrayList<>(), Collections.singletonList(new TypeReference<Utf8String>() {
+        }));
+        return metadataCallAsync(contractAddress, FunctionEncoder.encode(function))
+                .thenApplyAsync(ethCall -> firstString(FunctionReturnDecoder.decode(ethCall.getValue(), function.getOutputParameters())), asyncExecutor);
+    }
+
+    private CompletableFuture<EthCall> callAsync(String contractAddress, String data) {
+        return Objects.isNull(callCache) ? sendEthCall(contractAddress, data, DefaultBlockParameterName.LATEST)
+                : callCache.get(this, contractAddress, data, block -> sendEthCall(contractAddress, data, block));
+    }
+
+    private CompletableFuture<EthCall> sendEthCall(String contractAddress, String data, DefaultBlockParameter block) {
         Transaction transaction = Transaction.createEthCallTransaction(Constant.EMPTY_ADDRESS, contractAddress, data);
-        EthCall ethCall = ethCall(transaction, DefaultBlockParameterName.LATEST).sendAsync().get();
-        return FunctionReturnDecoder.decode(ethCall.getValue(), function.getOutputParameters());
+        Request<?, EthCall> request = ethCall(transaction, block);
+        return Objects.isNull(coalescer) ? request.sendAsync() : coalescer.submit(request);
     }
 
 
@@ -114,10 +357,24 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param outputParameters Parameters
      * @return type
      */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
     public List<Type> simpleReadFunction(String contractAddress, String name, List<Type> inputParameters, TypeReference<?>... outputParameters) {
+        return simpleReadFunctionAsync(contractAddress, name, inputParameters, outputParameters).get();
+    }
+
+    /**
+     * contract simple read function
+     *
+     * @param contractAddress  contract address
+     * @param name             contract function name
+     * @param inputParameters  Parameters
+     * @param outputParameters Parameters
+     * @return type
+     */
+    public CompletableFuture<List<Type>> simpleReadFunctionAsync(String contractAddress, String name, List<Type> inputParameters, TypeReference<?>... outputParameters) {
         Function function = new Function(
                 name, Objects.isNull(inputParameters) ? new ArrayList<>() : inputParameters, Arrays.asList(outputParameters));
-        return callReadFunction(function, contractAddress);
+        return callReadFunctionAsync(function, contractAddress);
     }
 
     /**
@@ -126,10 +383,19 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param contractAddress contract address
      * @return String name
      */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
     public Optional<String> getContractName(String contractAddress) {
-        final List<Type> types = simpleReadFunction(contractAddress, Constant.NAME, new TypeReference<Utf8String>() {
-        });
-        return CollectionUtils.isEmpty(types) ? Optional.empty() : Optional.of(types.get(0).getValue().toString());
+        return getContractNameAsync(contractAddress).get();
+    }
+
+    /**
+     * Get contract name
+     *
+     * @param contractAddress contract address
+     * @return String name
+     */
+    public CompletableFuture<Optional<String>> getContractNameAsync(String contractAddress) {
+        return cachedMetadata(TokenMetadataCache.Field.NAME, contractAddress, () -> stringMetadataAsync(contractAddress, Constant.NAME));
     }
 
     /**
@@ -138,10 +404,19 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param contractAddress contract address
      * @return String symbol
      */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
     public Optional<String> getErc20ContractSymbol(String contractAddress) {
-        final List<Type> types = simpleReadFunction(contractAddress, Constant.SYMBOL, new TypeReference<Utf8String>() {
-        });
-        return CollectionUtils.isEmpty(types) ? Optional.empty() : Optional.of(types.get(0).getValue().toString());
+        return getErc20ContractSymbolAsync(contractAddress).get();
+    }
+
+    /**
+     * Get contract symbol
+     *
+     * @param contractAddress contract address
+     * @return String symbol
+     */
+    public CompletableFuture<Optional<String>> getErc20ContractSymbolAsync(String contractAddress) {
+        return cachedMetadata(TokenMetadataCache.Field.SYMBOL, contractAddress, () -> stringMetadataAsync(contractAddress, Constant.SYMBOL));
     }
 
     /**
@@ -150,10 +425,21 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param contractAddress contract address
      * @return BigInteger decimals
      */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
     public BigInteger getErc20ContractDecimals(String contractAddress) {
-        final List<Type> types = simpleReadFunction(contractAddress, Constant.DECIMALS, new TypeReference<Uint8>() {
-        });
-        return CollectionUtils.isEmpty(types) ? BigInteger.ZERO : new BigInteger(types.get(0).getValue().toString());
+        return getErc20ContractDecimalsAsync(contractAddress).get();
+    }
+
+    /**
+     * Get contract decimals
+     *
+     * @param contractAddress contract address
+     * @return BigInteger decimals
+     */
+    public CompletableFuture<BigInteger> getErc20ContractDecimalsAsync(String contractAddress) {
+        CompletableFuture<Optional<BigInteger>> decimals = cachedMetadata(TokenMetadataCache.Field.DECIMALS, contractAddress, () -> metadataCallAsync(contractAddress, Erc20Codec.DECIMALS)
+                .thenApply(ethCall -> Objects.isNull(ethCall.getValue()) || ethCall.getValue().length() <= 2 ? Optional.empty() : Optional.of(Erc20Codec.decodeUint256(ethCall.getValue()))));
+        return decimals.thenApply(value -> value.orElse(BigInteger.ZERO));
     }
 
     /**
@@ -162,10 +448,19 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param contractAddress contract address
      * @return BigInteger totalSupply
      */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
     public BigInteger getErc20ContractTotalSupply(String contractAddress) {
-        final List<Type> types = simpleReadFunction(contractAddress, Constant.TOTAL_SUPPLY, new TypeReference<Uint256>() {
-        });
-        return CollectionUtils.isEmpty(types) ? BigInteger.ZERO : new BigInteger(types.get(0).getValue().toString());
+        return getErc20ContractTotalSupplyAsync(contractAddress).get();
+    }
+
+    /**
+     * Get contract totalSupply
+     *
+     * @param contractAddress contract address
+     * @return BigInteger totalSupply
+     */
+    public CompletableFuture<BigInteger> getErc20ContractTotalSupplyAsync(String contractAddress) {
+        return callUint256Async(contractAddress, Erc20Codec.TOTAL_SUPPLY);
     }
 
 
@@ -176,10 +471,20 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param address         address
      * @return BigInteger balances
      */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
     public BigInteger getErc20ContractBalancesOf(String contractAddress, String address) {
-        final List<Type> types = simpleReadFunction(contractAddress, Constant.BALANCES_OF, Arrays.asList(new Address(address)), new TypeReference<Uint256>() {
-        });
-        return CollectionUtils.isEmpty(types) ? BigInteger.ZERO : new BigInteger(types.get(0).getValue().toString());
+        return getErc20ContractBalancesOfAsync(contractAddress, address).get();
+    }
+
+    /**
+     * get address balances
+     *
+     * @param contractAddress contract address
+     * @param address         address
+     * @return BigInteger balances
+     */
+    public CompletableFuture<BigInteger> getErc20ContractBalancesOfAsync(String contractAddress, String address) {
+        return callUint256Async(contractAddress, Erc20Codec.balanceOf(address));
     }
 
     /**
@@ -190,16 +495,132 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param contractAddress contract Address
      * @return amount
      */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
     public BigInteger allowance(String owner, String spender, String contractAddress) {
-        Function function = new Function(Constant.ALLOWANCE,
-                Arrays.<Type>asList(new Address(owner),
-                        new Address(spender)),
-                Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>() {
-                }));
-        List<Type> types = callReadFunction(function, contractAddress);
+        return allowanceAsync(owner, spender, contractAddress).get();
+    }
+
+    /**
+     * allowance
+     *
+     * @param owner           owner
+     * @param spender         approve Address
+     * @param contractAddress contract Address
+     * @return amount
+     */
+    public CompletableFuture<BigInteger> allowanceAsync(String owner, String spender, String contractAddress) {
+        return callUint256Async(contractAddress, Erc20Codec.allowance(owner, spender));
+    }
+
+    private static Optional<String> firstString(List<Type> types) {
+        return CollectionUtils.isEmpty(types) ? Optional.empty() : Optional.of(types.get(0).getValue().toString());
+    }
+
+    private static BigInteger firstInteger(List<Type> types) {
         return CollectionUtils.isEmpty(types) ? BigInteger.ZERO : new BigInteger(types.get(0).getValue().toString());
     }
 
+    /**
+     * send a read call to this endpoint, without failover
+     *
+     * @param call read call
+     * @return decoded result, a node error completes with {@link JsonRpcException}
+     */
+    public <T> CompletableFuture<T> readAsync(ReadCall<T> call) {
+        return call.createRequest(this).sendAsync().thenApply(response -> {
+            if (response.hasError()) {
+                throw new JsonRpcException(response.getError());
+            }
+            return call.decode(response);
+        });
+    }
+
+    /**
+     * send read calls as JSON-RPC batches
+     *
+     * @param calls read calls, eth_call / eth_getBalance / eth_getTransactionCount ...
+     * @return results in call order, failed calls carry their own error
+     */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
+    public <T> List<BatchResult<T>> readBatch(List<? extends ReadCall<? extends T>> calls) {
+        return readBatchAsync(calls).get();
+    }
+
+    /**
+     * send read calls as JSON-RPC batches
+     *
+     * @param calls read calls
+     * @return results in call order
+     */
+    public <T> CompletableFuture<List<BatchResult<T>>> readBatchAsync(List<? extends ReadCall<? extends T>> calls) {
+        Web3jNetworkConfig.Batch batch = config.getBatch();
+        return BatchExecutor.execute(this, calls, batch.getMaxSize(), batch.getParallelism());
+    }
+
+    /**
+     * get address balances in JSON-RPC batches
+     *
+     * @param contractAddress contract address
+     * @param addresses       addresses
+     * @return balances in address order
+     */
+    public List<BatchResult<BigInteger>> batchErc20ContractBalancesOf(String contractAddress, List<String> addresses) {
+        List<ReadCall<BigInteger>> calls = new ArrayList<>(addresses.size());
+        for (String address : addresses) {
+            calls.add(ReadCall.ethCall(contractAddress, Erc20Codec.balanceOf(address), DefaultBlockParameterName.LATEST).map(Erc20Codec::decodeUint256));
+        }
+        return readBatch(calls);
+    }
+
+    /**
+     * fold contract reads into Multicall3 aggregate3 calls at the latest block
+     *
+     * @param calls contract calls, any contracts
+     * @return results in call order, same shape as simpleReadFunction
+     */
+    public List<BatchResult<List<Type>>> multicall(List<ContractCall> calls) {
+        return multicall(calls, DefaultBlockParameterName.LATEST);
+    }
+
+    /**
+     * fold contract reads into Multicall3 aggregate3 calls
+     *
+     * @param calls contract calls, any contracts
+     * @param block block, every chunk is pinned to the same block
+     * @return results in call order, same shape as simpleReadFunction
+     */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
+    public List<BatchResult<List<Type>>> multicall(List<ContractCall> calls, DefaultBlockParameter block) {
+        return multicallAsync(calls, block).get();
+    }
+
+    /**
+     * fold contract reads into Multicall3 aggregate3 calls
+     *
+     * @param calls contract calls
+     * @param block block
+     * @return results in call order
+     */
+    public CompletableFuture<List<BatchResult<List<Type>>>> multicallAsync(List<ContractCall> calls, DefaultBlockParameter block) {
+        return new Multicall3(this, config).aggregate(calls, block);
+    }
+
+    /**
+     * get balances of one address over many tokens in Multicall3 calls
+     *
+     * @param contractAddresses contract addresses
+     * @param address           address
+     * @return balances in contract order
+     */
+    public List<BatchResult<BigInteger>> multicallErc20ContractBalancesOf(List<String> contractAddresses, String address) {
+        List<ContractCall> calls = new ArrayList<>(contractAddresses.size());
+        contractAddresses.forEach(contractAddress -> calls.add(ContractCall.balanceOf(contractAddress, address)));
+        List<BatchResult<List<Type>>> results = multicall(calls);
+        List<BatchResult<BigInteger>> balances = new ArrayList<>(results.size());
+        results.forEach(result -> balances.add(result.map(Web3jNetworkService::firstInteger)));
+        return balances;
+    }
+
     /**
      * send transaction
      *
@@ -209,9 +630,71 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      */
     @SneakyThrows({ExecutionException.class, InterruptedException.class})
     public EthSendTransaction sendTransaction(RawTransaction transaction, Credentials credentials, Long chainId) {
-        byte[] signMessage = Objects.isNull(chainId) ? TransactionEncoder.signMessage(transaction, credentials) : TransactionEncoder.signMessage(transaction, chainId, credentials);
-        String hexValue = Numeric.toHexString(signMessage);
-        return super.ethSendRawTransaction(hexValue).sendAsync().get();
+        return sendTransactionAsync(transaction, credentials, chainId).get();
+    }
+
+    /**
+     * send transaction, signing runs on the async executor; a node that already knows the signed
+     * transaction answers with its hash like a successful send
+     *
+     * @param transaction transaction
+     * @param credentials wallet
+     * @return EthSendTransaction
+     */
+    public CompletableFuture<EthSendTransaction> sendTransactionAsync(RawTransaction transaction, Credentials credentials, Long chainId) {
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] signMessage = Objects.isNull(chainId) ? TransactionEncoder.signMessage(transaction, credentials) : TransactionEncoder.signMessage(transaction, chainId, credentials);
+            return Numeric.toHexString(signMessage);
+        }, asyncExecutor).thenCompose(hexValue -> super.ethSendRawTransaction(hexValue).sendAsync()
+                .thenApply(response -> NonceManager.isAlreadyKnown(response) ? alreadyKnown(response, hexValue) : response));
+    }
+
+    /**
+     * success response of a transaction already in the pool
+     *
+     * @param response  already known error
+     * @param signedHex signed transaction
+     * @return response with the transaction hash
+     */
+    public static EthSendTransaction alreadyKnown(EthSendTransaction response, String signedHex) {
+        EthSendTransaction sent = new EthSendTransaction();
+        sent.setId(response.getId());
+        sent.setJsonrpc(response.getJsonrpc());
+        sent.setResult(Hash.sha3(signedHex));
+        return sent;
+    }
+
+    /**
+     * send transaction with a nonce of the sender's nonce manager, a nonce error syncs the manager and
+     * the transaction is sent once more; without nonce manager the pending transaction count is fetched
+     *
+     * @param credentials wallet
+     * @param chainId     chain id
+     * @param transaction transaction of a nonce
+     * @return EthSendTransaction
+     */
+    public CompletableFuture<EthSendTransaction> sendTransactionAsync(Credentials credentials, Long chainId, java.util.function.Function<BigInteger, RawTransaction> transaction) {
+        if (Objects.isNull(nonceRegistry)) {
+            return super.ethGetTransactionCount(credentials.getAddress(), DefaultBlockParameterName.PENDING).sendAsync()
+                    .thenCompose(count -> sendTransactionAsync(transaction.apply(count.getTransactionCount()), credentials, chainId));
+        }
+        return sendWithManagedNonce(nonceRegistry.get(credentials.getAddress()), credentials, chainId, transaction, true);
+    }
+
+    private CompletableFuture<EthSendTransaction> sendWithManagedNonce(NonceManager nonceManager, Credentials credentials, Long chainId,
+                                                                      java.util.function.Function<BigInteger, RawTransaction> transaction, boolean retry) {
+        return nonceManager.acquireAsync().thenCompose(lease -> {
+            RawTransaction rawTransaction;
+            try {
+                rawTransaction = transaction.apply(lease.getNonce());
+            } catch (RuntimeException e) {
+                lease.release();
+                throw e;
+            }
+            return sendTransactionAsync(rawTransaction, credentials, chainId).whenComplete(lease::complete);
+        }).thenCompose(response -> retry && NonceManager.isNonceError(response)
+                ? sendWithManagedNonce(nonceManager, credentials, chainId, transaction, false)
+                : CompletableFuture.completedFuture(response));
     }
 
     /**
@@ -221,7 +704,7 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param toAddress   to address
      * @param gasPrice    gas
      * @param gasLimit    gas limit
-     * @param nonce       nonce
+     * @param nonce       nonce, null takes the next nonce of the sender
      * @param value       amount
      * @return EthSendTransaction
      */
@@ -236,26 +719,96 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param toAddress       to address
      * @param gasPrice        gas
      * @param gasLimit        gas limit
-     * @param nonce           nonce
+     * @param nonce           nonce, null takes the next nonce of the sender
      * @param value           amount
      * @param contractAddress contract address
      * @return EthSendTransaction
      */
     @SneakyThrows(Exception.class)
     public EthSendTransaction simpleTransfer(Credentials credentials, String toAddress, BigInteger gasPrice, BigInteger gasLimit, BigInteger nonce, BigInteger value, String contractAddress, Long chainId) {
-        RawTransaction rawTransaction;
+        return simpleTransferAsync(credentials, toAddress, gasPrice, gasLimit, nonce, value, contractAddress, chainId).get();
+    }
+
+    /**
+     * send transaction
+     *
+     * @param credentials     wallet
+     * @param toAddress       to address
+     * @param gasPrice        gas
+     * @param gasLimit        gas limit
+     * @param nonce           nonce, null takes the next nonce of the sender
+     * @param value           amount
+     * @param contractAddress contract address, null for native transfer
+     * @return EthSendTransaction
+     */
+    public CompletableFuture<EthSendTransaction> simpleTransferAsync(Credentials credentials, String toAddress, BigInteger gasPrice, BigInteger gasLimit, BigInteger nonce, BigInteger value, String contractAddress, Long chainId) {
+        java.util.function.Function<BigInteger, RawTransaction> transaction;
         if (Objects.nonNull(contractAddress)) {
-            Function function = new Function(
-                    Constant.TRANSFER,
-                    Arrays.asList(new Address(toAddress), new Uint256(value)),
-                    Collections.singletonList(new TypeReference<Type>() {
-                    }));
-            String encodedFunction = FunctionEncoder.encode(function);
-            rawTransaction = RawTransaction.createTransaction(nonce, gasPrice, gasLimit, contractAddress, encodedFunction);
+            String encodedFunction = Erc20Codec.transfer(toAddress, value);
+            transaction = txNonce -> RawTransaction.createTransaction(txNonce, gasPrice, gasLimit, contractAddress, encodedFunction);
         } else {
-            rawTransaction = RawTransaction.createTransaction(nonce, gasPrice, gasLimit, toAddress, value, "");
+            transaction = txNonce -> RawTransaction.createTransaction(txNonce, gasPrice, gasLimit, toAddress, value, "");
         }
-        return sendTransaction(rawTransaction, credentials, chainId);
+        if (Objects.isNull(nonce)) {
+            return sendTransactionAsync(credentials, chainId, transaction);
+        }
+        return sendTransactionAsync(transaction.apply(nonce), credentials, chainId);
+    }
+
+    /**
+     * bulk payout as EIP-1559 transactions
+     *
+     * @param credentials wallet
+     * @param transfers   transfers
+     * @return results in transfer order
+     */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
+    public List<PayoutResult> payout(Credentials credentials, List<PayoutTransfer> transfers) {
+        return payoutAsync(credentials, transfers).get();
+    }
+
+    /**
+     * bulk payout as EIP-1559 transactions: nonces are assigned up front, signing runs in parallel on
+     * a pool sized to the cores and the raw transactions are sent as JSON-RPC batches
+     *
+     * @param credentials wallet
+     * @param transfers   transfers
+     * @return results in transfer order, a failed transfer carries its error type
+     */
+    public CompletableFuture<List<PayoutResult>> payoutAsync(Credentials credentials, List<PayoutTransfer> transfers) {
+        CompletableFuture<BigInteger[]> feesFuture = eip1559FeesAsync();
+        CompletableFuture<Long> chainIdFuture = getChainIdAsync();
+        return CompletableFuture.allOf(feesFuture, chainIdFuture).thenCompose(v -> {
+            BigInteger[] fees = feesFuture.join();
+            long chainId = chainIdFuture.join();
+            return PayoutExecutor.execute(this, credentials, chainId, transfers, (transfer, txNonce) -> Objects.isNull(transfer.getContractAddress())
+                    ? RawTransaction.createTransaction(chainId, txNonce, payoutGasLimit(transfer), transfer.getToAddress(), transfer.getValue(), "", fees[0], fees[1])
+                    : RawTransaction.createTransaction(chainId, txNonce, payoutGasLimit(transfer), transfer.getContractAddress(), BigInteger.ZERO,
+                        Erc20Codec.transfer(transfer.getToAddress(), transfer.getValue()), fees[0], fees[1]));
+        });
+    }
+
+    /**
+     * bulk payout as legacy transactions
+     *
+     * @param credentials wallet
+     * @param transfers   transfers
+     * @param gasPrice    gas price
+     * @param chainId     chain id, null signs without replay protection
+     * @return results in transfer order, a failed transfer carries its error type
+     */
+    public CompletableFuture<List<PayoutResult>> payoutAsync(Credentials credentials, List<PayoutTransfer> transfers, BigInteger gasPrice, Long chainId) {
+        return PayoutExecutor.execute(this, credentials, chainId, transfers, (transfer, txNonce) -> Objects.isNull(transfer.getContractAddress())
+                ? RawTransaction.createTransaction(txNonce, gasPrice, payoutGasLimit(transfer), transfer.getToAddress(), transfer.getValue(), "")
+                : RawTransaction.createTransaction(txNonce, gasPrice, payoutGasLimit(transfer), transfer.getContractAddress(),
+                Erc20Codec.transfer(transfer.getToAddress(), transfer.getValue())));
+    }
+
+    private static BigInteger payoutGasLimit(PayoutTransfer transfer) {
+        if (Objects.nonNull(transfer.getGasLimit())) {
+            return transfer.getGasLimit();
+        }
+        return Objects.isNull(transfer.getContractAddress()) ? Transfer.GAS_LIMIT : Constant.ERC20_TRANSFER_GAS_LIMIT;
     }
 
     /**
@@ -265,7 +818,17 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      */
     @SneakyThrows(Exception.class)
     public BigInteger getBaseFeePerGas() {
-        return super.ethGetBlockByNumber(DefaultBlockParameterName.LATEST, false).sendAsync().get().getResult().getBaseFeePerGas();
+        return getBaseFeePerGasAsync().get();
+    }
+
+    /**
+     * getBaseFeePerGas
+     *
+     * @return baseFeePerGas
+     */
+    public CompletableFuture<BigInteger> getBaseFeePerGasAsync() {
+        return super.ethGetBlockByNumber(DefaultBlockParameterName.LATEST, false).sendAsync()
+                .thenApply(ethBlock -> ethBlock.getResult().getBaseFeePerGas());
     }
 
     /**
@@ -275,9 +838,29 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      */
     @SneakyThrows(Exception.class)
     public BigInteger getMaxPriorityFeePerGas() {
-        EthTransaction ethTransaction = super.ethGetTransactionByBlockNumberAndIndex(DefaultBlockParameterName.LATEST, BigInteger.ONE).sendAsync().get();
-        org.web3j.protocol.core.methods.response.Transaction result = ethTransaction.getResult();
-        return result.getMaxPriorityFeePerGas();
+        return getMaxPriorityFeePerGasAsync().get();
+    }
+
+    /**
+     * getMaxPriorityFeePerGas
+     *
+     * @return maxPriorityFeePerGas
+     */
+    public CompletableFuture<BigInteger> getMaxPriorityFeePerGasAsync() {
+        if (Objects.nonNull(feeOracle)) {
+            return feeQuoteAsync().thenApply(FeeOracle.Quote::getMaxPriorityFeePerGas);
+        }
+        return super.ethGetTransactionByBlockNumberAndIndex(DefaultBlockParameterName.LATEST, BigInteger.ONE).sendAsync()
+                .thenCompose(ethTransaction -> {
+                    BigInteger priorityFee = ethTransaction.getTransaction().map(org.web3j.protocol.core.methods.response.Transaction::getMaxPriorityFeePerGas).orElse(null);
+                    // empty block or legacy transaction
+                    return Objects.nonNull(priorityFee) ? CompletableFuture.completedFuture(priorityFee)
+                            : super.ethMaxPriorityFeePerGas().sendAsync().thenApply(EthMaxPriorityFeePerGas::getMaxPriorityFeePerGas);
+                });
+    }
+
+    private CompletableFuture<FeeOracle.Quote> feeQuoteAsync() {
+        return feeOracle.getQuoteAsync(config.getFeeOracle().getTier());
     }
 
     /**
@@ -287,7 +870,6 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param maxPriorityFeePerGas maxPriorityFeePerGas
      * @return defaultMaxFeePerGas
      */
-    @SneakyThrows(Exception.class)
     private BigInteger getDefaultMaxFeePerGas(BigInteger baseFeePerGas, BigInteger maxPriorityFeePerGas) {
         return baseFeePerGas.add(maxPriorityFeePerGas);
     }
@@ -299,7 +881,29 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      */
     @SneakyThrows(Exception.class)
     public BigInteger getDefaultMaxFeePerGas() {
-        return getDefaultMaxFeePerGas(getBaseFeePerGas(), getMaxPriorityFeePerGas());
+        return getDefaultMaxFeePerGasAsync().get();
+    }
+
+    /**
+     * default max fee, base fee and priority fee are fetched in parallel
+     *
+     * @return defaultMaxFeePerGas
+     */
+    public CompletableFuture<BigInteger> getDefaultMaxFeePerGasAsync() {
+        return eip1559FeesAsync().thenApply(fees -> fees[1]);
+    }
+
+    /**
+     * priority fee and max fee, from memory when the fee oracle is set
+     *
+     * @return [maxPriorityFeePerGas, maxFeePerGas]
+     */
+    private CompletableFuture<BigInteger[]> eip1559FeesAsync() {
+        if (Objects.nonNull(feeOracle)) {
+            return feeQuoteAsync().thenApply(quote -> new BigInteger[]{quote.getMaxPriorityFeePerGas(), quote.getMaxFeePerGas()});
+        }
+        CompletableFuture<BigInteger> maxPriorityFeePerGas = getMaxPriorityFeePerGasAsync();
+        return getBaseFeePerGasAsync().thenCombine(maxPriorityFeePerGas, (baseFeePerGas, priorityFee) -> new BigInteger[]{priorityFee, getDefaultMaxFeePerGas(baseFeePerGas, priorityFee)});
     }
 
     /**
@@ -313,10 +917,53 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      */
     @SneakyThrows(Exception.class)
     public TransactionReceipt simpleEIP1559Transfer(Credentials credentials, String toAddress, BigDecimal value, Convert.Unit unit) {
-        BigInteger baseFeePerGas = getBaseFeePerGas();
-        BigInteger maxPriorityFeePerGas = getMaxPriorityFeePerGas();
-        BigInteger defaultMaxFeePerGas = getDefaultMaxFeePerGas(baseFeePerGas, maxPriorityFeePerGas);
-        return Transfer.sendFundsEIP1559(this, credentials, toAddress, value, unit, BigInteger.valueOf(21000), maxPriorityFeePerGas, defaultMaxFeePerGas).sendAsync().get();
+        return simpleEIP1559TransferAsync(credentials, toAddress, value, unit).get();
+    }
+
+    /**
+     * EIP-1559 transaction, completes with the receipt
+     *
+     * @param credentials wallet
+     * @param toAddress   to address
+     * @param value       amount
+     * @param unit        unit
+     * @return TransactionReceipt
+     */
+    public CompletableFuture<TransactionReceipt> simpleEIP1559TransferAsync(Credentials credentials, String toAddress, BigDecimal value, Convert.Unit unit) {
+        if (Objects.isNull(nonceRegistry) && Objects.isNull(receiptTracker)) {
+            return eip1559FeesAsync().thenCompose(fees -> sendFundsEIP1559(credentials, toAddress, value, unit, fees[0], fees[1]).sendAsync());
+        }
+        BigInteger wei = Convert.toWei(value, unit).toBigIntegerExact();
+        CompletableFuture<BigInteger[]> feesFuture = eip1559FeesAsync();
+        CompletableFuture<Long> chainIdFuture = getChainIdAsync();
+        AtomicReference<BigInteger> sentNonce = new AtomicReference<>();
+        return CompletableFuture.allOf(feesFuture, chainIdFuture).thenCompose(v -> {
+            BigInteger[] fees = feesFuture.join();
+            long chainId = chainIdFuture.join();
+            return sendTransactionAsync(credentials, chainId, txNonce -> {
+                sentNonce.set(txNonce);
+                return RawTransaction.createEtherTransaction(chainId, txNonce, Transfer.GAS_LIMIT, toAddress, wei, fees[0], fees[1]);
+            });
+        }).thenCompose(response -> waitForReceiptAsync(response, credentials.getAddress(), sentNonce.get()));
+    }
+
+    private CompletableFuture<TransactionReceipt> waitForReceiptAsync(EthSendTransaction response, String from, BigInteger nonce) {
+        if (response.hasError()) {
+            CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+            future.completeExceptionally(new JsonRpcException(response.getError()));
+            return future;
+        }
+        if (Objects.nonNull(receiptTracker)) {
+            return receiptTracker.track(response.getTransactionHash(), from, nonce);
+        }
+        PollingTransactionReceiptProcessor processor = new PollingTransactionReceiptProcessor(this,
+                TransactionManager.DEFAULT_POLLING_FREQUENCY, TransactionManager.DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH);
+        return new RemoteCall<>(() -> processor.waitForTransactionReceipt(response.getTransactionHash())).sendAsync();
+    }
+
+    @SneakyThrows(Exception.class)
+    private RemoteCall<TransactionReceipt> sendFundsEIP1559(Credentials credentials, String toAddress, BigDecimal value, Convert.Unit unit, BigInteger maxPriorityFeePerGas, BigInteger maxFeePerGas) {
+        return Transfer.sendFundsEIP1559(this, credentials, toAddress, value, unit, BigInteger.valueOf(21000), maxPriorityFeePerGas, maxFeePerGas);
     }
 
 
@@ -329,22 +976,40 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      * @param value           amount
      * @param unit            amount unit
      * @param gasLimit        gas limiy
-     * @param nonce           nonce
+     * @param nonce           nonce, null takes the next nonce of the sender
      * @return EthSendTransaction
      */
     @SneakyThrows(Exception.class)
     public EthSendTransaction simpleEIP1559Transfer(String contractAddress, Credentials credentials, String toAddress, BigDecimal value, Convert.Unit unit, BigInteger gasLimit, BigInteger nonce) {
-        Function function = new Function(
-                Constant.TRANSFER,
-                Arrays.asList(new Address(toAddress), new Uint256(Convert.toWei(value, unit).toBigInteger())),
-                Collections.singletonList(new TypeReference<Type>() {
-                }));
-        String encodedFunction = FunctionEncoder.encode(function);
-        BigInteger baseFeePerGas = getBaseFeePerGas();
-        BigInteger maxPriorityFeePerGas = getMaxPriorityFeePerGas();
-        BigInteger defaultMaxFeePerGas = getDefaultMaxFeePerGas(baseFeePerGas, maxPriorityFeePerGas);
-        RawTransaction rawTransaction = RawTransaction.createTransaction(getChainId(), nonce, gasLimit, contractAddress, BigInteger.ZERO, encodedFunction, maxPriorityFeePerGas, defaultMaxFeePerGas);
-        return sendTransaction(rawTransaction, credentials, getChainId());
+        return simpleEIP1559TransferAsync(contractAddress, credentials, toAddress, value, unit, gasLimit, nonce).get();
+    }
+
+    /**
+     * simple EIP1559 transfer, fees and chain id are fetched in parallel, fees come from memory when the fee oracle is set
+     *
+     * @param contractAddress contractAddress
+     * @param credentials     wallet
+     * @param toAddress       to address
+     * @param value           amount
+     * @param unit            amount unit
+     * @param gasLimit        gas limit
+     * @param nonce           nonce, null takes the next nonce of the sender
+     * @return EthSendTransaction
+     */
+    public CompletableFuture<EthSendTransaction> simpleEIP1559TransferAsync(String contractAddress, Credentials credentials, String toAddress, BigDecimal value, Convert.Unit unit, BigInteger gasLimit, BigInteger nonce) {
+        String encodedFunction = Erc20Codec.transfer(toAddress, Convert.toWei(value, unit).toBigInteger());
+        CompletableFuture<BigInteger[]> feesFuture = eip1559FeesAsync();
+        CompletableFuture<Long> chainIdFuture = getChainIdAsync();
+        return CompletableFuture.allOf(feesFuture, chainIdFuture).thenCompose(v -> {
+            BigInteger[] fees = feesFuture.join();
+            long chainId = chainIdFuture.join();
+            java.util.function.Function<BigInteger, RawTransaction> transaction = txNonce -> RawTransaction.createTransaction(chainId, txNonce, gasLimit,
+                    contractAddress, BigInteger.ZERO, encodedFunction, fees[0], fees[1]);
+            if (Objects.isNull(nonce)) {
+                return sendTransactionAsync(credentials, chainId, transaction);
+            }
+            return sendTransactionAsync(transaction.apply(nonce), credentials, chainId);
+        });
     }
 
 
@@ -355,11 +1020,133 @@ public class Web3jNetworkService extends JsonRpc2_0Web3j {
      */
     @SneakyThrows({ExecutionException.class, InterruptedException.class})
     public Optional<String> getContractBinary(String contractAddress) {
-        EthGetCode ethGetCode = ethGetCode(contractAddress, DefaultBlockParameterName.LATEST).sendAsync().get();
-        if(Objects.nonNull(ethGetCode) && Objects.nonNull(ethGetCode.getCode())){
-            return Optional.of(ethGetCode.getCode());
+        return getContractBinaryAsync(contractAddress).get();
+    }
+
+    /**
+     *  get contract binary
+     * @param contractAddress  contract Address
+     * @return contract binary
+     */
+    public CompletableFuture<Optional<String>> getContractBinaryAsync(String contractAddress) {
+        return cachedMetadata(TokenMetadataCache.Field.BINARY, contractAddress, () -> ethGetCode(contractAddress, DefaultBlockParameterName.LATEST).sendAsync().thenApply(ethGetCode -> {
+            if(Objects.nonNull(ethGetCode) && Objects.nonNull(ethGetCode.getCode())){
+                return Optional.of(ethGetCode.getCode());
+            }
+            return Optional.empty();
+        }));
+    }
+
+    private <T> CompletableFuture<Optional<T>> cachedMetadata(TokenMetadataCache.Field field, String contractAddress, Supplier<CompletableFuture<Optional<T>>> loader) {
+        return Objects.isNull(metadataCache) ? loader.get() : metadataCache.get(field, contractAddress, loader);
+    }
+
+    /**
+     * full transaction block, transactions are parsed from the response stream and handed over one at a time
+     *
+     * @param blockNumber block number
+     * @param consumer    transaction consumer
+     * @return block without transactions, null when the block does not exist
+     */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
+    public EthBlock.Block streamBlockTransactions(BigInteger blockNumber, Consumer<org.web3j.protocol.core.methods.response.Transaction> consumer) {
+        return streamBlockTransactionsAsync(blockNumber, consumer).get();
+    }
+
+    /**
+     * full transaction block, transactions are parsed from the response stream and handed over one at a time
+     *
+     * @param blockNumber block number
+     * @param consumer    transaction consumer, called on the http thread
+     * @return block without transactions, null when the block does not exist
+     */
+    public CompletableFuture<EthBlock.Block> streamBlockTransactionsAsync(BigInteger blockNumber, Consumer<org.web3j.protocol.core.methods.response.Transaction> consumer) {
+        return stream(Constant.ETH_GET_BLOCK_BY_NUMBER, Arrays.asList(DefaultBlockParameter.valueOf(blockNumber).getValue(), true), Constant.TRANSACTIONS,
+                org.web3j.protocol.core.methods.response.Transaction.class, consumer).thenApply(result -> {
+            if (Objects.isNull(result.getResult()) || result.getResult().isNull()) {
+                return null;
+            }
+            EthBlock.Block block = OBJECT_MAPPER.convertValue(result.getResult(), EthBlock.Block.class);
+            block.setTransactions(Collections.emptyList());
+            return block;
+        });
+    }
+
+    /**
+     * receipts of a block with eth_getBlockReceipts, parsed from the response stream one at a time
+     *
+     * @param blockNumber block number
+     * @param consumer    receipt consumer
+     * @return receipts handed over
+     */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
+    public long streamBlockReceipts(BigInteger blockNumber, Consumer<TransactionReceipt> consumer) {
+        return streamBlockReceiptsAsync(blockNumber, consumer).get();
+    }
+
+    public CompletableFuture<Long> streamBlockReceiptsAsync(BigInteger blockNumber, Consumer<TransactionReceipt> consumer) {
+        return stream(Constant.ETH_GET_BLOCK_RECEIPTS, Collections.singletonList(DefaultBlockParameter.valueOf(blockNumber).getValue()), null,
+                TransactionReceipt.class, consumer).thenApply(StreamingJsonRpc.StreamResult::getCount);
+    }
+
+    /**
+     * eth_getLogs parsed from the response stream one log at a time
+     *
+     * @param filter   filter
+     * @param consumer log consumer
+     * @return logs handed over
+     */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
+    public long streamLogs(EthFilter filter, Consumer<Log> consumer) {
+        return streamLogsAsync(filter, consumer).get();
+    }
+
+    public CompletableFuture<Long> streamLogsAsync(EthFilter filter, Consumer<Log> consumer) {
+        return stream(Constant.ETH_GET_LOGS, Collections.singletonList(filter), null, Log.class, consumer).thenApply(StreamingJsonRpc.StreamResult::getCount);
+    }
+
+    /**
+     * whether the endpoint pushes eth_subscribe notifications, true for ws:// and wss:// endpoints
+     *
+     * @return subscriptions supported
+     */
+    public boolean isSubscriptionSupported() {
+        return Web3jMetrics.unwrap(trackingService.getDelegate()) instanceof ReconnectingWebSocketService;
+    }
+
+    /**
+     * heads pushed by eth_subscribe newHeads, subscribed again after a reconnect
+     *
+     * @return new heads, emitted on the socket thread
+     */
+    public Flowable<NewHead> subscribeNewHeads() {
+        if (!isSubscriptionSupported()) {
+            return Flowable.error(new UnsupportedOperationException("Subscriptions need a ws endpoint: " + endpoint));
+        }
+        return newHeadsNotifications().map(notification -> notification.getParams().getResult());
+    }
+
+    /**
+     * logs pushed by eth_subscribe logs, subscribed again after a reconnect
+     *
+     * @param addresses contract addresses, empty matches any
+     * @param topics    topics by position
+     * @return logs, emitted on the socket thread, removed logs of a reorg have removed set
+     */
+    public Flowable<org.web3j.protocol.websocket.events.Log> subscribeLogs(List<String> addresses, List<String> topics) {
+        if (!isSubscriptionSupported()) {
+            return Flowable.error(new UnsupportedOperationException("Subscriptions need a ws endpoint: " + endpoint));
+        }
+        return logsNotifications(addresses, topics).map(notification -> notification.getParams().getResult());
+    }
+
+    private <T> CompletableFuture<StreamingJsonRpc.StreamResult> stream(String method, List<?> params, String arrayField, Class<T> elementType, Consumer<? super T> consumer) {
+        if (Objects.isNull(streamingJsonRpc)) {
+            CompletableFuture<StreamingJsonRpc.StreamResult> future = new CompletableFuture<>();
+            future.completeExceptionally(new UnsupportedOperationException("Streaming needs a http endpoint: " + endpoint));
+            return future;
         }
-        return Optional.empty();
+        return trackingService.track(() -> streamingJsonRpc.stream(method, params, arrayField, elementType, consumer));
     }
 
 }
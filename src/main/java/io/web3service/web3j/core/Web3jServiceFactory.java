@@ -1,7 +1,10 @@
 package io.web3service.web3j.core;
 
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.logging.HttpLoggingInterceptor;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -10,9 +13,17 @@ import org.web3j.protocol.http.HttpService;
 import org.web3j.protocol.ipc.UnixIpcService;
 import org.web3j.protocol.ipc.WindowsIpcService;
 
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author github.com/x-saofen
@@ -24,11 +35,30 @@ public class Web3jServiceFactory {
     private static class Constant{
         public static final String EMPTY = "";
         public static final String HTTP = "http";
+        public static final String WS = "ws";
         public static final String OS_NAME = "os.name";
 
         public static final String WIN = "win";
+        public static final String ACCEPT_ENCODING = "Accept-Encoding";
+        public static final String IDENTITY = "identity";
+        public static final long DEFAULT_TIMEOUT_SECONDS = 10L;
     }
 
+    /**
+     * threads of every network dispatcher, idle threads are released after 60 seconds
+     */
+    private static final ExecutorService DISPATCHER_EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new ThreadFactory() {
+                private final AtomicInteger index = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "web3j-http-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
     /**
      *  build Web3jService
      * @param list      clientAddress
@@ -36,11 +66,44 @@ public class Web3jServiceFactory {
      * @return  Web3jNetworkService list
      */
     public static List<Web3jNetworkService> buildServiceList(List<String> list, Long timeout){
+        return buildServiceList(list, timeout, new Web3jNetworkConfig(), Constant.EMPTY);
+    }
+
+    /**
+     *  build Web3jService
+     * @param list      clientAddress
+     * @param timeout   http timeout
+     * @param config    network options
+     * @param network   network name
+     * @return  Web3jNetworkService list
+     */
+    public static List<Web3jNetworkService> buildServiceList(List<String> list, Long timeout, Web3jNetworkConfig config, String network){
+        return buildServiceList(list, timeout, config, network, null);
+    }
+
+    /**
+     *  build Web3jService
+     * @param list      clientAddress
+     * @param timeout   http timeout
+     * @param config    network options
+     * @param network   network name
+     * @param metrics   instrumentation, null for none
+     * @return  Web3jNetworkService list
+     */
+    public static List<Web3jNetworkService> buildServiceList(List<String> list, Long timeout, Web3jNetworkConfig config, String network, Web3jMetrics metrics){
         Assert.isTrue(!CollectionUtils.isEmpty(list), "Web3j client address must not be null");
         List<Web3jNetworkService> result = new ArrayList<>(list.size());
+        Web3jNetworkConfig networkConfig = Objects.isNull(config) ? new Web3jNetworkConfig() : config;
+        OkHttpClient okHttpClient = createOkHttpClient(timeout, networkConfig.getHttp());
+        OkHttpClient httpClient = Objects.isNull(metrics) ? okHttpClient : metrics.decorate(network, okHttpClient);
         list.forEach( clientAddress -> {
             try {
-                result.add(new Web3jNetworkService(buildService(clientAddress, timeout), timeout));
+                String endpoint = endpointName(clientAddress);
+                Web3jService web3jService = buildService(clientAddress, httpClient, networkConfig.getWebSocket(), timeout);
+                if (Objects.nonNull(metrics)) {
+                    web3jService = metrics.decorate(network, endpoint, web3jService);
+                }
+                result.add(new Web3jNetworkService(web3jService, timeout, config, network, endpoint));
             } catch (Exception e) {
                 log.error("Web3j chain ID query err.", e);
             }
@@ -48,6 +111,42 @@ public class Web3jServiceFactory {
         return result;
     }
 
+    /**
+     * endpoint label for logs, the url path and query often carry api keys and are dropped
+     * @param clientAddress network address
+     * @return  scheme://host[:port] or the ipc path
+     */
+    public static String endpointName(String clientAddress){
+        if (clientAddress == null || clientAddress.equals(Constant.EMPTY)) {
+            return HttpService.DEFAULT_URL;
+        }
+        try {
+            URI uri = URI.create(clientAddress);
+            if (Objects.nonNull(uri.getScheme()) && Objects.nonNull(uri.getHost())) {
+                return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() > 0 ? ":" + uri.getPort() : Constant.EMPTY);
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Not a uri endpoint: {}", clientAddress);
+        }
+        return clientAddress;
+    }
+
+    /**
+     * endpoint label of a service
+     * @param web3jService service
+     * @return  endpoint label
+     */
+    public static String endpointName(Web3jService service){
+        Web3jService web3jService = Web3jMetrics.unwrap(service);
+        if (web3jService instanceof HttpService) {
+            return endpointName(((HttpService) web3jService).getUrl());
+        }
+        if (web3jService instanceof ReconnectingWebSocketService) {
+            return endpointName(((ReconnectingWebSocketService) web3jService).getUrl());
+        }
+        return web3jService.getClass().getSimpleName();
+    }
+
     /**
      * copy www.web3labs.com
      * @param clientAddress network address
@@ -56,11 +155,36 @@ public class Web3jServiceFactory {
      * @return  Web3jService
      */
     public static Web3jService buildService(String clientAddress, Long timeout){
+        return buildService(clientAddress, createOkHttpClient(timeout, new Web3jNetworkConfig.Http()));
+    }
+
+    /**
+     * build Web3jService on a shared client, http endpoints send async requests through the client dispatcher
+     * @param clientAddress network address
+     * @param httpClient    client of the network
+     * @return  Web3jService
+     */
+    public static Web3jService buildService(String clientAddress, OkHttpClient httpClient){
+        return buildService(clientAddress, httpClient, new Web3jNetworkConfig.WebSocket(), null);
+    }
+
+    /**
+     * build Web3jService on a shared client, ws endpoints multiplex every request over one reconnecting socket
+     * @param clientAddress network address
+     * @param httpClient    client of the network
+     * @param webSocket     websocket options
+     * @param timeout       request timeout seconds of ws endpoints
+     * @return  Web3jService
+     */
+    public static Web3jService buildService(String clientAddress, OkHttpClient httpClient, Web3jNetworkConfig.WebSocket webSocket, Long timeout){
         Web3jService web3jService;
         if (clientAddress == null || clientAddress.equals(Constant.EMPTY)) {
-            web3jService = new HttpService(createOkHttpClient(timeout));
+            web3jService = new AsyncHttpService(HttpService.DEFAULT_URL, httpClient);
         } else if (clientAddress.startsWith(Constant.HTTP)) {
-            web3jService = new HttpService(clientAddress, createOkHttpClient(timeout), false);
+            web3jService = new AsyncHttpService(clientAddress, httpClient);
+        } else if (clientAddress.startsWith(Constant.WS)) {
+            long timeoutMillis = TimeUnit.SECONDS.toMillis(Objects.nonNull(timeout) && timeout > 0L ? timeout : Constant.DEFAULT_TIMEOUT_SECONDS);
+            web3jService = new ReconnectingWebSocketService(clientAddress, httpClient, webSocket, timeoutMillis);
         } else if (System.getProperty(Constant.OS_NAME).toLowerCase().startsWith(Constant.WIN)) {
             web3jService = new WindowsIpcService(clientAddress);
         } else {
@@ -70,12 +194,26 @@ public class Web3jServiceFactory {
     }
 
     /**
-     * copy www.web3labs.com
-     * @see <a href="https://github.com/web3j/web3j-spring-boot-starter/blob/master/src/main/java/org/web3j/spring/autoconfigure/Web3jAutoConfiguration.java">Source code address</a>
+     * client shared by the endpoints of a network: one dispatcher and connection pool per network,
+     * dispatcher threads shared by every network
+     * @param timeout   timeout
+     * @param http      http options of the network
      * @return  OkHttpClient
      */
-    private static OkHttpClient createOkHttpClient(Long timeout) {
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+    public static OkHttpClient createOkHttpClient(Long timeout, Web3jNetworkConfig.Http http) {
+        Dispatcher dispatcher = new Dispatcher(DISPATCHER_EXECUTOR);
+        dispatcher.setMaxRequests(http.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(http.getMaxRequestsPerHost());
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(http.getMaxIdleConnections(), http.getKeepAliveMillis(), TimeUnit.MILLISECONDS));
+        if (!Boolean.TRUE.equals(http.getHttp2())) {
+            builder.protocols(Collections.singletonList(Protocol.HTTP_1_1));
+        }
+        if (!Boolean.TRUE.equals(http.getGzip())) {
+            // OkHttp asks for gzip and inflates transparently unless Accept-Encoding is already set
+            builder.addInterceptor(chain -> chain.proceed(chain.request().newBuilder().header(Constant.ACCEPT_ENCODING, Constant.IDENTITY).build()));
+        }
         configureLogging(builder);
         configureTimeouts(builder, timeout);
         return builder.build();
@@ -1,15 +1,40 @@
 package io.web3service.web3j.core;
 
+import io.web3service.web3j.balancer.LoadBalancer;
+import io.web3service.web3j.balancer.LoadBalancers;
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.block.BlockFollower;
+import io.web3service.web3j.block.BlockListener;
+import io.web3service.web3j.cache.TokenMetadataCache;
+import io.web3service.web3j.contract.ContractFactory;
+import io.web3service.web3j.fee.FeeOracle;
+import io.web3service.web3j.hedge.HedgingExecutor;
+import io.web3service.web3j.logs.CheckpointStore;
+import io.web3service.web3j.logs.LogScanner;
+import io.web3service.web3j.nonce.NonceManager;
+import io.web3service.web3j.nonce.NonceRegistry;
+import io.web3service.web3j.receipt.ReceiptTracker;
+import lombok.AllArgsConstructor;
+import io.web3service.web3j.health.EndpointHealth;
 import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * @author github.com/x-saofen
  */
-public class Web3jServiceTemplate {
+@Slf4j
+public class Web3jServiceTemplate implements AutoCloseable {
 
     private Web3jServiceTemplate(){}
 
@@ -22,24 +47,49 @@ public class Web3jServiceTemplate {
         private final Web3jServiceTemplate web3jServiceTemplate = new Web3jServiceTemplate();
 
         public Build buildServiceList(List<Web3jNetworkService> web3jService, String network){
-            web3jServiceTemplate.appendWeb3jServiceList(web3jService, network);
+            web3jServiceTemplate.appendWeb3jServiceList(web3jService, network, null);
             return this;
         }
+
+        public Build buildServiceList(List<Web3jNetworkService> web3jService, String network, LoadBalancer loadBalancer){
+            web3jServiceTemplate.appendWeb3jServiceList(web3jService, network, loadBalancer);
+            return this;
+        }
+
+        /**
+         * resource closed together with the template, health monitors, schedulers ...
+         */
+        public Build addCloseable(AutoCloseable closeable){
+            web3jServiceTemplate.closeables.add(closeable);
+            return this;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class NetworkEndpoints {
+        private final Web3jNetworkService[] services;
+        private final LoadBalancer loadBalancer;
+        private final HedgingExecutor hedgingExecutor;
     }
 
     private final Map<String, List<Web3jNetworkService>> networkConnectors = new ConcurrentHashMap<>();
-    private final Map<String, AtomicInteger> atomicLongMap = new HashMap<>();
-    private final Map<String, Integer> serviceSizeMap = new HashMap<>();
+    private final Map<String, NetworkEndpoints> networkEndpoints = new ConcurrentHashMap<>();
+    private final List<AutoCloseable> closeables = new CopyOnWriteArrayList<>();
 
-    private synchronized void appendWeb3jServiceList(List<Web3jNetworkService> web3jService, String network) {
+    private synchronized void appendWeb3jServiceList(List<Web3jNetworkService> web3jService, String network, LoadBalancer loadBalancer) {
         List<Web3jNetworkService> networkServices = networkConnectors.get(network);
         if(Objects.isNull(networkServices)) {
             networkServices = new ArrayList<>(web3jService.size());
         }
         networkServices.addAll(web3jService);
         networkConnectors.put(network, networkServices);
-        atomicLongMap.put(network, new AtomicInteger(0));
-        serviceSizeMap.put(network, web3jService.size());
+        NetworkEndpoints current = networkEndpoints.get(network);
+        Web3jNetworkConfig config = networkServices.isEmpty() ? new Web3jNetworkConfig() : networkServices.get(0).getConfig();
+        if (Objects.isNull(loadBalancer)) {
+            loadBalancer = Objects.nonNull(current) ? current.loadBalancer : LoadBalancers.create(config.getLoadBalancer());
+        }
+        HedgingExecutor hedgingExecutor = Objects.nonNull(current) ? current.hedgingExecutor : new HedgingExecutor(config.getHedge());
+        networkEndpoints.put(network, new NetworkEndpoints(networkServices.toArray(new Web3jNetworkService[0]), loadBalancer, hedgingExecutor));
     }
 
     public List<Web3jNetworkService> getNetworkTemplate(String network){
@@ -47,33 +97,169 @@ public class Web3jServiceTemplate {
     }
 
     public Web3jNetworkService getRandomTemplate(String network){
-        int defaultIndex = 0;
-        if(!networkInstanceIsOne(network)) {
-            defaultIndex = new Random().nextInt(serviceSizeMap.get(network));
-        }
-        return networkConnectors.get(network).get(defaultIndex);
+        Web3jNetworkService[] services = getEndpoints(network).services;
+        return services.length == 1 ? services[0] : LoadBalancers.firstAvailable(services, ThreadLocalRandom.current().nextInt(services.length));
     }
 
     public Web3jNetworkService getNextTemplate(String network){
-        return networkConnectors.get(network).get(getServiceIndex(network));
+        NetworkEndpoints endpoints = getEndpoints(network);
+        return endpoints.loadBalancer.select(endpoints.services);
+    }
+
+    /**
+     * send a call with failover, idempotent methods are hedged when hedge.enabled is set
+     * @param network network
+     * @param call    call
+     * @return decoded result
+     */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
+    public <T> T call(String network, ReadCall<T> call){
+        return callAsync(network, call).get();
+    }
+
+    /**
+     * send a call with failover, idempotent methods are hedged when hedge.enabled is set
+     * @param network network
+     * @param call    call
+     * @return decoded result, a node error completes with {@link JsonRpcException}
+     */
+    public <T> CompletableFuture<T> callAsync(String network, ReadCall<T> call){
+        NetworkEndpoints endpoints = getEndpoints(network);
+        return endpoints.hedgingExecutor.execute(endpoints.services, endpoints.loadBalancer, call);
+    }
+
+    /**
+     * send a request with failover and hedging
+     * @param network        network
+     * @param requestFactory request of a endpoint, example=> web3j -> web3j.ethGetBlockByNumber(LATEST, false)
+     * @return response
+     */
+    public <R extends Response<?>> CompletableFuture<R> sendAsync(String network, java.util.function.Function<Web3j, Request<?, R>> requestFactory){
+        return callAsync(network, ReadCall.of(requestFactory, response -> response));
+    }
+
+    /**
+     * endpoint for eth_subscribe, an available ws endpoint first
+     * @param network network
+     * @return ws endpoint
+     */
+    public Web3jNetworkService getSubscriptionTemplate(String network){
+        Web3jNetworkService fallback = null;
+        for (Web3jNetworkService service : getEndpoints(network).services) {
+            if (service.isSubscriptionSupported()) {
+                if (service.isAvailable()) {
+                    return service;
+                }
+                fallback = Objects.isNull(fallback) ? service : fallback;
+            }
+        }
+        if (Objects.isNull(fallback)) {
+            throw new IllegalArgumentException("No ws endpoint for network " + network);
+        }
+        return fallback;
+    }
+
+    /**
+     * health of every endpoint of a network
+     * @param network network
+     * @return EndpointHealth list
+     */
+    public List<EndpointHealth> getEndpointHealth(String network){
+        Web3jNetworkService[] services = getEndpoints(network).services;
+        List<EndpointHealth> result = new ArrayList<>(services.length);
+        for (Web3jNetworkService service : services) {
+            result.add(service.getEndpointHealth());
+        }
+        return result;
+    }
+
+    /**
+     * token metadata cache of a network
+     * @param network network
+     * @return cache, null when metadata-cache.enabled is not set
+     */
+    public TokenMetadataCache getTokenMetadataCache(String network){
+        return getEndpoints(network).services[0].getMetadataCache();
+    }
+
+    /**
+     * fee oracle of a network
+     * @param network network
+     * @return oracle, null when fee-oracle.enabled is not set
+     */
+    public FeeOracle getFeeOracle(String network){
+        return getEndpoints(network).services[0].getFeeOracle();
+    }
+
+    /**
+     * contract wrapper factory of a network
+     * @param network network
+     * @return factory
+     */
+    public ContractFactory getContractFactory(String network){
+        return getEndpoints(network).services[0].getContractFactory();
+    }
+
+    /**
+     * receipt tracker of a network
+     * @param network network
+     * @return tracker, null when receipt.enabled is not set
+     */
+    public ReceiptTracker getReceiptTracker(String network){
+        return getEndpoints(network).services[0].getReceiptTracker();
+    }
+
+    /**
+     * nonce manager of a sender
+     * @param network network
+     * @param address sender address
+     * @return manager, null when nonce.enabled is not set
+     */
+    public NonceManager getNonceManager(String network, String address){
+        NonceRegistry registry = getEndpoints(network).services[0].getNonceRegistry();
+        return Objects.isNull(registry) ? null : registry.get(address);
+    }
+
+    /**
+     * parallel eth_getLogs backfill over the endpoints of a network
+     * @param network         network
+     * @param checkpointStore progress store, null keeps progress in memory
+     * @return LogScanner
+     */
+    public LogScanner getLogScanner(String network, CheckpointStore checkpointStore){
+        return new LogScanner(this, network, getEndpoints(network).services[0].getConfig().getLogScan(), checkpointStore);
+    }
+
+    /**
+     * head follower with read-ahead and reorg rollbacks, started with {@link BlockFollower#start}
+     * @param network         network
+     * @param followerId      checkpoint id
+     * @param checkpointStore cursor store, null keeps the cursor in memory
+     * @param listener        consumer of blocks and rollbacks
+     * @return BlockFollower
+     */
+    public BlockFollower getBlockFollower(String network, String followerId, CheckpointStore checkpointStore, BlockListener listener){
+        return new BlockFollower(this, network, followerId, getEndpoints(network).services[0].getConfig().getFollow(), checkpointStore, listener);
+    }
+
+    @Override
+    public void close() {
+        for (int i = closeables.size() - 1; i >= 0; i--) {
+            try {
+                closeables.get(i).close();
+            } catch (Exception e) {
+                log.warn("Close {} failed: {}", closeables.get(i), e.getMessage());
+            }
+        }
+        closeables.clear();
     }
 
-    private Integer getServiceIndex(String network){
-        if(networkInstanceIsOne(network)){
-            return 0;
+    private NetworkEndpoints getEndpoints(String network){
+        NetworkEndpoints endpoints = networkEndpoints.get(network);
+        if (Objects.isNull(endpoints) || endpoints.services.length == 0) {
+            throw new IllegalArgumentException("No web3j service for network " + network);
         }
-        AtomicInteger atomicInteger = atomicLongMap.get(network);
-        int current;
-        int next;
-        do {
-            current = atomicInteger.get();
-            next = current >= 2147483647?0:current + 1;
-        } while(!atomicInteger.compareAndSet(current, next));
-        return serviceSizeMap.get(network) % next;
-    }
-
-    private boolean networkInstanceIsOne(String network){
-        return serviceSizeMap.get(network) == 0;
+        return endpoints;
     }
 
 }
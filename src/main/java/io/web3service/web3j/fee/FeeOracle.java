@@ -0,0 +1,289 @@
+package io.web3service.web3j.fee;
+
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.JsonRpcException;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthFeeHistory;
+
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * EIP-1559 fee quotes of a network from eth_feeHistory, refreshed at most once per block.
+ * Priority fee rewards at the slow / normal / fast percentiles of the last follow blocks are kept
+ * in a rolling window, a new head only fetches the blocks it has not seen, and quotes are served
+ * from memory. A quote older than max-age-millis is served as is while a refresh runs behind it.
+ * Heads come from the health monitor or a newHeads subscription, without them the oracle polls the head itself.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class FeeOracle implements Closeable {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "web3j-fee-oracle");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public enum Tier {
+        SLOW, NORMAL, FAST
+    }
+
+    /**
+     * fee quote of a tier
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Quote {
+        private final Tier tier;
+        /**
+         * newest block of the window
+         */
+        private final long blockNumber;
+        /**
+         * base fee of the next block
+         */
+        private final BigInteger baseFeePerGas;
+        private final BigInteger maxPriorityFeePerGas;
+        /**
+         * next base fee times base-fee-multiplier plus the priority fee
+         */
+        private final BigInteger maxFeePerGas;
+        private final long updatedAt;
+    }
+
+    @Getter
+    private final String network;
+
+    private final Web3jServiceTemplate template;
+
+    private final Web3jNetworkConfig.FeeOracle options;
+
+    private final List<Double> percentiles;
+
+    /**
+     * rewards per tier by block number
+     */
+    private final TreeMap<Long, BigInteger[]> rewards = new TreeMap<>();
+
+    private volatile Quote[] quotes;
+
+    /**
+     * newest block fetched, -1 before the first refresh
+     */
+    private volatile long newestBlock = -1L;
+
+    private volatile long knownHead = -1L;
+
+    private final AtomicReference<CompletableFuture<Quote[]>> refreshing = new AtomicReference<>();
+
+    private final ScheduledFuture<?> timer;
+
+    private volatile long lastPushAt;
+
+    private boolean headRefreshing;
+
+    public FeeOracle(Web3jServiceTemplate template, String network, Web3jNetworkConfig.FeeOracle options) {
+        this.template = template;
+        this.network = network;
+        this.options = Objects.isNull(options) ? new Web3jNetworkConfig.FeeOracle() : options;
+        this.percentiles = Collections.unmodifiableList(Arrays.asList(this.options.getSlowPercentile(),
+                this.options.getNormalPercentile(), this.options.getFastPercentile()));
+        long pollMillis = Math.max(1L, this.options.getPollMillis());
+        this.timer = SCHEDULER.scheduleWithFixedDelay(this::tick, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * quote of a tier, fetched only before the first refresh
+     * @param tier tier
+     * @return quote
+     */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
+    public Quote getQuote(Tier tier) {
+        return getQuoteAsync(tier).get();
+    }
+
+    /**
+     * quote of a tier, completed from memory once the oracle holds a quote
+     * @param tier tier
+     * @return quote
+     */
+    public CompletableFuture<Quote> getQuoteAsync(Tier tier) {
+        Quote[] current = quotes;
+        if (Objects.isNull(current)) {
+            return refresh().thenApply(loaded -> loaded[tier.ordinal()]);
+        }
+        if (System.currentTimeMillis() - current[0].getUpdatedAt() > options.getMaxAgeMillis()) {
+            refresh();
+        }
+        return CompletableFuture.completedFuture(current[tier.ordinal()]);
+    }
+
+    /**
+     * new head of the network, a head above the window starts a refresh
+     * @param number block number
+     */
+    public void onNewHead(long number) {
+        lastPushAt = System.currentTimeMillis();
+        onHead(number);
+    }
+
+    @Override
+    public void close() {
+        timer.cancel(false);
+    }
+
+    private void onHead(long number) {
+        if (number > knownHead) {
+            knownHead = number;
+        }
+        if (number > newestBlock) {
+            refresh();
+        }
+    }
+
+    /**
+     * fetch the blocks after the window, requests while a refresh runs share it
+     * @return quotes by tier
+     */
+    public CompletableFuture<Quote[]> refresh() {
+        CompletableFuture<Quote[]> running = refreshing.get();
+        if (Objects.nonNull(running)) {
+            return running;
+        }
+        CompletableFuture<Quote[]> future = new CompletableFuture<>();
+        if (!refreshing.compareAndSet(null, future)) {
+            running = refreshing.get();
+            return Objects.nonNull(running) ? running : refresh();
+        }
+        int window = Math.max(1, options.getBlocks());
+        long missing = newestBlock < 0 || knownHead < 0 ? window : Math.min(window, Math.max(1L, knownHead - newestBlock));
+        CompletableFuture<EthFeeHistory> response;
+        try {
+            response = template.sendAsync(network, web3j -> web3j.ethFeeHistory((int) missing, DefaultBlockParameterName.LATEST, percentiles));
+        } catch (RuntimeException e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        response.whenComplete((history, ex) -> {
+            refreshing.compareAndSet(future, null);
+            if (Objects.isNull(ex) && history.hasError()) {
+                ex = new JsonRpcException(history.getError());
+            }
+            if (Objects.nonNull(ex)) {
+                log.debug("Fee history of network {} failed: {}", network, ex.getMessage());
+                future.completeExceptionally(ex);
+                return;
+            }
+            try {
+                future.complete(update(history.getFeeHistory()));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * the head when none is pushed
+     */
+    private void tick() {
+        try {
+            if (System.currentTimeMillis() - lastPushAt < options.getPollMillis()) {
+                return;
+            }
+            synchronized (this) {
+                if (headRefreshing) {
+                    return;
+                }
+                headRefreshing = true;
+            }
+            template.callAsync(network, ReadCall.ethBlockNumber()).whenComplete((number, ex) -> {
+                synchronized (this) {
+                    headRefreshing = false;
+                }
+                if (Objects.isNull(ex)) {
+                    onHead(number.longValue());
+                } else {
+                    log.debug("Fee oracle of network {} head refresh failed: {}", network, ex.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                headRefreshing = false;
+            }
+            log.warn("Fee oracle of network {} tick failed: {}", network, e.getMessage());
+        }
+    }
+
+    private synchronized Quote[] update(EthFeeHistory.FeeHistory history) {
+        long oldest = history.getOldestBlock().longValueExact();
+        List<List<BigInteger>> reward = Objects.isNull(history.getReward()) ? Collections.emptyList() : history.getReward();
+        for (int i = 0; i < reward.size(); i++) {
+            List<BigInteger> values = reward.get(i);
+            if (Objects.nonNull(values) && values.size() >= percentiles.size()) {
+                rewards.put(oldest + i, values.toArray(new BigInteger[0]));
+            }
+        }
+        List<BigInteger> baseFees = history.getBaseFeePerGas();
+        long newest = oldest + Math.max(0, baseFees.size() - 2);
+        if (newest < newestBlock && Objects.nonNull(quotes)) {
+            // answered by an endpoint behind the window
+            return quotes;
+        }
+        newestBlock = newest;
+        while (!rewards.isEmpty() && rewards.firstKey() <= newest - Math.max(1, options.getBlocks())) {
+            rewards.pollFirstEntry();
+        }
+        BigInteger nextBaseFee = baseFees.get(baseFees.size() - 1);
+        BigInteger maxBaseFee = new BigDecimal(nextBaseFee).multiply(BigDecimal.valueOf(options.getBaseFeeMultiplier())).toBigInteger();
+        long now = System.currentTimeMillis();
+        Tier[] tiers = Tier.values();
+        Quote[] updated = new Quote[tiers.length];
+        for (Tier tier : tiers) {
+            BigInteger priorityFee = median(tier.ordinal()).max(BigInteger.valueOf(options.getMinPriorityFeeWei()));
+            updated[tier.ordinal()] = new Quote(tier, newest, nextBaseFee, priorityFee, maxBaseFee.add(priorityFee), now);
+        }
+        quotes = updated;
+        return updated;
+    }
+
+    /**
+     * median reward of a tier over the window, empty blocks pay no reward and are skipped
+     */
+    private BigInteger median(int tier) {
+        List<BigInteger> values = new ArrayList<>(rewards.size());
+        for (Map.Entry<Long, BigInteger[]> entry : rewards.entrySet()) {
+            BigInteger value = entry.getValue()[tier];
+            if (value.signum() > 0) {
+                values.add(value);
+            }
+        }
+        if (values.isEmpty()) {
+            return BigInteger.ZERO;
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+}
@@ -0,0 +1,132 @@
+package io.web3service.web3j.health;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Error rate circuit breaker of one endpoint.
+ * CLOSED trips to OPEN when the failure rate of the current window crosses the threshold,
+ * OPEN turns HALF_OPEN after the open duration, HALF_OPEN closes after enough successes
+ * and opens again on the first failure.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final boolean enabled;
+    private final double failureRateThreshold;
+    private final int minimumRequests;
+    private final long windowNanos;
+    private final long openNanos;
+    private final int halfOpenSuccesses;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger windowRequests = new AtomicInteger();
+    private final AtomicInteger windowFailures = new AtomicInteger();
+    private final AtomicInteger trialSuccesses = new AtomicInteger();
+    private volatile long openedAt;
+
+    public CircuitBreaker(String name, boolean enabled, double failureRateThreshold, int minimumRequests, long windowMillis, long openMillis, int halfOpenSuccesses) {
+        this.name = name;
+        this.enabled = enabled;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumRequests = Math.max(1, minimumRequests);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.halfOpenSuccesses = Math.max(1, halfOpenSuccesses);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * whether a call may go to this endpoint, an expired OPEN breaker turns HALF_OPEN
+     *
+     * @return permitted
+     */
+    public boolean isCallPermitted() {
+        if (!enabled) {
+            return true;
+        }
+        State current = state.get();
+        if (current != State.OPEN) {
+            return true;
+        }
+        if (System.nanoTime() - openedAt < openNanos) {
+            return false;
+        }
+        if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            trialSuccesses.set(0);
+            log.info("Endpoint {} circuit breaker OPEN -> HALF_OPEN", name);
+        }
+        return true;
+    }
+
+    /**
+     * record call outcome
+     *
+     * @param failed failed
+     */
+    public void record(boolean failed) {
+        if (!enabled) {
+            return;
+        }
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            if (failed) {
+                open(State.HALF_OPEN);
+            } else if (trialSuccesses.incrementAndGet() >= halfOpenSuccesses && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                resetWindow(System.nanoTime());
+                log.info("Endpoint {} circuit breaker HALF_OPEN -> CLOSED", name);
+            }
+            return;
+        }
+        if (current == State.OPEN) {
+            return;
+        }
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start > windowNanos && windowStart.compareAndSet(start, now)) {
+            windowRequests.set(0);
+            windowFailures.set(0);
+        }
+        int requests = windowRequests.incrementAndGet();
+        int failures = failed ? windowFailures.incrementAndGet() : windowFailures.get();
+        if (failed && requests >= minimumRequests && failures >= requests * failureRateThreshold) {
+            open(State.CLOSED);
+        }
+    }
+
+    /**
+     * force OPEN, used when the endpoint is known to be unreachable
+     */
+    public void trip() {
+        if (enabled) {
+            open(state.get());
+        }
+    }
+
+    private void open(State from) {
+        if (from != State.OPEN && state.compareAndSet(from, State.OPEN)) {
+            openedAt = System.nanoTime();
+            log.warn("Endpoint {} circuit breaker {} -> OPEN", name, from);
+        }
+    }
+
+    private void resetWindow(long now) {
+        windowStart.set(now);
+        windowRequests.set(0);
+        windowFailures.set(0);
+    }
+}
@@ -0,0 +1,101 @@
+package io.web3service.web3j.health;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Health of one endpoint: probe status from {@link HealthMonitor} plus the circuit breaker
+ * fed by real traffic.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class EndpointHealth {
+
+    public enum Status {
+        /**
+         * answers and is close to the best peer
+         */
+        UP,
+        /**
+         * answers but is too many blocks behind the best peer
+         */
+        LAGGING,
+        /**
+         * errors or times out
+         */
+        DOWN
+    }
+
+    @Getter
+    private final String endpoint;
+
+    @Getter
+    private final CircuitBreaker circuitBreaker;
+
+    @Getter
+    private volatile Status status = Status.UP;
+
+    @Getter
+    private volatile long blockNumber = -1L;
+
+    @Getter
+    private volatile long probeLatencyMillis = -1L;
+
+    public EndpointHealth(String endpoint, CircuitBreaker circuitBreaker) {
+        this.endpoint = endpoint;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * whether requests should be routed to this endpoint
+     *
+     * @return available
+     */
+    public boolean isAvailable() {
+        return status == Status.UP && circuitBreaker.isCallPermitted();
+    }
+
+    /**
+     * record the outcome of a real request
+     *
+     * @param failed failed
+     */
+    public void record(boolean failed) {
+        circuitBreaker.record(failed);
+    }
+
+    void onProbe(Status status, long blockNumber, long latencyMillis, String reason) {
+        if (blockNumber >= 0) {
+            this.blockNumber = blockNumber;
+        }
+        this.probeLatencyMillis = latencyMillis;
+        updateStatus(status, reason);
+    }
+
+    /**
+     * take the endpoint out of selection until a probe succeeds
+     *
+     * @param reason reason
+     */
+    public void markDown(String reason) {
+        updateStatus(Status.DOWN, reason);
+        circuitBreaker.trip();
+    }
+
+    private void updateStatus(Status status, String reason) {
+        Status previous = this.status;
+        this.status = status;
+        if (previous != status) {
+            if (status == Status.UP) {
+                log.info("Endpoint {} {} -> {}", endpoint, previous, status);
+            } else {
+                log.warn("Endpoint {} {} -> {}: {}", endpoint, previous, status, reason);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return endpoint + "{status=" + status + ", circuitBreaker=" + circuitBreaker.getState() + ", blockNumber=" + blockNumber + "}";
+    }
+}
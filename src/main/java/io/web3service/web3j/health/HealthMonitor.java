@@ -0,0 +1,158 @@
+package io.web3service.web3j.health;
+
+import io.web3service.web3j.core.Web3jNetworkService;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * Background eth_blockNumber prober of one network. Endpoints that error, time out or fall
+ * more than maxLagBlocks behind the best peer are taken out of selection until a later probe succeeds.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class HealthMonitor implements AutoCloseable {
+
+    @Getter
+    private final String network;
+    private final List<Web3jNetworkService> services;
+    private final ScheduledExecutorService scheduler;
+    private final long intervalMillis;
+    private final long timeoutMillis;
+    private final long maxLagBlocks;
+
+    /**
+     * highest block number seen in the last probe round
+     */
+    @Getter
+    private volatile long bestBlockNumber = -1L;
+
+    private volatile ScheduledFuture<?> task;
+
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    private final List<LongConsumer> headListeners = new CopyOnWriteArrayList<>();
+
+    public HealthMonitor(String network, List<Web3jNetworkService> services, ScheduledExecutorService scheduler, long intervalMillis, long timeoutMillis, long maxLagBlocks) {
+        this.network = network;
+        this.services = services;
+        this.scheduler = scheduler;
+        this.intervalMillis = intervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.maxLagBlocks = maxLagBlocks;
+    }
+
+    public synchronized void start() {
+        if (Objects.isNull(task)) {
+            task = scheduler.scheduleWithFixedDelay(this::probeSafely, 0L, intervalMillis, TimeUnit.MILLISECONDS);
+            log.info("Health monitor started for {} with {} endpoints", network, services.size());
+        }
+    }
+
+    /**
+     * listener of the best block number, called after every successful probe round
+     * @param listener head listener
+     */
+    public void addHeadListener(LongConsumer listener) {
+        headListeners.add(listener);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (Objects.nonNull(task)) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    private void probeSafely() {
+        if (!probing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            probe().whenComplete((v, ex) -> {
+                probing.set(false);
+                if (Objects.nonNull(ex)) {
+                    log.warn("Health probe round for {} failed: {}", network, ex.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            probing.set(false);
+            log.warn("Health probe round for {} failed: {}", network, e.getMessage());
+        }
+    }
+
+    /**
+     * probe every endpoint once and update their status
+     *
+     * @return completes when the round is evaluated
+     */
+    public CompletableFuture<Void> probe() {
+        int size = services.size();
+        long[] blocks = new long[size];
+        long[] latencies = new long[size];
+        String[] errors = new String[size];
+        CompletableFuture<?>[] probes = new CompletableFuture<?>[size];
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            Web3jNetworkService service = services.get(i);
+            // lets an expired OPEN breaker turn HALF_OPEN so this probe is its trial call
+            service.getEndpointHealth().getCircuitBreaker().isCallPermitted();
+            long start = System.nanoTime();
+            probes[i] = withTimeout(service.ethBlockNumber().sendAsync()).handle((response, ex) -> {
+                latencies[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (Objects.nonNull(ex)) {
+                    errors[index] = ex instanceof TimeoutException || ex.getCause() instanceof TimeoutException ? "timeout" : String.valueOf(ex.getMessage());
+                } else if (response.hasError()) {
+                    errors[index] = response.getError().getMessage();
+                } else {
+                    blocks[index] = response.getBlockNumber().longValue();
+                }
+                return null;
+            });
+        }
+        return CompletableFuture.allOf(probes).thenRun(() -> evaluate(blocks, latencies, errors));
+    }
+
+    private void evaluate(long[] blocks, long[] latencies, String[] errors) {
+        long best = -1L;
+        for (int i = 0; i < blocks.length; i++) {
+            if (Objects.isNull(errors[i])) {
+                best = Math.max(best, blocks[i]);
+            }
+        }
+        if (best >= 0) {
+            bestBlockNumber = best;
+            for (LongConsumer listener : headListeners) {
+                listener.accept(best);
+            }
+        }
+        for (int i = 0; i < blocks.length; i++) {
+            EndpointHealth health = services.get(i).getEndpointHealth();
+            if (Objects.nonNull(errors[i])) {
+                health.onProbe(EndpointHealth.Status.DOWN, -1L, latencies[i], errors[i]);
+            } else if (best - blocks[i] > maxLagBlocks) {
+                health.onProbe(EndpointHealth.Status.LAGGING, blocks[i], latencies[i], (best - blocks[i]) + " blocks behind");
+            } else {
+                health.onProbe(EndpointHealth.Status.UP, blocks[i], latencies[i], null);
+            }
+        }
+    }
+
+    private CompletableFuture<EthBlockNumber> withTimeout(CompletableFuture<EthBlockNumber> future) {
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> future.completeExceptionally(new TimeoutException()), timeoutMillis, TimeUnit.MILLISECONDS);
+        future.whenComplete((response, ex) -> timeout.cancel(false));
+        return future;
+    }
+}
@@ -0,0 +1,253 @@
+package io.web3service.web3j.hedge;
+
+import io.web3service.web3j.balancer.LoadBalancer;
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.JsonRpcException;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jNetworkService;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Sends calls of one network with failover and, for idempotent methods, hedging:
+ * when the first endpoint has not answered within the method's latency percentile a second
+ * endpoint is asked too and the first answer wins. Transport failures and node errors of a lagging
+ * or rate limited endpoint fail over to the next endpoint, other node errors are the answer.
+ * Transactions are never hedged nor retried.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class HedgingExecutor {
+
+    private static class Constant {
+        private static final Set<String> NEVER_HEDGED = new HashSet<>(Arrays.asList("eth_sendRawTransaction", "eth_sendTransaction"));
+        /**
+         * limit exceeded (infura / alchemy rate limits) and http too many requests
+         */
+        private static final Set<Integer> RETRYABLE_CODES = new HashSet<>(Arrays.asList(-32005, 429));
+        /**
+         * block or state the endpoint does not have yet (or no longer), and rate limits
+         */
+        private static final String[] RETRYABLE_MESSAGES = {"header not found", "unknown block", "missing trie node",
+                "rate limit", "too many requests", "request count exceeded", "capacity exceeded", "compute units"};
+    }
+
+    private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "web3j-hedge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // a hedge cancelled by a fast answer leaves the queue at once instead of holding its attempt until the delay
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private final Web3jNetworkConfig.Hedge config;
+    private final Set<String> idempotentMethods;
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    public HedgingExecutor(Web3jNetworkConfig.Hedge config) {
+        this.config = config;
+        this.idempotentMethods = new HashSet<>(config.getIdempotentMethods());
+        this.idempotentMethods.removeAll(Constant.NEVER_HEDGED);
+    }
+
+    /**
+     * send call
+     *
+     * @param services     network endpoints
+     * @param loadBalancer endpoint selection
+     * @param call         call
+     * @return decoded result, a node error completes with {@link JsonRpcException}
+     */
+    public <T> CompletableFuture<T> execute(Web3jNetworkService[] services, LoadBalancer loadBalancer, ReadCall<T> call) {
+        Web3jNetworkService primary = loadBalancer.select(services);
+        Request<?, ? extends Response<?>> request = call.createRequest(primary);
+        Attempt<T> attempt = new Attempt<>(services, call, request.getMethod());
+        if (!idempotentMethods.contains(request.getMethod())) {
+            attempt.maxAttempts = 1;
+            attempt.launch(primary, request);
+            return attempt.result;
+        }
+        attempt.maxAttempts = Math.max(1, Math.min(config.getMaxAttempts(), services.length));
+        attempt.launch(primary, request);
+        if (Boolean.TRUE.equals(config.getEnabled()) && services.length > 1) {
+            attempt.scheduleHedge(hedgeDelayNanos(request.getMethod()));
+        }
+        return attempt.result;
+    }
+
+    /**
+     * whether a node error is specific to the endpoint, another endpoint may answer
+     * @param error node error
+     * @return retryable on another endpoint
+     */
+    public static boolean isRetryable(Response.Error error) {
+        if (Constant.RETRYABLE_CODES.contains(error.getCode())) {
+            return true;
+        }
+        String message = Objects.isNull(error.getMessage()) ? "" : error.getMessage().toLowerCase(Locale.ROOT);
+        for (String pattern : Constant.RETRYABLE_MESSAGES) {
+            if (message.contains(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long hedgeDelayNanos(String method) {
+        long percentile = histogram(method).getPercentileNanos();
+        long delay = percentile < 0 ? TimeUnit.MILLISECONDS.toNanos(config.getInitialDelayMillis()) : percentile;
+        return Math.max(delay, TimeUnit.MILLISECONDS.toNanos(config.getMinDelayMillis()));
+    }
+
+    private LatencyHistogram histogram(String method) {
+        LatencyHistogram histogram = latencies.get(method);
+        return Objects.nonNull(histogram) ? histogram : latencies.computeIfAbsent(method, key -> new LatencyHistogram(config.getPercentile()));
+    }
+
+    private class Attempt<T> {
+        private final Web3jNetworkService[] services;
+        private final ReadCall<T> call;
+        private final String method;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final boolean[] tried;
+        private final List<CompletableFuture<?>> outstanding = new ArrayList<>(2);
+        private int maxAttempts;
+        private int attempts;
+        private int inFlight;
+        private boolean hedged;
+        private ScheduledFuture<?> hedgeTask;
+
+        private Attempt(Web3jNetworkService[] services, ReadCall<T> call, String method) {
+            this.services = services;
+            this.call = call;
+            this.method = method;
+            this.tried = new boolean[services.length];
+        }
+
+        private synchronized void launch(Web3jNetworkService service, Request<?, ? extends Response<?>> request) {
+            markTried(service);
+            attempts++;
+            inFlight++;
+            long start = System.nanoTime();
+            CompletableFuture<? extends Response<?>> future;
+            try {
+                future = request.sendAsync();
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            outstanding.add(future);
+            CompletableFuture<? extends Response<?>> sent = future;
+            future.whenComplete((response, ex) -> onComplete(service, sent, response, ex, start));
+        }
+
+        private synchronized void scheduleHedge(long delayNanos) {
+            if (!result.isDone()) {
+                hedgeTask = SCHEDULER.schedule(this::hedge, delayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void cancelHedge() {
+            if (Objects.nonNull(hedgeTask)) {
+                hedgeTask.cancel(false);
+                hedgeTask = null;
+            }
+        }
+
+        private synchronized void hedge() {
+            if (result.isDone() || hedged || attempts >= maxAttempts) {
+                return;
+            }
+            hedged = true;
+            Web3jNetworkService next = nextUntried();
+            if (Objects.nonNull(next)) {
+                log.debug("Hedging {} to {}", method, next.getEndpoint());
+                launch(next, call.createRequest(next));
+            }
+        }
+
+        private synchronized void onComplete(Web3jNetworkService service, CompletableFuture<?> future, Response<?> response, Throwable ex, long start) {
+            inFlight--;
+            if (result.isDone()) {
+                return;
+            }
+            if (Objects.isNull(ex) && response.hasError() && isRetryable(response.getError())) {
+                ex = new JsonRpcException(response.getError());
+            }
+            if (Objects.isNull(ex)) {
+                long latency = System.nanoTime() - start;
+                if (response.hasError()) {
+                    result.completeExceptionally(new JsonRpcException(response.getError()));
+                } else {
+                    try {
+                        result.complete(call.decode(response));
+                    } catch (RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                }
+                cancelOthers(future);
+                cancelHedge();
+                try {
+                    histogram(method).record(latency);
+                } catch (RuntimeException e) {
+                    log.warn("Record {} latency failed: {}", method, e.getMessage());
+                }
+                return;
+            }
+            if (inFlight > 0) {
+                return;
+            }
+            Web3jNetworkService next = attempts < maxAttempts ? nextUntried() : null;
+            if (Objects.isNull(next)) {
+                result.completeExceptionally(ex);
+                cancelHedge();
+                return;
+            }
+            log.debug("Failover {} from {} to {}: {}", method, service.getEndpoint(), next.getEndpoint(), ex.getMessage());
+            launch(next, call.createRequest(next));
+        }
+
+        private void cancelOthers(CompletableFuture<?> winner) {
+            for (CompletableFuture<?> future : outstanding) {
+                if (future != winner) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        private void markTried(Web3jNetworkService service) {
+            for (int i = 0; i < services.length; i++) {
+                if (services[i] == service) {
+                    tried[i] = true;
+                }
+            }
+        }
+
+        private Web3jNetworkService nextUntried() {
+            int start = ThreadLocalRandom.current().nextInt(services.length);
+            Web3jNetworkService fallback = null;
+            for (int i = 0; i < services.length; i++) {
+                int index = (start + i) % services.length;
+                if (tried[index]) {
+                    continue;
+                }
+                if (services[index].isAvailable()) {
+                    return services[index];
+                }
+                if (Objects.isNull(fallback)) {
+                    fallback = services[index];
+                }
+            }
+            return fallback;
+        }
+    }
+}
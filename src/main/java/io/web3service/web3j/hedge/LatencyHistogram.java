@@ -0,0 +1,60 @@
+package io.web3service.web3j.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding sample of recent latencies of one JSON-RPC method. Recording is lock free,
+ * the percentile is recomputed once every {@link Constant#RECOMPUTE_EVERY} samples.
+ * @author github.com/x-saofen
+ */
+public class LatencyHistogram {
+
+    private static class Constant {
+        private static final int SIZE = 256;
+        private static final int RECOMPUTE_EVERY = 32;
+    }
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(Constant.SIZE);
+    private final AtomicInteger count = new AtomicInteger();
+    private volatile long cachedNanos = -1L;
+    private volatile boolean filled;
+
+    /**
+     * @param percentile 0.0 - 1.0
+     */
+    public LatencyHistogram(double percentile) {
+        this.percentile = Math.min(1D, Math.max(0D, percentile));
+    }
+
+    public void record(long latencyNanos) {
+        // the counter wraps after 2^31 samples, the buffer stays full
+        int index = count.getAndIncrement() & Integer.MAX_VALUE;
+        samples.set(index % Constant.SIZE, latencyNanos);
+        if (index + 1 >= Constant.SIZE) {
+            filled = true;
+        }
+        if ((index + 1) % Constant.RECOMPUTE_EVERY == 0) {
+            recompute(filled ? Constant.SIZE : index + 1);
+        }
+    }
+
+    /**
+     * @return configured percentile in nanos, -1 until enough samples were recorded
+     */
+    public long getPercentileNanos() {
+        return cachedNanos;
+    }
+
+    private void recompute(int size) {
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        int rank = Math.max(0, (int) Math.ceil(percentile * size) - 1);
+        cachedNanos = copy[Math.min(size - 1, rank)];
+    }
+}
@@ -0,0 +1,48 @@
+package io.web3service.web3j.logs;
+
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Progress of log scans and block followers, lets a restarted scan resume after the last delivered block.
+ * @author github.com/x-saofen
+ */
+public interface CheckpointStore {
+
+    /**
+     * next block to scan
+     * @param scanId scan id
+     * @return next block, null when the scan never delivered a range
+     */
+    BigInteger load(String scanId);
+
+    /**
+     * save the next block to scan
+     * @param scanId    scan id
+     * @param nextBlock next block
+     */
+    void save(String scanId, BigInteger nextBlock);
+
+    /**
+     * hash of the block before the next block, saved by block followers
+     * @param scanId scan id
+     * @return block hash, null when none was saved
+     */
+    default String loadHash(String scanId) {
+        BigInteger hash = load(scanId + ".hash");
+        return Objects.isNull(hash) ? null : Numeric.toHexStringWithPrefixZeroPadded(hash, 64);
+    }
+
+    /**
+     * save the next block with the hash of the block before it, stores override this to save both at once
+     * @param scanId    scan id
+     * @param nextBlock next block
+     * @param lastHash  hash of block nextBlock - 1
+     */
+    default void save(String scanId, BigInteger nextBlock, String lastHash) {
+        save(scanId + ".hash", Numeric.toBigInt(lastHash));
+        save(scanId, nextBlock);
+    }
+}
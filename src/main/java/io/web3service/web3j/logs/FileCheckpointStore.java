@@ -0,0 +1,74 @@
+package io.web3service.web3j.logs;
+
+import lombok.SneakyThrows;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * One file per scan id holding the next block and, for block followers, the hash of the block before it
+ * on a second line, replaced atomically on every save.
+ * @author github.com/x-saofen
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+    private static class Constant {
+        private static final String SUFFIX = ".checkpoint";
+        private static final String TMP_SUFFIX = ".tmp";
+        private static final String NEW_LINE = "\n";
+    }
+
+    private final Path directory;
+
+    @SneakyThrows(IOException.class)
+    public FileCheckpointStore(Path directory) {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    @SneakyThrows(IOException.class)
+    public BigInteger load(String scanId) {
+        Path file = directory.resolve(scanId + Constant.SUFFIX);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return new BigInteger(read(file)[0]);
+    }
+
+    @Override
+    @SneakyThrows(IOException.class)
+    public String loadHash(String scanId) {
+        Path file = directory.resolve(scanId + Constant.SUFFIX);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        String[] lines = read(file);
+        return lines.length > 1 ? lines[1] : null;
+    }
+
+    @Override
+    public void save(String scanId, BigInteger nextBlock) {
+        write(scanId, nextBlock.toString());
+    }
+
+    @Override
+    public void save(String scanId, BigInteger nextBlock, String lastHash) {
+        write(scanId, nextBlock + Constant.NEW_LINE + lastHash);
+    }
+
+    private static String[] read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim().split("\\s+");
+    }
+
+    @SneakyThrows(IOException.class)
+    private void write(String scanId, String content) {
+        Path file = directory.resolve(scanId + Constant.SUFFIX);
+        Path tmp = directory.resolve(scanId + Constant.SUFFIX + Constant.TMP_SUFFIX);
+        Files.write(tmp, content.getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
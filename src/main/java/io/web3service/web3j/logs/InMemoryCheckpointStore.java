@@ -0,0 +1,38 @@
+package io.web3service.web3j.logs;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checkpoints of the running process only.
+ * @author github.com/x-saofen
+ */
+public class InMemoryCheckpointStore implements CheckpointStore {
+
+    private final Map<String, BigInteger> checkpoints = new ConcurrentHashMap<>();
+
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+
+    @Override
+    public BigInteger load(String scanId) {
+        return checkpoints.get(scanId);
+    }
+
+    @Override
+    public synchronized void save(String scanId, BigInteger nextBlock) {
+        hashes.remove(scanId);
+        checkpoints.put(scanId, nextBlock);
+    }
+
+    @Override
+    public String loadHash(String scanId) {
+        return hashes.get(scanId);
+    }
+
+    @Override
+    public synchronized void save(String scanId, BigInteger nextBlock, String lastHash) {
+        hashes.put(scanId, lastHash);
+        checkpoints.put(scanId, nextBlock);
+    }
+}
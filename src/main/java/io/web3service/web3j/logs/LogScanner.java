@@ -0,0 +1,280 @@
+package io.web3service.web3j.logs;
+
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.JsonRpcException;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jNetworkService;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backfills eth_getLogs over a block range with several ranges in flight across the endpoints of a network.
+ * A range the provider rejects as too large is halved, sparse ranges grow the next one, failed ranges are
+ * retried, and logs reach the sink in block order with a checkpoint after every delivered range. A range
+ * is only sent to an endpoint whose head has reached the range end, a lagging endpoint answers blocks
+ * above its head with no logs.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class LogScanner {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "web3j-log-scanner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static class Constant {
+        /**
+         * error messages of providers refusing a range or its result size, geth / erigon / infura / alchemy / quicknode ...
+         */
+        private static final String[] RANGE_TOO_LARGE = {"returned more than", "too many results", "block range",
+                "range too large", "range is too large", "response size", "query timeout", "is limited to a"};
+        /**
+         * rate limit messages, some providers share the error code (infura -32005) with range errors,
+         * these are retried with backoff instead of split
+         */
+        private static final String[] RATE_LIMITED = {"rate limit", "too many requests", "request count exceeded",
+                "compute units", "capacity exceeded", "throughput"};
+    }
+
+    private final Web3jServiceTemplate template;
+
+    private final String network;
+
+    private final Web3jNetworkConfig.LogScan options;
+
+    private final CheckpointStore checkpointStore;
+
+    public LogScanner(Web3jServiceTemplate template, String network, Web3jNetworkConfig.LogScan options, CheckpointStore checkpointStore) {
+        this.template = template;
+        this.network = network;
+        this.options = Objects.isNull(options) ? new Web3jNetworkConfig.LogScan() : options;
+        this.checkpointStore = Objects.isNull(checkpointStore) ? new InMemoryCheckpointStore() : checkpointStore;
+    }
+
+    /**
+     * scan logs, resuming from the checkpoint of scanId
+     * @param scanId    checkpoint id
+     * @param addresses contract addresses, empty matches any
+     * @param topics    topics by position, null is a wildcard
+     * @param fromBlock first block
+     * @param toBlock   last block, null scans up to the head at start
+     * @param sink      receives logs range by range in block order
+     * @return last scanned block
+     */
+    public CompletableFuture<BigInteger> scan(String scanId, List<String> addresses, List<String> topics, BigInteger fromBlock, BigInteger toBlock, LogSink sink) {
+        CompletableFuture<BigInteger> last = Objects.nonNull(toBlock) ? CompletableFuture.completedFuture(toBlock)
+                : template.callAsync(network, ReadCall.ethBlockNumber());
+        return last.thenCompose(end -> {
+            BigInteger checkpoint = checkpointStore.load(scanId);
+            BigInteger start = Objects.nonNull(checkpoint) && checkpoint.compareTo(fromBlock) > 0 ? checkpoint : fromBlock;
+            if (start.compareTo(end) > 0) {
+                return CompletableFuture.completedFuture(end);
+            }
+            log.info("Scan {} of network {} from block {} to {}", scanId, network, start, end);
+            Scan scan = new Scan(scanId, addresses, topics, start.longValueExact(), end.longValueExact(), sink);
+            scan.pump();
+            return scan.result;
+        });
+    }
+
+    private static class Chunk {
+        private final long from;
+        private final long to;
+        private int attempts;
+        private List<Log> logs;
+
+        private Chunk(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        private long size() {
+            return to - from + 1;
+        }
+    }
+
+    private class Scan {
+        private final String scanId;
+        private final List<String> addresses;
+        private final List<String> topics;
+        private final long end;
+        private final LogSink sink;
+        private final CompletableFuture<BigInteger> result = new CompletableFuture<>();
+
+        /**
+         * ranges split or waiting for a retry, sent before new ranges to keep delivery moving
+         */
+        private final TreeMap<Long, Chunk> pending = new TreeMap<>();
+
+        /**
+         * fetched ranges waiting for an earlier range
+         */
+        private final TreeMap<Long, Chunk> fetched = new TreeMap<>();
+
+        /**
+         * highest head seen per endpoint during the scan
+         */
+        private final Map<Web3jNetworkService, Long> heads = new ConcurrentHashMap<>();
+
+        private final int parallelism;
+        private long nextStart;
+        private long deliverNext;
+        private long range;
+        private int inFlight;
+        private boolean failed;
+
+        private Scan(String scanId, List<String> addresses, List<String> topics, long start, long end, LogSink sink) {
+            this.scanId = scanId;
+            this.addresses = addresses;
+            this.topics = topics;
+            this.end = end;
+            this.sink = sink;
+            this.nextStart = start;
+            this.deliverNext = start;
+            this.parallelism = Math.max(1, options.getParallelism());
+            this.range = clampRange(options.getInitialRange());
+        }
+
+        private synchronized void pump() {
+            while (!failed && inFlight < parallelism) {
+                Chunk chunk;
+                if (!pending.isEmpty()) {
+                    chunk = pending.pollFirstEntry().getValue();
+                } else if (nextStart <= end && inFlight + fetched.size() < parallelism * 2) {
+                    // fetched ranges count too, so a slow early range bounds the buffered logs
+                    chunk = new Chunk(nextStart, Math.min(end, nextStart + range - 1));
+                    nextStart = chunk.to + 1;
+                } else {
+                    break;
+                }
+                inFlight++;
+                send(chunk);
+            }
+            if (!failed && inFlight == 0 && pending.isEmpty() && fetched.isEmpty() && nextStart > end) {
+                log.info("Scan {} of network {} finished at block {}", scanId, network, end);
+                result.complete(BigInteger.valueOf(end));
+            }
+        }
+
+        private void send(Chunk chunk) {
+            ReadCall<List<Log>> call = ReadCall.ethGetLogs(addresses, topics, BigInteger.valueOf(chunk.from), BigInteger.valueOf(chunk.to));
+            CompletableFuture<List<Log>> future;
+            try {
+                Web3jNetworkService service = template.getNextTemplate(network);
+                future = head(service, chunk.to).thenCompose(head -> {
+                    if (head < chunk.to) {
+                        throw new IllegalStateException("Endpoint " + service.getEndpoint() + " at block " + head + " behind range end " + chunk.to);
+                    }
+                    return service.readAsync(call);
+                });
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((logs, ex) -> onFetched(chunk, logs, ex));
+        }
+
+        /**
+         * head of the endpoint, fetched again only while the known head is below the block
+         */
+        private CompletableFuture<Long> head(Web3jNetworkService service, long block) {
+            Long known = heads.get(service);
+            if (Objects.nonNull(known) && known >= block) {
+                return CompletableFuture.completedFuture(known);
+            }
+            return service.readAsync(ReadCall.ethBlockNumber()).thenApply(number -> heads.merge(service, number.longValue(), Math::max));
+        }
+
+        private synchronized void onFetched(Chunk chunk, List<Log> logs, Throwable ex) {
+            inFlight--;
+            if (failed) {
+                return;
+            }
+            Throwable cause = ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex;
+            if (Objects.isNull(cause)) {
+                chunk.logs = logs;
+                fetched.put(chunk.from, chunk);
+                if (logs.size() < options.getSparseLogs() && chunk.size() >= range) {
+                    range = clampRange(range * 2);
+                }
+                deliver();
+            } else if (isRangeTooLarge(cause) && chunk.size() > 1) {
+                long half = chunk.size() / 2;
+                range = clampRange(half);
+                log.debug("Scan {} range {}-{} too large, split: {}", scanId, chunk.from, chunk.to, cause.getMessage());
+                pending.put(chunk.from, new Chunk(chunk.from, chunk.from + half - 1));
+                pending.put(chunk.from + half, new Chunk(chunk.from + half, chunk.to));
+            } else if (chunk.attempts < options.getMaxRetries()) {
+                chunk.attempts++;
+                log.warn("Scan {} range {}-{} failed, retry {}: {}", scanId, chunk.from, chunk.to, chunk.attempts, cause.getMessage());
+                // the slot stays taken until the retry is sent
+                inFlight++;
+                SCHEDULER.schedule(() -> send(chunk), options.getRetryBackoffMillis() * chunk.attempts, TimeUnit.MILLISECONDS);
+            } else {
+                fail(cause);
+                return;
+            }
+            pump();
+        }
+
+        private void deliver() {
+            while (!fetched.isEmpty() && fetched.firstKey() == deliverNext) {
+                Chunk chunk = fetched.pollFirstEntry().getValue();
+                try {
+                    sink.accept(BigInteger.valueOf(chunk.from), BigInteger.valueOf(chunk.to), chunk.logs);
+                    checkpointStore.save(scanId, BigInteger.valueOf(chunk.to + 1));
+                } catch (RuntimeException e) {
+                    fail(e);
+                    return;
+                }
+                deliverNext = chunk.to + 1;
+            }
+        }
+
+        private void fail(Throwable cause) {
+            failed = true;
+            pending.clear();
+            fetched.clear();
+            log.error("Scan {} of network {} stopped at block {}: {}", scanId, network, deliverNext, cause.getMessage());
+            result.completeExceptionally(cause);
+        }
+    }
+
+    private long clampRange(long value) {
+        return Math.max(Math.max(1L, options.getMinRange()), Math.min(options.getMaxRange(), value));
+    }
+
+    private static boolean isRangeTooLarge(Throwable cause) {
+        if (!(cause instanceof JsonRpcException)) {
+            return false;
+        }
+        String message = String.valueOf(cause.getMessage()).toLowerCase(Locale.ROOT);
+        for (String pattern : Constant.RATE_LIMITED) {
+            if (message.contains(pattern)) {
+                return false;
+            }
+        }
+        for (String pattern : Constant.RANGE_TOO_LARGE) {
+            if (message.contains(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
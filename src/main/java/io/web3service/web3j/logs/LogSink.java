@@ -0,0 +1,22 @@
+package io.web3service.web3j.logs;
+
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Receives scanned logs range by range in block order, a range is checkpointed once the sink returns.
+ * @author github.com/x-saofen
+ */
+@FunctionalInterface
+public interface LogSink {
+
+    /**
+     * logs of a closed block range
+     * @param fromBlock from block
+     * @param toBlock   to block
+     * @param logs      logs in block and log index order, may be empty
+     */
+    void accept(BigInteger fromBlock, BigInteger toBlock, List<Log> logs);
+}
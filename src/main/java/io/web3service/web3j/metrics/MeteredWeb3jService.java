@@ -0,0 +1,250 @@
+package io.web3service.web3j.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Flowable;
+import io.web3service.web3j.core.AsyncHttpService;
+import io.web3service.web3j.core.Web3jMetrics;
+import lombok.Getter;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Web3jService decorator recording latency, errors and in flight requests of one endpoint. Meters are
+ * created once per JSON-RPC method and error code, a call only looks them up by method name.
+ * @author github.com/x-saofen
+ */
+public class MeteredWeb3jService implements Web3jService, Web3jMetrics.Decorated {
+
+    private static class Constant {
+        private static final String REQUESTS = "web3j.rpc.requests";
+        private static final String ERRORS = "web3j.rpc.errors";
+        private static final String IN_FLIGHT = "web3j.rpc.in.flight";
+        private static final String NETWORK = "network";
+        private static final String ENDPOINT = "endpoint";
+        private static final String METHOD = "method";
+        private static final String CODE = "code";
+        private static final String BATCH = "batch";
+        private static final String TIMEOUT = "timeout";
+        private static final String IO = "io";
+        private static final String EXCEPTION = "exception";
+    }
+
+    @Getter
+    private final Web3jService delegate;
+
+    private final MeterRegistry registry;
+
+    private final Tags tags;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Map<String, MethodMeters> methods = new ConcurrentHashMap<>();
+
+    public MeteredWeb3jService(Web3jService delegate, MeterRegistry registry, String network, String endpoint) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.tags = Tags.of(Constant.NETWORK, network, Constant.ENDPOINT, endpoint);
+        Gauge.builder(Constant.IN_FLIGHT, inFlight, AtomicInteger::get)
+                .description("JSON-RPC requests in flight")
+                .tags(tags)
+                .register(registry);
+    }
+
+    /**
+     * meters of one JSON-RPC method
+     */
+    private class MethodMeters {
+        private final String method;
+        private final Timer timer;
+        private final Map<Integer, Counter> codes = new ConcurrentHashMap<>();
+        private final Counter timeouts;
+        private final Counter ioErrors;
+        private final Counter exceptions;
+
+        private MethodMeters(String method) {
+            this.method = method;
+            this.timer = Timer.builder(Constant.REQUESTS)
+                    .description("JSON-RPC request latency")
+                    .tags(tags).tag(Constant.METHOD, method)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.timeouts = errorCounter(Constant.TIMEOUT);
+            this.ioErrors = errorCounter(Constant.IO);
+            this.exceptions = errorCounter(Constant.EXCEPTION);
+        }
+
+        private Counter errorCounter(String code) {
+            return Counter.builder(Constant.ERRORS)
+                    .description("JSON-RPC errors by node error code, timeout, io or exception")
+                    .tags(tags).tag(Constant.METHOD, method).tag(Constant.CODE, code)
+                    .register(registry);
+        }
+
+        private void onError(Response.Error error) {
+            codes.computeIfAbsent(error.getCode(), code -> errorCounter(String.valueOf(code))).increment();
+        }
+
+        private void onFailure(Throwable ex) {
+            for (Throwable cause = ex; Objects.nonNull(cause); cause = cause.getCause()) {
+                if (cause instanceof InterruptedIOException || cause instanceof TimeoutException) {
+                    timeouts.increment();
+                    return;
+                }
+                if (cause instanceof IOException) {
+                    ioErrors.increment();
+                    return;
+                }
+            }
+            exceptions.increment();
+        }
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        MethodMeters meters = meters(request.getMethod());
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        try {
+            T response = delegate.send(request, responseType);
+            complete(meters, start, response, null);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            complete(meters, start, null, e);
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        MethodMeters meters = meters(request.getMethod());
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        CompletableFuture<T> future;
+        try {
+            future = delegate.sendAsync(request, responseType);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        return AsyncHttpService.whenComplete(future, (response, ex) -> {
+            inFlight.decrementAndGet();
+            complete(meters, start, response, ex);
+        });
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        MethodMeters meters = meters(Constant.BATCH);
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        try {
+            BatchResponse response = delegate.sendBatch(batchRequest);
+            completeBatch(meters, start, batchRequest, response, null);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            completeBatch(meters, start, batchRequest, null, e);
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        MethodMeters meters = meters(Constant.BATCH);
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        CompletableFuture<BatchResponse> future;
+        try {
+            future = delegate.sendBatchAsync(batchRequest);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        return AsyncHttpService.whenComplete(future, (response, ex) -> {
+            inFlight.decrementAndGet();
+            completeBatch(meters, start, batchRequest, response, ex);
+        });
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod, Class<T> responseType) {
+        return delegate.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private MethodMeters meters(String method) {
+        MethodMeters meters = methods.get(method);
+        return Objects.nonNull(meters) ? meters : methods.computeIfAbsent(method, MethodMeters::new);
+    }
+
+    private static void complete(MethodMeters meters, long start, Response<?> response, Throwable ex) {
+        if (ex instanceof CancellationException) {
+            return;
+        }
+        meters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (Objects.nonNull(ex)) {
+            meters.onFailure(ex);
+        } else if (Objects.nonNull(response) && response.hasError()) {
+            meters.onError(response.getError());
+        }
+    }
+
+    /**
+     * the batch is timed as one request, node errors count against the method of the failed call
+     */
+    private void completeBatch(MethodMeters meters, long start, BatchRequest batchRequest, BatchResponse batchResponse, Throwable ex) {
+        if (ex instanceof CancellationException) {
+            return;
+        }
+        meters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (Objects.nonNull(ex)) {
+            meters.onFailure(ex);
+            return;
+        }
+        if (Objects.isNull(batchResponse)) {
+            return;
+        }
+        List<? extends Response<?>> responses = batchResponse.getResponses();
+        for (Response<?> response : responses) {
+            if (response.hasError()) {
+                meters(methodOf(batchRequest, response.getId())).onError(response.getError());
+            }
+        }
+    }
+
+    private static String methodOf(BatchRequest batchRequest, long id) {
+        for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            if (request.getId() == id) {
+                return request.getMethod();
+            }
+        }
+        return Constant.BATCH;
+    }
+}
@@ -0,0 +1,110 @@
+package io.web3service.web3j.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.web3service.web3j.balancer.LoadBalancer;
+import io.web3service.web3j.core.Web3jMetrics;
+import io.web3service.web3j.core.Web3jNetworkService;
+import io.web3service.web3j.core.Web3jServiceFactory;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import org.web3j.protocol.Web3jService;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Micrometer meters of the web3j networks: per endpoint and JSON-RPC method latency histograms,
+ * error counters and in flight gauges, http request / response bytes and load balancer selections.
+ * @author github.com/x-saofen
+ */
+public class MicrometerWeb3jMetrics implements Web3jMetrics {
+
+    private static class Constant {
+        private static final String REQUEST_SIZE = "web3j.rpc.request.size";
+        private static final String RESPONSE_SIZE = "web3j.rpc.response.size";
+        private static final String SELECTIONS = "web3j.endpoint.selections";
+        private static final String NETWORK = "network";
+        private static final String ENDPOINT = "endpoint";
+        private static final String BYTES = "bytes";
+    }
+
+    private final MeterRegistry registry;
+
+    public MicrometerWeb3jMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public OkHttpClient decorate(String network, OkHttpClient client) {
+        // a network interceptor sees the bytes on the wire, before gzip is inflated
+        return client.newBuilder().addNetworkInterceptor(new SizeInterceptor(network)).build();
+    }
+
+    @Override
+    public Web3jService decorate(String network, String endpoint, Web3jService service) {
+        return new MeteredWeb3jService(service, registry, network, endpoint);
+    }
+
+    @Override
+    public LoadBalancer decorate(String network, LoadBalancer loadBalancer) {
+        Map<Web3jNetworkService, Counter> selections = new ConcurrentHashMap<>();
+        return services -> {
+            Web3jNetworkService selected = loadBalancer.select(services);
+            Counter counter = selections.get(selected);
+            if (Objects.isNull(counter)) {
+                counter = selections.computeIfAbsent(selected, service -> Counter.builder(Constant.SELECTIONS)
+                        .description("Endpoint selections of the load balancer")
+                        .tags(Constant.NETWORK, network, Constant.ENDPOINT, service.getEndpoint())
+                        .register(registry));
+            }
+            counter.increment();
+            return selected;
+        };
+    }
+
+    /**
+     * request and response body sizes per endpoint url
+     */
+    private class SizeInterceptor implements Interceptor {
+
+        private final String network;
+
+        private final Map<String, DistributionSummary[]> summaries = new ConcurrentHashMap<>();
+
+        private SizeInterceptor(String network) {
+            this.network = network;
+        }
+
+        @Override
+        public okhttp3.Response intercept(Chain chain) throws IOException {
+            okhttp3.Request request = chain.request();
+            DistributionSummary[] sizes = summaries.computeIfAbsent(request.url().toString(), this::create);
+            RequestBody requestBody = request.body();
+            if (Objects.nonNull(requestBody) && requestBody.contentLength() >= 0) {
+                sizes[0].record(requestBody.contentLength());
+            }
+            okhttp3.Response response = chain.proceed(request);
+            ResponseBody responseBody = response.body();
+            if (Objects.nonNull(responseBody) && responseBody.contentLength() >= 0) {
+                sizes[1].record(responseBody.contentLength());
+            }
+            return response;
+        }
+
+        private DistributionSummary[] create(String url) {
+            Tags tags = Tags.of(Constant.NETWORK, network, Constant.ENDPOINT, Web3jServiceFactory.endpointName(url));
+            return new DistributionSummary[]{
+                    DistributionSummary.builder(Constant.REQUEST_SIZE).description("JSON-RPC request body size")
+                            .baseUnit(Constant.BYTES).tags(tags).register(registry),
+                    DistributionSummary.builder(Constant.RESPONSE_SIZE).description("JSON-RPC response body size, when sent with a length")
+                            .baseUnit(Constant.BYTES).tags(tags).register(registry)};
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.web3service.web3j.multicall;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Contract read function bound to a contract address.
+ * @author github.com/x-saofen
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ContractCall {
+
+    private static class Constant {
+        private static final String NAME = "name";
+        private static final String TOTAL_SUPPLY = "totalSupply";
+        private static final String BALANCES_OF = "balanceOf";
+        private static final String DECIMALS = "decimals";
+        private static final String SYMBOL = "symbol";
+        private static final String ALLOWANCE = "allowance";
+    }
+
+    private final String contractAddress;
+
+    private final Function function;
+
+    public static ContractCall of(String contractAddress, Function function) {
+        return new ContractCall(contractAddress, function);
+    }
+
+    public static ContractCall name(String contractAddress) {
+        return of(contractAddress, new Function(Constant.NAME, Collections.emptyList(), Arrays.asList(new TypeReference<Utf8String>() {
+        })));
+    }
+
+    public static ContractCall symbol(String contractAddress) {
+        return of(contractAddress, new Function(Constant.SYMBOL, Collections.emptyList(), Arrays.asList(new TypeReference<Utf8String>() {
+        })));
+    }
+
+    public static ContractCall decimals(String contractAddress) {
+        return of(contractAddress, new Function(Constant.DECIMALS, Collections.emptyList(), Arrays.asList(new TypeReference<Uint8>() {
+        })));
+    }
+
+    public static ContractCall totalSupply(String contractAddress) {
+        return of(contractAddress, new Function(Constant.TOTAL_SUPPLY, Collections.emptyList(), Arrays.asList(new TypeReference<Uint256>() {
+        })));
+    }
+
+    public static ContractCall balanceOf(String contractAddress, String owner) {
+        return of(contractAddress, new Function(Constant.BALANCES_OF, Arrays.<Type>asList(new Address(owner)), Arrays.asList(new TypeReference<Uint256>() {
+        })));
+    }
+
+    public static ContractCall allowance(String contractAddress, String owner, String spender) {
+        return of(contractAddress, new Function(Constant.ALLOWANCE, Arrays.<Type>asList(new Address(owner), new Address(spender)), Arrays.asList(new TypeReference<Uint256>() {
+        })));
+    }
+}
@@ -0,0 +1,244 @@
+package io.web3service.web3j.multicall;
+
+import io.web3service.web3j.batch.BatchExecutor;
+import io.web3service.web3j.batch.BatchResult;
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Folds many contract reads into Multicall3 aggregate3 eth_calls.
+ * Chunks are bounded by call count and calldata size, a chunk the node refuses
+ * (gas cap, payload size) is halved until it fits, single calls fall back to plain eth_call.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class Multicall3 {
+
+    private static class Constant {
+        private static final String AGGREGATE3_SELECTOR = Numeric.toHexStringNoPrefix(
+                Hash.sha3("aggregate3((address,bool,bytes)[])".getBytes(StandardCharsets.UTF_8))).substring(0, 8);
+        private static final String HEX_PREFIX = "0x";
+        private static final int WORD = 32;
+        private static final int TUPLE_HEAD = WORD * 5;
+    }
+
+    private final Web3j web3j;
+    private final Web3jNetworkConfig config;
+
+    public Multicall3(Web3j web3j, Web3jNetworkConfig config) {
+        this.web3j = web3j;
+        this.config = config;
+    }
+
+    /**
+     * aggregate reads, all chunks are pinned to the same block
+     *
+     * @param calls contract calls
+     * @param block block, LATEST is resolved to the current block number
+     * @return decoded results in call order
+     */
+    public CompletableFuture<List<BatchResult<List<Type>>>> aggregate(List<ContractCall> calls, DefaultBlockParameter block) {
+        BatchResult<List<Type>>[] results = newResultArray(calls.size());
+        if (calls.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        String[] callData = new String[calls.size()];
+        for (int i = 0; i < calls.size(); i++) {
+            callData[i] = FunctionEncoder.encode(calls.get(i).getFunction());
+        }
+        return pinBlock(block)
+                .thenCompose(pinned -> run(calls, callData, split(callData), pinned, results))
+                .thenApply(v -> Arrays.asList(results));
+    }
+
+    private CompletableFuture<DefaultBlockParameter> pinBlock(DefaultBlockParameter block) {
+        if (block != DefaultBlockParameterName.LATEST) {
+            return CompletableFuture.completedFuture(block);
+        }
+        return web3j.ethBlockNumber().sendAsync()
+                .thenApply(number -> DefaultBlockParameter.valueOf(number.getBlockNumber()));
+    }
+
+    private List<int[]> split(String[] callData) {
+        Web3jNetworkConfig.Multicall multicall = config.getMulticall();
+        List<int[]> chunks = new ArrayList<>();
+        int from = 0;
+        int bytes = 0;
+        for (int i = 0; i < callData.length; i++) {
+            int size = tupleSize(callData[i]);
+            if (i > from && (i - from >= multicall.getMaxCalls() || bytes + size > multicall.getMaxCalldataBytes())) {
+                chunks.add(new int[]{from, i});
+                from = i;
+                bytes = 0;
+            }
+            bytes += size;
+        }
+        chunks.add(new int[]{from, callData.length});
+        return chunks;
+    }
+
+    private CompletableFuture<Void> run(List<ContractCall> calls, String[] callData, List<int[]> chunks, DefaultBlockParameter block, BatchResult<List<Type>>[] results) {
+        List<ReadCall<String>> aggregateCalls = new ArrayList<>(chunks.size());
+        for (int[] chunk : chunks) {
+            aggregateCalls.add(ReadCall.ethCall(config.getMulticall().getAddress(), encode(calls, callData, chunk[0], chunk[1]), block));
+        }
+        Web3jNetworkConfig.Batch batch = config.getBatch();
+        return BatchExecutor.execute(web3j, aggregateCalls, batch.getMaxSize(), batch.getParallelism()).thenCompose(responses -> {
+            List<int[]> retry = new ArrayList<>();
+            List<Integer> direct = new ArrayList<>();
+            for (int i = 0; i < chunks.size(); i++) {
+                int[] chunk = chunks.get(i);
+                BatchResult<String> response = responses.get(i);
+                String data = response.getValue();
+                if (response.isSuccess() && data != null && data.length() > Constant.HEX_PREFIX.length()) {
+                    try {
+                        decode(calls, data, chunk[0], chunk[1], results);
+                        continue;
+                    } catch (RuntimeException e) {
+                        log.warn("Multicall3 response decode failed: {}", e.getMessage());
+                    }
+                }
+                if (response.isSuccess() || chunk[1] - chunk[0] == 1) {
+                    // multicall contract missing on this chain or a single call still too big
+                    for (int index = chunk[0]; index < chunk[1]; index++) {
+                        direct.add(index);
+                    }
+                } else {
+                    int middle = (chunk[0] + chunk[1]) >>> 1;
+                    retry.add(new int[]{chunk[0], middle});
+                    retry.add(new int[]{middle, chunk[1]});
+                }
+            }
+            CompletableFuture<Void> retryFuture = retry.isEmpty() ? CompletableFuture.completedFuture(null) : run(calls, callData, retry, block, results);
+            return retryFuture.thenCombine(callDirect(calls, direct, block, results), (a, b) -> null);
+        });
+    }
+
+    private CompletableFuture<Void> callDirect(List<ContractCall> calls, List<Integer> indexes, DefaultBlockParameter block, BatchResult<List<Type>>[] results) {
+        if (indexes.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<ReadCall<List<Type>>> readCalls = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            ContractCall call = calls.get(index);
+            readCalls.add(ReadCall.ethCall(call.getContractAddress(), call.getFunction(), block));
+        }
+        Web3jNetworkConfig.Batch batch = config.getBatch();
+        return BatchExecutor.execute(web3j, readCalls, batch.getMaxSize(), batch.getParallelism()).thenAccept(responses -> {
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = responses.get(i);
+            }
+        });
+    }
+
+    private static int tupleSize(String callData) {
+        return Constant.TUPLE_HEAD + padded((callData.length() - Constant.HEX_PREFIX.length()) / 2);
+    }
+
+    private static int padded(int length) {
+        return (length + Constant.WORD - 1) / Constant.WORD * Constant.WORD;
+    }
+
+    /**
+     * encode aggregate3((address target, bool allowFailure, bytes callData)[])
+     */
+    static String encode(List<ContractCall> calls, String[] callData, int from, int to) {
+        int count = to - from;
+        int capacity = Constant.HEX_PREFIX.length() + 8 + Constant.WORD * 4 * (2 + count);
+        for (int i = from; i < to; i++) {
+            capacity += tupleSize(callData[i]) * 2;
+        }
+        StringBuilder builder = new StringBuilder(capacity);
+        builder.append(Constant.HEX_PREFIX).append(Constant.AGGREGATE3_SELECTOR);
+        appendWord(builder, Constant.WORD);
+        appendWord(builder, count);
+        int offset = Constant.WORD * count;
+        for (int i = from; i < to; i++) {
+            appendWord(builder, offset);
+            offset += tupleSize(callData[i]) - Constant.WORD;
+        }
+        for (int i = from; i < to; i++) {
+            String address = Numeric.cleanHexPrefix(calls.get(i).getContractAddress()).toLowerCase();
+            String data = callData[i].substring(Constant.HEX_PREFIX.length());
+            appendPadding(builder, Constant.WORD * 2 - address.length());
+            builder.append(address);
+            appendWord(builder, 1);
+            appendWord(builder, Constant.WORD * 3);
+            appendWord(builder, data.length() / 2);
+            builder.append(data);
+            appendPadding(builder, padded(data.length() / 2) * 2 - data.length());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * decode (bool success, bytes returnData)[]
+     */
+    static void decode(List<ContractCall> calls, String data, int from, int to, BatchResult<List<Type>>[] results) {
+        byte[] bytes = Numeric.hexStringToByteArray(data);
+        int array = readWord(bytes, 0);
+        int count = readWord(bytes, array);
+        if (count != to - from) {
+            throw new IllegalStateException("Multicall3 returned " + count + " results for " + (to - from) + " calls");
+        }
+        int base = array + Constant.WORD;
+        for (int i = 0; i < count; i++) {
+            int tuple = base + readWord(bytes, base + Constant.WORD * i);
+            boolean success = readWord(bytes, tuple) != 0;
+            int returnData = tuple + readWord(bytes, tuple + Constant.WORD);
+            int length = readWord(bytes, returnData);
+            ContractCall call = calls.get(from + i);
+            if (!success) {
+                results[from + i] = BatchResult.failure(new IllegalStateException(
+                        "Call " + call.getFunction().getName() + " reverted on " + call.getContractAddress()));
+                continue;
+            }
+            int start = returnData + Constant.WORD;
+            if (start + length > bytes.length) {
+                throw new IllegalStateException("Multicall3 response out of range");
+            }
+            String hex = Numeric.toHexString(Arrays.copyOfRange(bytes, start, start + length));
+            results[from + i] = BatchResult.success(FunctionReturnDecoder.decode(hex, call.getFunction().getOutputParameters()));
+        }
+    }
+
+    private static int readWord(byte[] bytes, int offset) {
+        if (offset < 0 || offset + Constant.WORD > bytes.length) {
+            throw new IllegalStateException("Multicall3 response out of range");
+        }
+        return new BigInteger(1, Arrays.copyOfRange(bytes, offset, offset + Constant.WORD)).intValueExact();
+    }
+
+    private static void appendWord(StringBuilder builder, long value) {
+        String hex = Long.toHexString(value);
+        appendPadding(builder, Constant.WORD * 2 - hex.length());
+        builder.append(hex);
+    }
+
+    private static void appendPadding(StringBuilder builder, int zeros) {
+        for (int i = 0; i < zeros; i++) {
+            builder.append('0');
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BatchResult<List<Type>>[] newResultArray(int size) {
+        return (BatchResult<List<Type>>[]) new BatchResult<?>[size];
+    }
+}
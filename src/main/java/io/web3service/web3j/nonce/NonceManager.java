@@ -0,0 +1,313 @@
+package io.web3service.web3j.nonce;
+
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * Nonces of one sender on one network handed out in memory. The pending transaction count is read
+ * at first use, after a nonce error or a send with unknown outcome, and once the lowest accepted nonce
+ * stays uncounted by the chain for longer than the grace period; nonces of rejected sends, nonces lost
+ * below the local counter and an accepted nonce the node dropped become gaps, and gaps are handed out
+ * first so later transactions are not stuck behind them. The pending count stops at the first missing
+ * nonce, so only the nonce equal to it can be reclaimed; accepted nonces above it stay queued in the pool
+ * and are kept until the count passes them.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class NonceManager {
+
+    private static class Constant {
+        /**
+         * node errors meaning the local counter and the chain disagree
+         */
+        private static final String[] NONCE_ERRORS = {"nonce too low", "nonce too high",
+                "replacement transaction underpriced", "invalid nonce", "nonce is too"};
+        /**
+         * node errors meaning the same signed transaction is already in the pool, the send succeeded
+         */
+        private static final String[] ALREADY_KNOWN = {"already known", "known transaction", "already imported"};
+        /**
+         * an accepted nonce equal to the chain pending count after this long was dropped by the node
+         */
+        private static final long SENT_GRACE_MILLIS = 60_000L;
+        /**
+         * max nonces checked for gaps after a sync
+         */
+        private static final long MAX_GAP_SCAN = 10_000L;
+    }
+
+    @Getter
+    private final String network;
+
+    @Getter
+    private final String address;
+
+    private final Web3jServiceTemplate template;
+
+    private final LongSupplier clock;
+
+    private long next;
+
+    /**
+     * unused nonces below next, handed out first
+     */
+    private final TreeSet<Long> gaps = new TreeSet<>();
+
+    /**
+     * leased nonces whose send has not completed
+     */
+    private final Set<Long> outstanding = new HashSet<>();
+
+    /**
+     * nonces accepted by a node but not yet counted by the chain pending count, with the accept time
+     */
+    private final TreeMap<Long, Long> sent = new TreeMap<>();
+
+    private boolean synced;
+
+    private CompletableFuture<Void> syncing;
+
+    public NonceManager(Web3jServiceTemplate template, String network, String address) {
+        this(template, network, address, System::currentTimeMillis);
+    }
+
+    NonceManager(Web3jServiceTemplate template, String network, String address, LongSupplier clock) {
+        this.template = template;
+        this.clock = clock;
+        this.network = network;
+        this.address = address.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * lease of a nonce, completed with the send result
+     */
+    public class Lease {
+
+        @Getter
+        private final BigInteger nonce;
+
+        private boolean completed;
+
+        private Lease(long nonce) {
+            this.nonce = BigInteger.valueOf(nonce);
+        }
+
+        /**
+         * record the send result: accepted nonces are kept, rejected ones become gaps and nonce errors
+         * or unknown outcomes sync with the chain before the next lease
+         * @param response response, null when ex is set
+         * @param ex       send failure
+         */
+        public void complete(EthSendTransaction response, Throwable ex) {
+            synchronized (NonceManager.this) {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+                long value = nonce.longValue();
+                outstanding.remove(value);
+                if (Objects.nonNull(ex) || Objects.isNull(response)) {
+                    // may have reached the node
+                    synced = false;
+                } else if (!response.hasError() || isAlreadyKnown(response)) {
+                    sent.put(value, clock.getAsLong());
+                } else if (isNonceError(response)) {
+                    log.debug("Nonce {} of {} on network {} out of sync: {}", value, address, network, response.getError().getMessage());
+                    synced = false;
+                } else {
+                    gaps.add(value);
+                }
+            }
+        }
+
+        /**
+         * give the nonce back unused, the transaction was never sent
+         */
+        public void release() {
+            synchronized (NonceManager.this) {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+                outstanding.remove(nonce.longValue());
+                gaps.add(nonce.longValue());
+            }
+        }
+    }
+
+    /**
+     * lease the next nonce
+     * @return lease, complete it with the send result
+     */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
+    public Lease acquire() {
+        return acquireAsync().get();
+    }
+
+    /**
+     * lease the next nonce, completed from memory unless a sync is due
+     * @return lease, complete it with the send result
+     */
+    public CompletableFuture<Lease> acquireAsync() {
+        CompletableFuture<Void> sync;
+        synchronized (this) {
+            if (synced && !hasStaleSent()) {
+                return CompletableFuture.completedFuture(lease());
+            }
+            sync = sync();
+        }
+        return sync.thenApply(v -> {
+            synchronized (this) {
+                return lease();
+            }
+        });
+    }
+
+    /**
+     * sync with the chain pending count before the next lease
+     */
+    public synchronized void invalidate() {
+        synced = false;
+    }
+
+    /**
+     * next nonce the counter would hand out, gaps aside
+     * @return next nonce, 0 before the first sync
+     */
+    public synchronized long getNext() {
+        return next;
+    }
+
+    public synchronized int getGapCount() {
+        return gaps.size();
+    }
+
+    /**
+     * whether a send error means the nonce is out of sync with the chain
+     * @param response response
+     * @return nonce error
+     */
+    public static boolean isNonceError(EthSendTransaction response) {
+        return matches(response, Constant.NONCE_ERRORS);
+    }
+
+    /**
+     * whether the send was rejected because the same signed transaction is already known to the node,
+     * the transaction is in the pool and its hash is the hash of the signed transaction
+     * @param response response
+     * @return already known
+     */
+    public static boolean isAlreadyKnown(EthSendTransaction response) {
+        return matches(response, Constant.ALREADY_KNOWN);
+    }
+
+    private static boolean matches(EthSendTransaction response, String[] patterns) {
+        if (Objects.isNull(response) || !response.hasError() || Objects.isNull(response.getError().getMessage())) {
+            return false;
+        }
+        String message = response.getError().getMessage().toLowerCase(Locale.ROOT);
+        for (String pattern : patterns) {
+            if (message.contains(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * whether the lowest accepted nonce is overdue with nothing below it waiting to be sent, a gap or
+     * lease below it explains why the chain has not counted it
+     */
+    private boolean hasStaleSent() {
+        if (sent.isEmpty()) {
+            return false;
+        }
+        Map.Entry<Long, Long> first = sent.firstEntry();
+        if (clock.getAsLong() - first.getValue() <= Constant.SENT_GRACE_MILLIS) {
+            return false;
+        }
+        if (!gaps.isEmpty() && gaps.first() < first.getKey()) {
+            return false;
+        }
+        for (Long value : outstanding) {
+            if (value < first.getKey()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Lease lease() {
+        long value = gaps.isEmpty() ? next++ : gaps.pollFirst();
+        outstanding.add(value);
+        return new Lease(value);
+    }
+
+    private CompletableFuture<Void> sync() {
+        if (Objects.nonNull(syncing)) {
+            return syncing;
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        syncing = future;
+        CompletableFuture<BigInteger> count;
+        try {
+            count = template.callAsync(network, ReadCall.ethGetTransactionCount(address, DefaultBlockParameterName.PENDING));
+        } catch (RuntimeException e) {
+            count = new CompletableFuture<>();
+            count.completeExceptionally(e);
+        }
+        count.whenComplete((pending, ex) -> {
+            synchronized (this) {
+                syncing = null;
+                if (Objects.isNull(ex)) {
+                    onSynced(pending.longValueExact());
+                }
+            }
+            if (Objects.nonNull(ex)) {
+                future.completeExceptionally(ex);
+            } else {
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    private void onSynced(long pending) {
+        gaps.headSet(pending).clear();
+        sent.headMap(pending).clear();
+        // the next nonce the chain expects, accepted but still not counted after the grace period: dropped by the
+        // node, hand it out again. Higher accepted nonces wait in the pool behind it and are kept
+        Long acceptedAt = sent.get(pending);
+        if (Objects.nonNull(acceptedAt) && clock.getAsLong() - acceptedAt > Constant.SENT_GRACE_MILLIS) {
+            log.warn("Nonce {} of {} on network {} not counted by the chain after {}ms, sending it again", pending, address, network,
+                    Constant.SENT_GRACE_MILLIS);
+            sent.remove(pending);
+        }
+        next = Math.max(next, pending);
+        // nonces between the chain and the counter that are neither in flight nor accepted were lost
+        for (long value = pending; value < next && value - pending < Constant.MAX_GAP_SCAN; value++) {
+            if (!outstanding.contains(value) && !sent.containsKey(value)) {
+                gaps.add(value);
+            }
+        }
+        synced = true;
+        log.debug("Nonce of {} on network {} synced, pending: {}, next: {}, gaps: {}", address, network, pending, next, gaps.size());
+    }
+}
@@ -0,0 +1,43 @@
+package io.web3service.web3j.nonce;
+
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import lombok.Getter;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Nonce managers of the senders of a network, shared by every endpoint of the network.
+ * @author github.com/x-saofen
+ */
+public class NonceRegistry {
+
+    @Getter
+    private final String network;
+
+    private final Web3jServiceTemplate template;
+
+    private final Map<String, NonceManager> managers = new ConcurrentHashMap<>();
+
+    public NonceRegistry(Web3jServiceTemplate template, String network) {
+        this.template = template;
+        this.network = network;
+    }
+
+    /**
+     * nonce manager of a sender
+     * @param address sender address
+     * @return NonceManager
+     */
+    public NonceManager get(String address) {
+        return managers.computeIfAbsent(address.toLowerCase(Locale.ROOT), key -> new NonceManager(template, network, key));
+    }
+
+    /**
+     * sync every sender with the chain before its next lease
+     */
+    public void invalidateAll() {
+        managers.values().forEach(NonceManager::invalidate);
+    }
+}
@@ -0,0 +1,269 @@
+package io.web3service.web3j.payout;
+
+import io.web3service.web3j.batch.BatchExecutor;
+import io.web3service.web3j.batch.BatchResult;
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.JsonRpcException;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jNetworkService;
+import io.web3service.web3j.nonce.NonceManager;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Sends many transfers of one sender: nonces are assigned up front, transactions are signed in
+ * parallel on a pool sized to the cores, and the raw transactions go out as JSON-RPC batches.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class PayoutExecutor {
+
+    private static final AtomicInteger SIGNER_THREADS = new AtomicInteger();
+
+    private static final ExecutorService SIGNER = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+        Thread thread = new Thread(runnable, "web3j-signer-" + SIGNER_THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static class Constant {
+        private static final String[] UNDERPRICED = {"underpriced", "fee too low", "less than block base fee", "feecap", "fee cap", "max priority fee"};
+        private static final String[] INSUFFICIENT_FUNDS = {"insufficient funds", "insufficient balance"};
+        private static final String[] GAS = {"intrinsic gas", "gas limit", "out of gas"};
+        /**
+         * min transfers per signing task
+         */
+        private static final int MIN_SIGN_CHUNK = 16;
+    }
+
+    private PayoutExecutor() {
+    }
+
+    /**
+     * sign and send transfers
+     *
+     * @param service     network service
+     * @param credentials wallet
+     * @param chainId     chain id, null signs without replay protection
+     * @param transfers   transfers
+     * @param transaction transaction of a transfer and its nonce, runs on the signing pool
+     * @return results in transfer order, completes exceptionally only when nonces cannot be fetched, before anything is sent
+     */
+    public static CompletableFuture<List<PayoutResult>> execute(Web3jNetworkService service, Credentials credentials, Long chainId,
+                                                                List<PayoutTransfer> transfers, BiFunction<PayoutTransfer, BigInteger, RawTransaction> transaction) {
+        if (transfers.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        NonceManager nonceManager = Objects.isNull(service.getNonceRegistry()) ? null : service.getNonceRegistry().get(credentials.getAddress());
+        return acquire(service, nonceManager, credentials.getAddress(), transfers)
+                .thenCompose(payouts -> sign(credentials, chainId, payouts, transaction))
+                .thenCompose(signed -> submit(service, signed));
+    }
+
+    /**
+     * transfer with its nonce on the way through
+     */
+    private static class Payout {
+        private final PayoutTransfer transfer;
+        private final NonceManager.Lease lease;
+        private final BigInteger nonce;
+        private String signed;
+        private PayoutResult result;
+
+        private Payout(PayoutTransfer transfer, NonceManager.Lease lease, BigInteger nonce) {
+            this.transfer = transfer;
+            this.lease = lease;
+            this.nonce = nonce;
+        }
+    }
+
+    /**
+     * leases of the nonce manager, or consecutive nonces after the pending transaction count
+     */
+    private static CompletableFuture<List<Payout>> acquire(Web3jNetworkService service, NonceManager nonceManager, String address, List<PayoutTransfer> transfers) {
+        int count = transfers.size();
+        if (Objects.isNull(nonceManager)) {
+            return service.ethGetTransactionCount(address, DefaultBlockParameterName.PENDING).sendAsync().thenApply(response -> {
+                if (response.hasError()) {
+                    throw new JsonRpcException(response.getError());
+                }
+                BigInteger first = response.getTransactionCount();
+                List<Payout> payouts = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    payouts.add(new Payout(transfers.get(i), null, first.add(BigInteger.valueOf(i))));
+                }
+                return payouts;
+            });
+        }
+        // the first lease syncs the manager, the rest share the sync
+        List<CompletableFuture<NonceManager.Lease>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(nonceManager.acquireAsync());
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).handle((v, ex) -> {
+            List<NonceManager.Lease> leases = new ArrayList<>(count);
+            for (CompletableFuture<NonceManager.Lease> future : futures) {
+                if (!future.isCompletedExceptionally()) {
+                    leases.add(future.join());
+                }
+            }
+            if (Objects.nonNull(ex)) {
+                leases.forEach(NonceManager.Lease::release);
+                throw ex instanceof CompletionException ? (CompletionException) ex : new CompletionException(ex);
+            }
+            // lowest nonce to the first transfer
+            leases.sort(Comparator.comparing(NonceManager.Lease::getNonce));
+            List<Payout> payouts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                payouts.add(new Payout(transfers.get(i), leases.get(i), leases.get(i).getNonce()));
+            }
+            return payouts;
+        });
+    }
+
+    private static CompletableFuture<List<Payout>> sign(Credentials credentials, Long chainId, List<Payout> payouts,
+                                                        BiFunction<PayoutTransfer, BigInteger, RawTransaction> transaction) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunk = Math.max(Constant.MIN_SIGN_CHUNK, (payouts.size() + threads - 1) / threads);
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < payouts.size(); from += chunk) {
+            List<Payout> part = payouts.subList(from, Math.min(from + chunk, payouts.size()));
+            tasks.add(CompletableFuture.runAsync(() -> part.forEach(payout -> sign(credentials, chainId, transaction, payout)), SIGNER));
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).thenApply(v -> payouts);
+    }
+
+    private static void sign(Credentials credentials, Long chainId, BiFunction<PayoutTransfer, BigInteger, RawTransaction> transaction, Payout payout) {
+        try {
+            RawTransaction rawTransaction = transaction.apply(payout.transfer, payout.nonce);
+            byte[] signMessage = Objects.isNull(chainId) ? TransactionEncoder.signMessage(rawTransaction, credentials)
+                    : TransactionEncoder.signMessage(rawTransaction, chainId, credentials);
+            payout.signed = Numeric.toHexString(signMessage);
+        } catch (RuntimeException e) {
+            if (Objects.nonNull(payout.lease)) {
+                payout.lease.release();
+            }
+            payout.result = new PayoutResult(payout.transfer, payout.nonce, null, PayoutResult.Error.SIGNING, e.getMessage());
+        }
+    }
+
+    private static CompletableFuture<List<PayoutResult>> submit(Web3jNetworkService service, List<Payout> payouts) {
+        List<Payout> signed = new ArrayList<>(payouts.size());
+        List<ReadCall<EthSendTransaction>> calls = new ArrayList<>(payouts.size());
+        for (Payout payout : payouts) {
+            if (Objects.isNull(payout.result)) {
+                signed.add(payout);
+                calls.add(ReadCall.of(web3j -> web3j.ethSendRawTransaction(payout.signed), response -> response));
+            }
+        }
+        Web3jNetworkConfig.Batch batch = service.getConfig().getBatch();
+        return BatchExecutor.<EthSendTransaction>execute(service, calls, batch.getMaxSize(), batch.getParallelism()).thenApply(results -> {
+            for (int i = 0; i < signed.size(); i++) {
+                signed.get(i).result = complete(signed.get(i), results.get(i));
+            }
+            PayoutResult[] ordered = new PayoutResult[payouts.size()];
+            int failed = 0;
+            // payouts are in nonce order, accepted transfers after an unsent nonce wait in the pool for it
+            BigInteger gap = null;
+            for (int i = 0; i < payouts.size(); i++) {
+                PayoutResult result = payouts.get(i).result;
+                if (Objects.nonNull(gap) && result.isSuccess()) {
+                    result = new PayoutResult(result.getTransfer(), result.getNonce(), result.getTransactionHash(),
+                            PayoutResult.Error.NONCE_GAP, "queued behind unsent nonce " + gap);
+                } else if (Objects.isNull(gap) && leavesGap(result.getError())) {
+                    gap = result.getNonce();
+                }
+                ordered[i] = result;
+                failed += ordered[i].isSuccess() ? 0 : 1;
+            }
+            if (failed > 0) {
+                log.warn("Payout of {} transfers on network {}: {} failed", payouts.size(), service.getNetwork(), failed);
+            }
+            return Arrays.asList(ordered);
+        });
+    }
+
+    private static PayoutResult complete(Payout payout, BatchResult<EthSendTransaction> result) {
+        EthSendTransaction response = result.getValue();
+        if (Objects.isNull(response) && Objects.nonNull(result.getError())) {
+            response = new EthSendTransaction();
+            response.setError(result.getError());
+        }
+        if (NonceManager.isAlreadyKnown(response)) {
+            // the same signed transaction is already in the pool
+            response = Web3jNetworkService.alreadyKnown(response, payout.signed);
+        }
+        if (Objects.nonNull(payout.lease)) {
+            payout.lease.complete(response, result.getException());
+        }
+        if (Objects.isNull(response)) {
+            Throwable ex = result.getException();
+            return new PayoutResult(payout.transfer, payout.nonce, null, PayoutResult.Error.UNKNOWN, Objects.isNull(ex) ? null : ex.getMessage());
+        }
+        if (!response.hasError()) {
+            return new PayoutResult(payout.transfer, payout.nonce, response.getTransactionHash(), null, null);
+        }
+        return new PayoutResult(payout.transfer, payout.nonce, null, classify(response), response.getError().getMessage());
+    }
+
+    /**
+     * error type of a rejected transaction
+     * @param response send response with an error
+     * @return error type
+     */
+    public static PayoutResult.Error classify(EthSendTransaction response) {
+        if (NonceManager.isNonceError(response)) {
+            return PayoutResult.Error.NONCE;
+        }
+        Response.Error error = response.getError();
+        String message = Objects.isNull(error.getMessage()) ? "" : error.getMessage().toLowerCase(Locale.ROOT);
+        if (matches(message, Constant.INSUFFICIENT_FUNDS)) {
+            return PayoutResult.Error.INSUFFICIENT_FUNDS;
+        }
+        if (matches(message, Constant.UNDERPRICED)) {
+            return PayoutResult.Error.UNDERPRICED;
+        }
+        if (matches(message, Constant.GAS)) {
+            return PayoutResult.Error.GAS;
+        }
+        return PayoutResult.Error.REJECTED;
+    }
+
+    /**
+     * whether the error means the transaction was not sent and its nonce stays unused, a nonce error
+     * means the nonce is taken or ahead of the chain, an unknown outcome may have been sent
+     */
+    private static boolean leavesGap(PayoutResult.Error error) {
+        return Objects.nonNull(error) && error != PayoutResult.Error.NONCE && error != PayoutResult.Error.UNKNOWN
+                && error != PayoutResult.Error.NONCE_GAP;
+    }
+
+    private static boolean matches(String message, String[] patterns) {
+        for (String pattern : patterns) {
+            if (message.contains(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
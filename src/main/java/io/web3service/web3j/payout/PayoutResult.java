@@ -0,0 +1,75 @@
+package io.web3service.web3j.payout;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Submission result of one payout transfer.
+ * @author github.com/x-saofen
+ */
+@Getter
+@AllArgsConstructor
+public class PayoutResult {
+
+    public enum Error {
+        /**
+         * nonce out of sync with the chain, not sent
+         */
+        NONCE,
+        /**
+         * fee below the pool minimum or the replaced transaction, not sent
+         */
+        UNDERPRICED,
+        /**
+         * balance below value plus fee, not sent
+         */
+        INSUFFICIENT_FUNDS,
+        /**
+         * gas limit too low or above the block limit, not sent
+         */
+        GAS,
+        /**
+         * transaction could not be built or signed, not sent
+         */
+        SIGNING,
+        /**
+         * other node error, not sent
+         */
+        REJECTED,
+        /**
+         * transport failure, the transaction may have been sent
+         */
+        UNKNOWN,
+        /**
+         * accepted, but queued behind an earlier nonce of the payout that was not sent; it executes once
+         * that nonce is used by another transaction of the sender, do not send the transfer again
+         */
+        NONCE_GAP
+    }
+
+    private final PayoutTransfer transfer;
+
+    /**
+     * nonce, null when none was assigned
+     */
+    private final BigInteger nonce;
+
+    /**
+     * transaction hash, null unless accepted (also set for NONCE_GAP)
+     */
+    private final String transactionHash;
+
+    /**
+     * error type, null when accepted
+     */
+    private final Error error;
+
+    private final String message;
+
+    public boolean isSuccess() {
+        return Objects.isNull(error);
+    }
+}
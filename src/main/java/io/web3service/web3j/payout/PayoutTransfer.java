@@ -0,0 +1,40 @@
+package io.web3service.web3j.payout;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigInteger;
+
+/**
+ * One transfer of a bulk payout.
+ * @author github.com/x-saofen
+ */
+@Getter
+@AllArgsConstructor
+public class PayoutTransfer {
+
+    /**
+     * ERC-20 contract, null for a native transfer
+     */
+    private final String contractAddress;
+
+    private final String toAddress;
+
+    /**
+     * amount in wei or token base units
+     */
+    private final BigInteger value;
+
+    /**
+     * gas limit, null uses 21000 for native and 100000 for ERC-20 transfers
+     */
+    private final BigInteger gasLimit;
+
+    public static PayoutTransfer ether(String toAddress, BigInteger value) {
+        return new PayoutTransfer(null, toAddress, value, null);
+    }
+
+    public static PayoutTransfer erc20(String contractAddress, String toAddress, BigInteger value) {
+        return new PayoutTransfer(contractAddress, toAddress, value, null);
+    }
+}
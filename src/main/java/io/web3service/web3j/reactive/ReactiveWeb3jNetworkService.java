@@ -0,0 +1,218 @@
+package io.web3service.web3j.reactive;
+
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.Web3jNetworkService;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import lombok.Getter;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Convert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Reactor view of a network, every subscription selects its endpoint through the
+ * {@link Web3jServiceTemplate} load balancer. Nothing is sent before subscription.
+ * @author github.com/x-saofen
+ */
+public class ReactiveWeb3jNetworkService {
+
+    private static class Constant {
+        private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(1);
+        private static final int DEFAULT_LOG_BLOCK_RANGE = 100;
+    }
+
+    private final Web3jServiceTemplate template;
+
+    @Getter
+    private final String network;
+
+    public ReactiveWeb3jNetworkService(Web3jServiceTemplate template, String network) {
+        this.template = template;
+        this.network = network;
+    }
+
+    /**
+     * run an action against the endpoint selected at subscription time
+     * @param action action of a endpoint
+     * @return Mono
+     */
+    public <T> Mono<T> select(Function<Web3jNetworkService, CompletableFuture<T>> action) {
+        return Mono.fromFuture(() -> action.apply(template.getNextTemplate(network)));
+    }
+
+    /**
+     * read call with failover and hedging of the template
+     * @param call call
+     * @return Mono, empty when the decoded value is null
+     */
+    public <T> Mono<T> call(ReadCall<T> call) {
+        return Mono.fromFuture(() -> template.callAsync(network, call));
+    }
+
+    public Mono<Long> getChainId() {
+        return select(Web3jNetworkService::getChainIdAsync);
+    }
+
+    public Mono<String> getContractName(String contractAddress) {
+        return select(service -> service.getContractNameAsync(contractAddress)).flatMap(Mono::justOrEmpty);
+    }
+
+    public Mono<String> getErc20ContractSymbol(String contractAddress) {
+        return select(service -> service.getErc20ContractSymbolAsync(contractAddress)).flatMap(Mono::justOrEmpty);
+    }
+
+    public Mono<BigInteger> getErc20ContractDecimals(String contractAddress) {
+        return select(service -> service.getErc20ContractDecimalsAsync(contractAddress));
+    }
+
+    public Mono<BigInteger> getErc20ContractTotalSupply(String contractAddress) {
+        return select(service -> service.getErc20ContractTotalSupplyAsync(contractAddress));
+    }
+
+    public Mono<BigInteger> getErc20ContractBalancesOf(String contractAddress, String address) {
+        return select(service -> service.getErc20ContractBalancesOfAsync(contractAddress, address));
+    }
+
+    public Mono<BigInteger> allowance(String owner, String spender, String contractAddress) {
+        return select(service -> service.allowanceAsync(owner, spender, contractAddress));
+    }
+
+    public Mono<String> getContractBinary(String contractAddress) {
+        return select(service -> service.getContractBinaryAsync(contractAddress)).flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * see {@link Web3jNetworkService#simpleTransfer(Credentials, String, BigInteger, BigInteger, BigInteger, BigInteger, String, Long)}
+     */
+    public Mono<EthSendTransaction> simpleTransfer(Credentials credentials, String toAddress, BigInteger gasPrice, BigInteger gasLimit, BigInteger nonce, BigInteger value, String contractAddress, Long chainId) {
+        return select(service -> service.simpleTransferAsync(credentials, toAddress, gasPrice, gasLimit, nonce, value, contractAddress, chainId));
+    }
+
+    /**
+     * see {@link Web3jNetworkService#simpleEIP1559Transfer(Credentials, String, BigDecimal, Convert.Unit)}
+     */
+    public Mono<TransactionReceipt> simpleEIP1559Transfer(Credentials credentials, String toAddress, BigDecimal value, Convert.Unit unit) {
+        return select(service -> service.simpleEIP1559TransferAsync(credentials, toAddress, value, unit));
+    }
+
+    /**
+     * see {@link Web3jNetworkService#simpleEIP1559Transfer(String, Credentials, String, BigDecimal, Convert.Unit, BigInteger, BigInteger)}
+     */
+    public Mono<EthSendTransaction> simpleEIP1559Transfer(String contractAddress, Credentials credentials, String toAddress, BigDecimal value, Convert.Unit unit, BigInteger gasLimit, BigInteger nonce) {
+        return select(service -> service.simpleEIP1559TransferAsync(contractAddress, credentials, toAddress, value, unit, gasLimit, nonce));
+    }
+
+    public Mono<BigInteger> getBlockNumber() {
+        return call(ReadCall.ethBlockNumber());
+    }
+
+    /**
+     * block by number
+     * @param blockNumber         block number
+     * @param fullTransactions    return full transaction objects
+     * @return Mono, empty when the block does not exist yet
+     */
+    public Mono<EthBlock.Block> getBlockByNumber(BigInteger blockNumber, boolean fullTransactions) {
+        return call(ReadCall.of(web3j -> web3j.ethGetBlockByNumber(DefaultBlockParameter.valueOf(blockNumber), fullTransactions), EthBlock::getBlock));
+    }
+
+    public Mono<TransactionReceipt> getTransactionReceipt(String transactionHash) {
+        return call(ReadCall.ethGetTransactionReceipt(transactionHash));
+    }
+
+    /**
+     * logs of a closed block range
+     * @param addresses contract addresses
+     * @param topics    topics by position, null is a wildcard
+     * @param fromBlock from block
+     * @param toBlock   to block
+     * @return Flux
+     */
+    public Flux<Log> getLogs(List<String> addresses, List<String> topics, BigInteger fromBlock, BigInteger toBlock) {
+        return call(ReadCall.ethGetLogs(addresses, topics, fromBlock, toBlock)).flatMapIterable(logs -> logs);
+    }
+
+    /**
+     * blocks from a block number onward, following the chain head
+     */
+    public Flux<EthBlock.Block> blocks(BigInteger fromBlock, boolean fullTransactions) {
+        return blocks(fromBlock, fullTransactions, Constant.DEFAULT_POLL_INTERVAL);
+    }
+
+    /**
+     * blocks from a block number onward, following the chain head. Blocks are fetched one at a time
+     * as the subscriber requests them, never more than one ahead of demand, a missing block is polled until mined.
+     * @param fromBlock        first block
+     * @param fullTransactions return full transaction objects
+     * @param pollInterval     poll interval once the head is reached
+     * @return Flux
+     */
+    public Flux<EthBlock.Block> blocks(BigInteger fromBlock, boolean fullTransactions, Duration pollInterval) {
+        return Flux.<BigInteger, BigInteger>generate(() -> fromBlock, (next, sink) -> {
+            sink.next(next);
+            return next.add(BigInteger.ONE);
+        }).concatMap(number -> getBlockByNumber(number, fullTransactions)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(pollInterval)), 1);
+    }
+
+    /**
+     * blocks mined after subscription
+     */
+    public Flux<EthBlock.Block> newBlocks(boolean fullTransactions, Duration pollInterval) {
+        return getBlockNumber().flatMapMany(head -> blocks(head.add(BigInteger.ONE), fullTransactions, pollInterval));
+    }
+
+    /**
+     * logs from a block number onward, following the chain head
+     */
+    public Flux<Log> logs(List<String> addresses, List<String> topics, BigInteger fromBlock) {
+        return logs(addresses, topics, fromBlock, Constant.DEFAULT_LOG_BLOCK_RANGE, Constant.DEFAULT_POLL_INTERVAL);
+    }
+
+    /**
+     * logs from a block number onward, following the chain head. Block ranges are queried one
+     * at a time as the subscriber drains the logs, never more than one range ahead of demand. The head
+     * and the logs of a range are read from the same endpoint, so a lagging endpoint never answers a range
+     * above its head. Reorgs are not handled: logs of a block replaced after delivery are not retracted,
+     * use {@link io.web3service.web3j.block.BlockFollower} for reorg-aware streams.
+     * @param addresses    contract addresses
+     * @param topics       topics by position, null is a wildcard
+     * @param fromBlock    first block
+     * @param blockRange   max blocks of a eth_getLogs
+     * @param pollInterval poll interval once the head is reached
+     * @return Flux
+     */
+    public Flux<Log> logs(List<String> addresses, List<String> topics, BigInteger fromBlock, int blockRange, Duration pollInterval) {
+        BigInteger range = BigInteger.valueOf(Math.max(1, blockRange));
+        return Flux.defer(() -> {
+            AtomicReference<BigInteger> next = new AtomicReference<>(fromBlock);
+            Mono<List<Log>> nextRange = this.<List<Log>>select(service -> service.readAsync(ReadCall.ethBlockNumber()).thenCompose(head -> {
+                        BigInteger from = next.get();
+                        if (head.compareTo(from) < 0) {
+                            // empty, polled again
+                            return CompletableFuture.completedFuture(null);
+                        }
+                        BigInteger to = head.min(from.add(range).subtract(BigInteger.ONE));
+                        return service.readAsync(ReadCall.ethGetLogs(addresses, topics, from, to)).thenApply(logs -> {
+                            next.set(to.add(BigInteger.ONE));
+                            return logs;
+                        });
+                    }))
+                    .repeatWhenEmpty(attempts -> attempts.delayElements(pollInterval));
+            return nextRange.repeat().concatMapIterable(logs -> logs, 1);
+        });
+    }
+}
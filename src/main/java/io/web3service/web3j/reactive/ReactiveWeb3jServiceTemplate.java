@@ -0,0 +1,27 @@
+package io.web3service.web3j.reactive;
+
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reactor counterpart of {@link Web3jServiceTemplate}, one {@link ReactiveWeb3jNetworkService} per network
+ * @author github.com/x-saofen
+ */
+public class ReactiveWeb3jServiceTemplate {
+
+    @Getter
+    private final Web3jServiceTemplate web3jServiceTemplate;
+
+    private final Map<String, ReactiveWeb3jNetworkService> networkServices = new ConcurrentHashMap<>();
+
+    public ReactiveWeb3jServiceTemplate(Web3jServiceTemplate web3jServiceTemplate) {
+        this.web3jServiceTemplate = web3jServiceTemplate;
+    }
+
+    public ReactiveWeb3jNetworkService getNetworkService(String network) {
+        return networkServices.computeIfAbsent(network, key -> new ReactiveWeb3jNetworkService(web3jServiceTemplate, key));
+    }
+}
@@ -0,0 +1,313 @@
+package io.web3service.web3j.receipt;
+
+import io.web3service.web3j.batch.BatchResult;
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import java.io.Closeable;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits for receipts of many transactions of a network with one poll per new block: the receipts
+ * of all pending transactions, and the mined nonce of their senders, go out together as JSON-RPC
+ * batches, so the load grows with the batch count instead of the transaction count. A receipt
+ * completes once it is receipt.confirmations blocks deep, and a transaction whose nonce was mined
+ * by another transaction fails as replaced.
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class ReceiptTracker implements Closeable {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "web3j-receipt-tracker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static class Constant {
+        /**
+         * polls seeing the nonce mined without receipt before a transaction counts as replaced
+         */
+        private static final int REPLACED_POLLS = 2;
+    }
+
+    @Getter
+    private final String network;
+
+    private final Web3jServiceTemplate template;
+
+    private final Web3jNetworkConfig.Receipt options;
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    private final ScheduledFuture<?> timer;
+
+    private volatile long head = -1L;
+
+    private volatile long lastPushAt;
+
+    private long polledHead = -1L;
+
+    private boolean polling;
+
+    private boolean pollAgain;
+
+    private boolean headRefreshing;
+
+    public ReceiptTracker(Web3jServiceTemplate template, String network, Web3jNetworkConfig.Receipt options) {
+        this.template = template;
+        this.network = network;
+        this.options = Objects.isNull(options) ? new Web3jNetworkConfig.Receipt() : options;
+        long pollMillis = Math.max(1L, this.options.getPollMillis());
+        this.timer = SCHEDULER.scheduleWithFixedDelay(this::tick, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * transaction waiting for its receipt
+     */
+    private static class Pending {
+        private final String hash;
+        private final String from;
+        private final BigInteger nonce;
+        private final long deadline;
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        private TransactionReceipt receipt;
+        private int replacedPolls;
+
+        private Pending(String hash, String from, BigInteger nonce, long deadline) {
+            this.hash = hash;
+            this.from = from;
+            this.nonce = nonce;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * wait for a receipt
+     * @param transactionHash transaction hash
+     * @return receipt
+     */
+    @SneakyThrows({ExecutionException.class, InterruptedException.class})
+    public TransactionReceipt waitForReceipt(String transactionHash) {
+        return track(transactionHash).get();
+    }
+
+    /**
+     * wait for a receipt, without replacement detection
+     * @param transactionHash transaction hash
+     * @return receipt, fails with TransactionException after receipt.timeout-millis
+     */
+    public CompletableFuture<TransactionReceipt> track(String transactionHash) {
+        return track(transactionHash, null, null);
+    }
+
+    /**
+     * wait for a receipt
+     * @param transactionHash transaction hash
+     * @param from            sender, null skips replacement detection
+     * @param nonce           nonce of the transaction, null skips replacement detection
+     * @return receipt, fails with TransactionException when replaced or after receipt.timeout-millis
+     */
+    public CompletableFuture<TransactionReceipt> track(String transactionHash, String from, BigInteger nonce) {
+        String key = transactionHash.toLowerCase(Locale.ROOT);
+        Pending created = new Pending(transactionHash, Objects.isNull(from) ? null : from.toLowerCase(Locale.ROOT), nonce,
+                System.currentTimeMillis() + options.getTimeoutMillis());
+        Pending existing = pending.putIfAbsent(key, created);
+        return (Objects.isNull(existing) ? created : existing).future;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * new head of the network, polls the pending transactions once per block
+     * @param number block number
+     */
+    public void onNewHead(long number) {
+        lastPushAt = System.currentTimeMillis();
+        onHead(number);
+    }
+
+    @Override
+    public void close() {
+        timer.cancel(false);
+        for (Pending entry : pending.values()) {
+            entry.future.completeExceptionally(new TransactionException("Receipt tracker of network " + network + " closed", entry.hash));
+        }
+        pending.clear();
+    }
+
+    private void onHead(long number) {
+        if (number > head) {
+            head = number;
+        }
+        poll();
+    }
+
+    /**
+     * timeouts, and the head when none is pushed
+     */
+    private void tick() {
+        try {
+            expire();
+            if (pending.isEmpty() || System.currentTimeMillis() - lastPushAt < options.getPollMillis()) {
+                return;
+            }
+            synchronized (this) {
+                if (headRefreshing) {
+                    return;
+                }
+                headRefreshing = true;
+            }
+            template.callAsync(network, ReadCall.ethBlockNumber()).whenComplete((number, ex) -> {
+                synchronized (this) {
+                    headRefreshing = false;
+                }
+                if (Objects.isNull(ex)) {
+                    onHead(number.longValue());
+                } else {
+                    log.debug("Receipt tracker of network {} head refresh failed: {}", network, ex.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                headRefreshing = false;
+            }
+            log.warn("Receipt tracker of network {} tick failed: {}", network, e.getMessage());
+        }
+    }
+
+    private void poll() {
+        long current;
+        synchronized (this) {
+            current = head;
+            if (pending.isEmpty() || current <= polledHead) {
+                return;
+            }
+            if (polling) {
+                pollAgain = true;
+                return;
+            }
+            polling = true;
+            polledHead = current;
+        }
+        List<Pending> entries = new ArrayList<>(pending.values());
+        List<ReadCall<?>> calls = new ArrayList<>(entries.size());
+        for (Pending entry : entries) {
+            calls.add(ReadCall.ethGetTransactionReceipt(entry.hash));
+        }
+        // mined nonce of senders waiting without receipt
+        Map<String, Integer> senders = new LinkedHashMap<>();
+        for (Pending entry : entries) {
+            if (Objects.nonNull(entry.from) && Objects.nonNull(entry.nonce) && Objects.isNull(entry.receipt) && !senders.containsKey(entry.from)) {
+                senders.put(entry.from, calls.size());
+                calls.add(ReadCall.ethGetTransactionCount(entry.from, DefaultBlockParameterName.LATEST));
+            }
+        }
+        CompletableFuture<List<BatchResult<Object>>> future;
+        try {
+            future = template.getNextTemplate(network).readBatchAsync(calls);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((results, ex) -> {
+            try {
+                if (Objects.isNull(ex)) {
+                    update(entries, senders, results, current);
+                } else {
+                    log.debug("Receipt tracker of network {} poll failed: {}", network, ex.getMessage());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Receipt tracker of network {} poll failed: {}", network, e.getMessage());
+            }
+            boolean again;
+            synchronized (this) {
+                polling = false;
+                again = pollAgain;
+                pollAgain = false;
+            }
+            if (again) {
+                poll();
+            }
+        });
+    }
+
+    private void update(List<Pending> entries, Map<String, Integer> senders, List<BatchResult<Object>> results, long current) {
+        int confirmations = Math.max(1, options.getConfirmations());
+        for (int i = 0; i < entries.size(); i++) {
+            Pending entry = entries.get(i);
+            BatchResult<Object> result = results.get(i);
+            if (!result.isSuccess()) {
+                continue;
+            }
+            TransactionReceipt receipt = (TransactionReceipt) result.getValue();
+            if (Objects.isNull(receipt)) {
+                if (Objects.nonNull(entry.receipt)) {
+                    // receipt block dropped by a reorg
+                    log.debug("Receipt of {} on network {} removed by a reorg", entry.hash, network);
+                }
+                entry.receipt = null;
+                checkReplaced(entry, senders, results);
+                continue;
+            }
+            entry.receipt = receipt;
+            entry.replacedPolls = 0;
+            if (current - receipt.getBlockNumber().longValue() + 1 >= confirmations) {
+                finish(entry);
+                entry.future.complete(receipt);
+            }
+        }
+    }
+
+    private void checkReplaced(Pending entry, Map<String, Integer> senders, List<BatchResult<Object>> results) {
+        Integer index = Objects.isNull(entry.from) ? null : senders.get(entry.from);
+        if (Objects.isNull(index) || !results.get(index).isSuccess()) {
+            return;
+        }
+        BigInteger mined = (BigInteger) results.get(index).getValue();
+        if (mined.compareTo(entry.nonce) <= 0) {
+            entry.replacedPolls = 0;
+        } else if (++entry.replacedPolls >= Constant.REPLACED_POLLS) {
+            finish(entry);
+            entry.future.completeExceptionally(new TransactionException("Transaction " + entry.hash + " replaced, nonce "
+                    + entry.nonce + " of " + entry.from + " mined by another transaction", entry.hash));
+        }
+    }
+
+    private void expire() {
+        long now = System.currentTimeMillis();
+        for (Pending entry : pending.values()) {
+            if (now > entry.deadline) {
+                finish(entry);
+                entry.future.completeExceptionally(new TransactionException("Transaction receipt of " + entry.hash + " not received after "
+                        + options.getTimeoutMillis() + "ms", entry.hash));
+            }
+        }
+    }
+
+    private void finish(Pending entry) {
+        pending.remove(entry.hash.toLowerCase(Locale.ROOT), entry);
+    }
+}
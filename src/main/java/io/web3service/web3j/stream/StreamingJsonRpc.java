@@ -0,0 +1,176 @@
+package io.web3service.web3j.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.web3service.web3j.core.AsyncHttpService;
+import io.web3service.web3j.core.JsonRpcException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.http.HttpService;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * JSON-RPC over http whose result array is parsed from the response stream one element at a time,
+ * so only the element being handed to the consumer is materialized whatever the response size.
+ * @author github.com/x-saofen
+ */
+public class StreamingJsonRpc {
+
+    private static class Constant {
+        private static final String JSONRPC = "jsonrpc";
+        private static final String VERSION = "2.0";
+        private static final String METHOD = "method";
+        private static final String PARAMS = "params";
+        private static final String ID = "id";
+        private static final String RESULT = "result";
+        private static final String ERROR = "error";
+    }
+
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private final AsyncHttpService service;
+
+    public StreamingJsonRpc(AsyncHttpService service) {
+        this.service = service;
+    }
+
+    /**
+     * result of a streamed call
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class StreamResult {
+        /**
+         * result without the streamed array, NullNode for a null result, null when the result itself was streamed
+         */
+        private final JsonNode result;
+        /**
+         * elements handed to the consumer
+         */
+        private final long count;
+    }
+
+    /**
+     * send a request and stream the elements of an array in its result
+     * @param method      JSON-RPC method
+     * @param params      params
+     * @param arrayField  field of a object result to stream, null streams an array result
+     * @param elementType element type
+     * @param consumer    element consumer, called on the http thread in response order
+     * @return completes after the last element, a node error completes with {@link JsonRpcException}
+     */
+    public <T> CompletableFuture<StreamResult> stream(String method, List<?> params, String arrayField, Class<T> elementType, Consumer<? super T> consumer) {
+        CompletableFuture<StreamResult> future = new CompletableFuture<>();
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put(Constant.JSONRPC, Constant.VERSION);
+        request.put(Constant.METHOD, method);
+        request.put(Constant.PARAMS, params);
+        request.put(Constant.ID, NEXT_ID.incrementAndGet());
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(request);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        okhttp3.Request httpRequest = new okhttp3.Request.Builder()
+                .url(service.getUrl())
+                .headers(Headers.of(service.getHeaders()))
+                .post(RequestBody.create(payload, HttpService.JSON_MEDIA_TYPE))
+                .build();
+        service.getHttpClient().newCall(httpRequest).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, okhttp3.Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (!response.isSuccessful() || Objects.isNull(body)) {
+                        throw new ClientConnectionException("Invalid response received: " + response.code() + "; "
+                                + (Objects.isNull(body) ? "N/A" : body.string()));
+                    }
+                    try (JsonParser parser = objectMapper.getFactory().createParser(body.byteStream())) {
+                        future.complete(parse(parser, arrayField, elementType, consumer));
+                    }
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    private <T> StreamResult parse(JsonParser parser, String arrayField, Class<T> elementType, Consumer<? super T> consumer) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new ClientConnectionException("Invalid JSON-RPC response");
+        }
+        JsonNode result = NullNode.getInstance();
+        long count = 0L;
+        Response.Error error = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if (Constant.ERROR.equals(name)) {
+                error = objectMapper.readValue(parser, Response.Error.class);
+            } else if (!Constant.RESULT.equals(name)) {
+                parser.skipChildren();
+            } else if (token == JsonToken.START_ARRAY && Objects.isNull(arrayField)) {
+                result = null;
+                count = streamArray(parser, elementType, consumer);
+            } else if (token == JsonToken.START_OBJECT && Objects.nonNull(arrayField)) {
+                ObjectNode header = objectMapper.createObjectNode();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    if (parser.nextToken() == JsonToken.START_ARRAY && arrayField.equals(field)) {
+                        count = streamArray(parser, elementType, consumer);
+                    } else {
+                        header.set(field, objectMapper.readTree(parser));
+                    }
+                }
+                result = header;
+            } else {
+                result = objectMapper.readTree(parser);
+            }
+        }
+        if (Objects.nonNull(error)) {
+            throw new JsonRpcException(error);
+        }
+        return new StreamResult(result, count);
+    }
+
+    private <T> long streamArray(JsonParser parser, Class<T> elementType, Consumer<? super T> consumer) throws IOException {
+        long count = 0L;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            consumer.accept(objectMapper.readValue(parser, elementType));
+            count++;
+        }
+        return count;
+    }
+}
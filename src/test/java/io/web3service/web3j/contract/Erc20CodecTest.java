@@ -0,0 +1,138 @@
+package io.web3service.web3j.contract;
+
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link Erc20Codec} against FunctionEncoder / FunctionReturnDecoder.
+ * @author github.com/x-saofen
+ */
+class Erc20CodecTest {
+
+    private static final String CHECKSUMMED = "0x5aAeb6053F3E94C9b9A09f33669435E7Ef1BeAed";
+
+    private static final String UNPREFIXED = "fb6916095ca1df60bb79ce92ce3ea74c37c5d359";
+
+    private static final String LOWER = "0xde0b295669a9fd93d5f28d9ec85e40f4cb697bae";
+
+    private static final BigInteger MAX_UINT256 = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+
+    private static final List<BigInteger> VALUES = Arrays.asList(
+            BigInteger.ZERO,
+            BigInteger.ONE,
+            BigInteger.valueOf(Long.MAX_VALUE),
+            BigInteger.ONE.shiftLeft(63),
+            BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE),
+            new BigInteger("1000000000000000000000000"),
+            BigInteger.ONE.shiftLeft(255),
+            MAX_UINT256);
+
+    @Test
+    void encodesAddressesLikeFunctionEncoder() {
+        for (String owner : Arrays.asList(CHECKSUMMED, UNPREFIXED, LOWER, "0x" + UNPREFIXED.toUpperCase())) {
+            assertEquals(encode("balanceOf", new Address(owner)), Erc20Codec.balanceOf(owner));
+            assertEquals(encode("allowance", new Address(owner), new Address(LOWER)), Erc20Codec.allowance(owner, LOWER));
+        }
+    }
+
+    @Test
+    void encodesValuesLikeFunctionEncoder() {
+        for (BigInteger value : VALUES) {
+            assertEquals(encode("transfer", new Address(UNPREFIXED), new Uint256(value)), Erc20Codec.transfer(UNPREFIXED, value));
+            assertEquals(encode("approve", new Address(CHECKSUMMED), new Uint256(value)), Erc20Codec.approve(CHECKSUMMED, value));
+            assertEquals(encode("transferFrom", new Address(CHECKSUMMED), new Address(LOWER), new Uint256(value)),
+                    Erc20Codec.transferFrom(CHECKSUMMED, LOWER, value));
+        }
+    }
+
+    @Test
+    void encodesFixedSelectors() {
+        assertEquals(encode("name"), Erc20Codec.NAME);
+        assertEquals(encode("symbol"), Erc20Codec.SYMBOL);
+        assertEquals(encode("decimals"), Erc20Codec.DECIMALS);
+        assertEquals(encode("totalSupply"), Erc20Codec.TOTAL_SUPPLY);
+    }
+
+    @Test
+    void decodesValuesLikeFunctionReturnDecoder() {
+        for (BigInteger value : VALUES) {
+            String word = word(value);
+            assertEquals(decode("0x" + word), Erc20Codec.decodeUint256("0x" + word));
+            assertEquals(value, Erc20Codec.decodeUint256(word));
+            // a result longer than one word is decoded from its first word
+            assertEquals(value, Erc20Codec.decodeUint256("0x" + word + word(BigInteger.ONE)));
+        }
+    }
+
+    @Test
+    void decodesLongWithinRange() {
+        assertEquals(0L, Erc20Codec.decodeLong("0x" + word(BigInteger.ZERO)));
+        assertEquals(Long.MAX_VALUE, Erc20Codec.decodeLong("0x" + word(BigInteger.valueOf(Long.MAX_VALUE))));
+        assertThrows(ArithmeticException.class, () -> Erc20Codec.decodeLong("0x" + word(BigInteger.ONE.shiftLeft(63))));
+        assertThrows(ArithmeticException.class, () -> Erc20Codec.decodeLong("0x" + word(MAX_UINT256)));
+    }
+
+    @Test
+    void emptyResultsAreZero() {
+        assertEquals(Collections.emptyList(), FunctionReturnDecoder.decode("0x", uint256()));
+        assertEquals(BigInteger.ZERO, Erc20Codec.decodeUint256("0x"));
+        assertEquals(BigInteger.ZERO, Erc20Codec.decodeUint256(""));
+        assertEquals(BigInteger.ZERO, Erc20Codec.decodeUint256(null));
+        assertEquals(0L, Erc20Codec.decodeLong("0x"));
+    }
+
+    @Test
+    void shortResultsAreRejected() {
+        assertThrows(RuntimeException.class, () -> FunctionReturnDecoder.decode("0x01", uint256()));
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.decodeUint256("0x01"));
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.decodeUint256("0x" + word(MAX_UINT256).substring(1)));
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.decodeLong("0x01"));
+    }
+
+    @Test
+    void outOfRangeValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.transfer(LOWER, BigInteger.ONE.negate()));
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.approve(LOWER, BigInteger.ONE.shiftLeft(256)));
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.transferFrom(LOWER, LOWER, MAX_UINT256.add(BigInteger.ONE)));
+    }
+
+    @Test
+    void invalidAddressesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.balanceOf(null));
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.balanceOf(LOWER.substring(0, 41)));
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.balanceOf(LOWER + "00"));
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.balanceOf(LOWER.replace('d', 'g')));
+    }
+
+    private static String encode(String name, Type... inputs) {
+        return FunctionEncoder.encode(new Function(name, Arrays.asList(inputs), Collections.emptyList()));
+    }
+
+    private static String word(BigInteger value) {
+        return FunctionEncoder.encodeConstructor(Collections.singletonList(new Uint256(value)));
+    }
+
+    private static BigInteger decode(String result) {
+        return ((Uint256) FunctionReturnDecoder.decode(result, uint256()).get(0)).getValue();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<TypeReference<Type>> uint256() {
+        return (List) Collections.singletonList(new TypeReference<Uint256>() {
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package io.web3service.web3j.hedge;
+
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.core.Response;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author github.com/x-saofen
+ */
+class HedgingExecutorTest {
+
+    @Test
+    void laggingAndRateLimitedEndpointsAreRetryable() {
+        assertTrue(HedgingExecutor.isRetryable(new Response.Error(-32000, "header not found")));
+        assertTrue(HedgingExecutor.isRetryable(new Response.Error(-32005, "limit exceeded")));
+        assertTrue(HedgingExecutor.isRetryable(new Response.Error(429, "Too Many Requests")));
+        assertTrue(HedgingExecutor.isRetryable(new Response.Error(-32000, "Your app has exceeded its compute units per second capacity")));
+    }
+
+    @Test
+    void otherNodeErrorsAreTheAnswer() {
+        assertFalse(HedgingExecutor.isRetryable(new Response.Error(3, "execution reverted")));
+        assertFalse(HedgingExecutor.isRetryable(new Response.Error(-32000, "insufficient funds for gas * price + value")));
+        assertFalse(HedgingExecutor.isRetryable(new Response.Error(-32602, "invalid argument 0: hex string without 0x prefix")));
+        assertFalse(HedgingExecutor.isRetryable(new Response.Error(-32000, "stub injected error")));
+    }
+}
@@ -0,0 +1,90 @@
+package io.web3service.web3j.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram in microseconds, log2 buckets split in 16 linear sub buckets, so a
+ * percentile is within about 6% of the recorded value.
+ * @author github.com/x-saofen
+ */
+public class LatencyHistogram {
+
+    private static class Constant {
+        private static final int SUB_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+        private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(Constant.BUCKETS);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * record a latency
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(index(micros));
+        count.incrementAndGet();
+        long current;
+        while (micros > (current = max.get()) && !max.compareAndSet(current, micros)) {
+            // retry
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return max latency in microseconds
+     */
+    public long getMaxMicros() {
+        return max.get();
+    }
+
+    /**
+     * latency at a percentile
+     * @param percentile 0 - 100
+     * @return upper bound of the bucket in microseconds, 0 when nothing was recorded
+     */
+    public long percentileMicros(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100D));
+        long seen = 0L;
+        for (int i = 0; i < Constant.BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private static int index(long micros) {
+        if (micros < Constant.SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - Constant.SUB_BITS)) & (Constant.SUB_BUCKETS - 1);
+        return (exponent - Constant.SUB_BITS + 1) * Constant.SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int index) {
+        if (index < Constant.SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / Constant.SUB_BUCKETS + Constant.SUB_BITS - 1;
+        long sub = index % Constant.SUB_BUCKETS;
+        int shift = exponent - Constant.SUB_BITS;
+        return ((Constant.SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,168 @@
+package io.web3service.web3j.load;
+
+import io.web3service.web3j.core.Web3jNetworkService;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.core.Response;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop load generator: options.concurrency callers each start the next operation when the
+ * previous one completes, without a thread per caller. Operations completed after the warmup and
+ * before the end are measured; a completed JSON-RPC response with an error counts as a failure.
+ * <pre>
+ * LoadReport report = LoadDriver.run(template, "stub", options,
+ *         service -&gt; service.getErc20ContractBalancesOfAsync(contract, owner));
+ * </pre>
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class LoadDriver {
+
+    /**
+     * load shape
+     */
+    @Data
+    public static class Options {
+        private int concurrency = 64;
+        private long warmupMillis = 2000L;
+        private long durationMillis = 10_000L;
+        /**
+         * time left to in flight operations after the end
+         */
+        private long drainMillis = 30_000L;
+    }
+
+    private final Options options;
+
+    private final Supplier<CompletableFuture<?>> operation;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    private final LongAdder operations = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running = true;
+
+    private volatile long measureFrom;
+
+    private volatile long measureTo = Long.MAX_VALUE;
+
+    private LoadDriver(Options options, Supplier<CompletableFuture<?>> operation) {
+        this.options = options;
+        this.operation = operation;
+    }
+
+    /**
+     * run operations on the endpoints selected by the template
+     * @param template  template
+     * @param network   network
+     * @param options   load shape
+     * @param operation operation on an endpoint
+     * @return report
+     */
+    public static LoadReport run(Web3jServiceTemplate template, String network, Options options,
+                                 Function<Web3jNetworkService, CompletableFuture<?>> operation) throws InterruptedException {
+        return run(options, () -> operation.apply(template.getNextTemplate(network)));
+    }
+
+    /**
+     * run operations
+     * @param options   load shape
+     * @param operation operation
+     * @return report
+     */
+    public static LoadReport run(Options options, Supplier<CompletableFuture<?>> operation) throws InterruptedException {
+        return new LoadDriver(Objects.isNull(options) ? new Options() : options, operation).run();
+    }
+
+    private LoadReport run() throws InterruptedException {
+        int concurrency = Math.max(1, options.getConcurrency());
+        CountDownLatch stopped = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        measureFrom = start + TimeUnit.MILLISECONDS.toNanos(options.getWarmupMillis());
+        measureTo = measureFrom + TimeUnit.MILLISECONDS.toNanos(options.getDurationMillis());
+        for (int i = 0; i < concurrency; i++) {
+            CompletableFuture.runAsync(() -> next(stopped));
+        }
+        TimeUnit.NANOSECONDS.sleep(Math.max(0L, measureTo - System.nanoTime()));
+        running = false;
+        if (!stopped.await(options.getDrainMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} of {} callers still waiting after {}ms", stopped.getCount(), concurrency, options.getDrainMillis());
+        }
+        Map<String, Long> byType = new TreeMap<>();
+        failures.forEach((type, count) -> byType.put(type, count.sum()));
+        return new LoadReport(concurrency, options.getDurationMillis(), operations.sum(), failed.sum(), byType, latency);
+    }
+
+    /**
+     * one caller, loops while operations complete synchronously
+     */
+    private void next(CountDownLatch stopped) {
+        while (running) {
+            long start = System.nanoTime();
+            CompletableFuture<?> future;
+            try {
+                future = operation.get();
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            if (!future.isDone()) {
+                future.whenComplete((value, ex) -> {
+                    record(start, value, ex);
+                    next(stopped);
+                });
+                return;
+            }
+            Object value = null;
+            Throwable ex = null;
+            try {
+                value = future.get();
+            } catch (ExecutionException e) {
+                ex = e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ex = e;
+            }
+            record(start, value, ex);
+        }
+        stopped.countDown();
+    }
+
+    private void record(long start, Object value, Throwable ex) {
+        long end = System.nanoTime();
+        if (end < measureFrom || end > measureTo) {
+            return;
+        }
+        latency.record(end - start);
+        operations.increment();
+        String failure = null;
+        if (Objects.nonNull(ex)) {
+            Throwable cause = ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex;
+            failure = cause.getClass().getSimpleName();
+        } else if (value instanceof Response && ((Response<?>) value).hasError()) {
+            failure = "rpc " + ((Response<?>) value).getError().getCode();
+        }
+        if (Objects.nonNull(failure)) {
+            failed.increment();
+            failures.computeIfAbsent(failure, type -> new LongAdder()).increment();
+        }
+    }
+}
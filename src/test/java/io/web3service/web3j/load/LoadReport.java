@@ -0,0 +1,55 @@
+package io.web3service.web3j.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Result of a {@link LoadDriver} run, operations completed inside the measured window.
+ * @author github.com/x-saofen
+ */
+@Getter
+@AllArgsConstructor
+public class LoadReport {
+
+    private final int concurrency;
+
+    private final long durationMillis;
+
+    private final long operations;
+
+    private final long failures;
+
+    /**
+     * failures by exception class or JSON-RPC error code
+     */
+    private final Map<String, Long> failuresByType;
+
+    private final LatencyHistogram latency;
+
+    public double getThroughput() {
+        return durationMillis <= 0 ? 0D : operations * 1000D / durationMillis;
+    }
+
+    public double getErrorRate() {
+        return operations == 0 ? 0D : (double) failures / operations;
+    }
+
+    /**
+     * latency at a percentile
+     * @param percentile 0 - 100
+     * @return milliseconds
+     */
+    public double percentileMillis(double percentile) {
+        return latency.percentileMicros(percentile) / 1000D;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("concurrency %d, %d ops in %dms: %.1f ops/s, errors %d (%.2f%%) %s%n"
+                        + "latency ms p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f",
+                concurrency, operations, durationMillis, getThroughput(), failures, getErrorRate() * 100, failuresByType,
+                percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(99.9), latency.getMaxMicros() / 1000D);
+    }
+}
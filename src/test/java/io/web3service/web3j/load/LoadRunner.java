@@ -0,0 +1,132 @@
+package io.web3service.web3j.load;
+
+import io.web3service.web3j.balancer.LoadBalancers;
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jNetworkService;
+import io.web3service.web3j.core.Web3jServiceFactory;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import io.web3service.web3j.nonce.NonceRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Command line load / soak test against {@link StubRpcServer} nodes. Arguments are properties:
+ * stub.* ({@link StubRpcServer.Options}), driver.* ({@link LoadDriver.Options}), network.*
+ * ({@link Web3jNetworkConfig}, like spring.web3j.network-config) and load.* ({@link Load}).
+ * <pre>
+ * LoadRunner load.endpoints=3 load.operation=block-number stub.latency-millis=20 stub.latency-p99-millis=250 \
+ *     stub.timeout-rate=0.001 driver.concurrency=256 driver.duration-millis=60000 network.load-balancer=P2C
+ * </pre>
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class LoadRunner {
+
+    private static final String NETWORK = "stub";
+
+    private static final String CONTRACT = "0xdAC17F958D2ee523a2206206994597C13D831ec7";
+
+    private static final String OWNER = "0x5aAeb6053F3E94C9b9A09f33669435E7Ef1BeAed";
+
+    private static final Credentials CREDENTIALS = Credentials.create("0x4646464646464646464646464646464646464646464646464646464646464646");
+
+    /**
+     * test setup
+     */
+    @Data
+    public static class Load {
+        /**
+         * stub nodes, every node gets the stub.* options
+         */
+        private int endpoints = 2;
+        /**
+         * block-number (template call with hedging / failover), balance-of or transfer
+         */
+        private String operation = "block-number";
+        private Long timeoutSeconds = 5L;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> properties = new HashMap<>();
+        for (String arg : args) {
+            String property = arg.startsWith("--") ? arg.substring(2) : arg;
+            int split = property.indexOf('=');
+            if (split > 0) {
+                properties.put(property.substring(0, split), property.substring(split + 1));
+            }
+        }
+        Binder binder = new Binder(new MapConfigurationPropertySource(properties));
+        Load load = binder.bind("load", Bindable.of(Load.class)).orElseGet(Load::new);
+        StubRpcServer.Options stub = binder.bind("stub", Bindable.of(StubRpcServer.Options.class)).orElseGet(StubRpcServer.Options::new);
+        LoadDriver.Options driver = binder.bind("driver", Bindable.of(LoadDriver.Options.class)).orElseGet(LoadDriver.Options::new);
+        Web3jNetworkConfig config = binder.bind("network", Bindable.of(Web3jNetworkConfig.class)).orElseGet(Web3jNetworkConfig::new);
+
+        List<StubRpcServer> nodes = new ArrayList<>();
+        try {
+            List<String> urls = new ArrayList<>();
+            for (int i = 0; i < load.getEndpoints(); i++) {
+                StubRpcServer node = StubRpcServer.start(stub);
+                nodes.add(node);
+                urls.add(node.getUrl());
+            }
+            try (Web3jServiceTemplate template = template(urls, load.getTimeoutSeconds(), config)) {
+                log.info("Load {} on {} stub nodes, {}", load.getOperation(), urls.size(), driver);
+                LoadReport report = LoadDriver.run(template, NETWORK, driver, operation(template, load.getOperation(), stub.getChainId()));
+                log.info("{}", report);
+                for (StubRpcServer node : nodes) {
+                    log.info("{} http requests {}, injected faults {}", node.getUrl(), node.getRequestCount(), node.getInjectedCount());
+                }
+            }
+        } finally {
+            nodes.forEach(StubRpcServer::close);
+        }
+    }
+
+    /**
+     * template of one network over the given nodes
+     * @param urls           node urls
+     * @param timeoutSeconds http timeout
+     * @param config         network config
+     * @return template
+     */
+    public static Web3jServiceTemplate template(List<String> urls, Long timeoutSeconds, Web3jNetworkConfig config) {
+        List<Web3jNetworkService> services = Web3jServiceFactory.buildServiceList(urls, timeoutSeconds, config, NETWORK);
+        Web3jServiceTemplate template = Web3jServiceTemplate.buildEmpty()
+                .buildServiceList(services, NETWORK, LoadBalancers.create(config.getLoadBalancer()))
+                .getWeb3jServiceTemplate();
+        if (Boolean.TRUE.equals(config.getNonce().getEnabled())) {
+            NonceRegistry nonceRegistry = new NonceRegistry(template, NETWORK);
+            services.forEach(service -> service.setNonceRegistry(nonceRegistry));
+        }
+        return template;
+    }
+
+    private static Function<Web3jNetworkService, CompletableFuture<?>> operation(Web3jServiceTemplate template, String name, long chainId) {
+        switch (name) {
+            case "balance-of":
+                return service -> service.getErc20ContractBalancesOfAsync(CONTRACT, OWNER);
+            case "transfer":
+                BigInteger gasPrice = BigInteger.valueOf(1_000_000_000L);
+                return service -> service.sendTransactionAsync(CREDENTIALS, chainId, nonce -> RawTransaction.createEtherTransaction(
+                        nonce, gasPrice, BigInteger.valueOf(21_000), OWNER, BigInteger.ONE));
+            case "block-number":
+                return service -> template.callAsync(NETWORK, ReadCall.ethBlockNumber());
+            default:
+                throw new IllegalArgumentException("Unknown operation " + name + ", expected block-number, balance-of or transfer");
+        }
+    }
+}
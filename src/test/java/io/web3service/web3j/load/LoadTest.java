@@ -0,0 +1,99 @@
+package io.web3service.web3j.load;
+
+import io.web3service.web3j.batch.ReadCall;
+import io.web3service.web3j.core.Web3jNetworkConfig;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Short {@link LoadDriver} runs against {@link StubRpcServer} nodes, see {@link LoadRunner} for long runs.
+ * @author github.com/x-saofen
+ */
+class LoadTest {
+
+    private static final String NETWORK = "stub";
+
+    private final List<StubRpcServer> nodes = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        nodes.forEach(StubRpcServer::close);
+        nodes.clear();
+    }
+
+    @Test
+    void cleanNodesAnswerEveryCall() throws Exception {
+        StubRpcServer.Options stub = new StubRpcServer.Options();
+        try (Web3jServiceTemplate template = template(2, stub)) {
+            LoadReport report = run(template);
+
+            assertTrue(report.getOperations() > 0, report.toString());
+            assertTrue(report.getThroughput() > 50D, report.toString());
+            assertEquals(0L, report.getFailures(), report.toString());
+            long calls = 0L;
+            for (StubRpcServer node : nodes) {
+                assertEquals(0L, node.getInjectedCount());
+                calls += node.getCallCount("eth_blockNumber");
+            }
+            assertTrue(calls >= report.getOperations(), "node calls " + calls + " < operations " + report.getOperations());
+        }
+    }
+
+    @Test
+    void failoverMasksHttpErrors() throws Exception {
+        StubRpcServer.Options stub = new StubRpcServer.Options();
+        stub.setHttpErrorRate(0.05D);
+        try (Web3jServiceTemplate template = template(2, stub)) {
+            LoadReport report = run(template);
+
+            long injected = nodes.stream().mapToLong(StubRpcServer::getInjectedCount).sum();
+            assertTrue(report.getOperations() > 0, report.toString());
+            assertTrue(injected > 0, "no fault injected");
+            // an operation fails only when both endpoints answer 503
+            assertTrue(report.getErrorRate() < 0.02D, report.toString());
+            assertTrue(report.getFailures() < injected, report.toString());
+        }
+    }
+
+    @Test
+    void nodeErrorsAreReported() throws Exception {
+        StubRpcServer.Options stub = new StubRpcServer.Options();
+        stub.setErrorRate(0.1D);
+        try (Web3jServiceTemplate template = template(1, stub)) {
+            LoadReport report = run(template);
+
+            long injected = nodes.stream().mapToLong(StubRpcServer::getInjectedCount).sum();
+            assertTrue(injected > 0, "no fault injected");
+            assertTrue(report.getFailures() > 0, report.toString());
+            assertTrue(report.getFailuresByType().containsKey("JsonRpcException"), report.toString());
+            assertTrue(report.getErrorRate() < 0.3D, report.toString());
+        }
+    }
+
+    private Web3jServiceTemplate template(int endpoints, StubRpcServer.Options stub) throws IOException {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < endpoints; i++) {
+            StubRpcServer node = StubRpcServer.start(stub);
+            nodes.add(node);
+            urls.add(node.getUrl());
+        }
+        return LoadRunner.template(urls, 5L, new Web3jNetworkConfig());
+    }
+
+    private static LoadReport run(Web3jServiceTemplate template) throws InterruptedException {
+        LoadDriver.Options options = new LoadDriver.Options();
+        options.setConcurrency(8);
+        options.setWarmupMillis(300L);
+        options.setDurationMillis(1500L);
+        options.setDrainMillis(5000L);
+        return LoadDriver.run(template, NETWORK, options, service -> template.callAsync(NETWORK, ReadCall.ethBlockNumber()));
+    }
+}
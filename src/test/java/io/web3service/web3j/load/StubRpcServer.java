@@ -0,0 +1,581 @@
+package io.web3service.web3j.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Data;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.utils.Numeric;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SignatureException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ethereum JSON-RPC node over http on the loopback interface, for offline load tests. Answers
+ * single and batch requests from canned chain state: the head moves every options.block-millis,
+ * raw transactions are decoded, nonce checked and mined in nonce order from the next block. Latency is log-normal
+ * from options.latency-millis (median) and options.latency-p99-millis, and rate limits (429), http
+ * errors (503), JSON-RPC errors and hung requests are injected per http request. Delayed responses
+ * wait on a scheduler, not on a handler thread.
+ * <pre>
+ * try (StubRpcServer node = StubRpcServer.start(options)) {
+ *     List&lt;Web3jNetworkService&gt; services = Web3jServiceFactory.buildServiceList(
+ *             Collections.singletonList(node.getUrl()), 5L, config, "stub");
+ *     ...
+ * }
+ * </pre>
+ * @author github.com/x-saofen
+ */
+@Slf4j
+public class StubRpcServer implements Closeable {
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getObjectMapper();
+
+    static {
+        // without it the JDK server writes headers and body in separate segments and waits on delayed acks (~40ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private static class Constant {
+        private static final String BALANCE_OF = "0x70a08231";
+        private static final String DECIMALS = "0x313ce567";
+        private static final String TOTAL_SUPPLY = "0x18160ddd";
+        private static final String NAME = "0x06fdde03";
+        private static final String SYMBOL = "0x95d89b41";
+        private static final String ZERO_WORD = "0x" + repeat('0', 64);
+        private static final String EMPTY_BLOOM = "0x" + repeat('0', 512);
+        private static final String STUB_STRING = "0x" + word(32) + word(4) + "5354554200000000000000000000000000000000000000000000000000000000";
+        private static final String JSON = "application/json";
+        private static final int SERVER_ERROR = -32000;
+        private static final int METHOD_NOT_FOUND = -32601;
+        private static final int TOO_MANY_REQUESTS = 429;
+        private static final int UNAVAILABLE = 503;
+    }
+
+    /**
+     * chain state and fault injection
+     */
+    @Data
+    public static class Options {
+        /**
+         * 0 picks a free port
+         */
+        private int port = 0;
+        private long chainId = 1337L;
+        private long startBlock = 1_000_000L;
+        private long blockMillis = 2000L;
+        /**
+         * median response latency, 0 answers at once
+         */
+        private long latencyMillis = 0L;
+        /**
+         * 99th percentile latency, not above latency-millis for a fixed latency
+         */
+        private long latencyP99Millis = 0L;
+        /**
+         * share of http requests answered with a JSON-RPC error per call
+         */
+        private double errorRate = 0D;
+        /**
+         * share of http requests answered with http 503
+         */
+        private double httpErrorRate = 0D;
+        /**
+         * share of http requests held for hang-millis, past the client timeout
+         */
+        private double timeoutRate = 0D;
+        private long hangMillis = 30_000L;
+        /**
+         * http requests per second, 0 for no limit, 429 beyond
+         */
+        private int rateLimit = 0;
+        private int threads = 4;
+        private BigInteger balance = BigInteger.TEN.pow(21);
+        private BigInteger tokenBalance = BigInteger.TEN.pow(24);
+        private BigInteger gasPrice = BigInteger.valueOf(1_000_000_000L);
+        private BigInteger baseFeePerGas = BigInteger.valueOf(20_000_000_000L);
+        private BigInteger maxPriorityFeePerGas = BigInteger.valueOf(1_000_000_000L);
+        private String code = "0x6080604052";
+    }
+
+    @Getter
+    private final Options options;
+
+    private final HttpServer server;
+
+    private final ExecutorService handlers;
+
+    private final ScheduledExecutorService delays;
+
+    private final long startedAt = System.currentTimeMillis();
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+
+    private final Map<String, Mined> transactions = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder injected = new LongAdder();
+
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    private volatile long windowSecond;
+
+    private StubRpcServer(Options options) throws IOException {
+        this.options = options;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.getPort()), 1024);
+        this.handlers = Executors.newFixedThreadPool(Math.max(1, options.getThreads()), daemon("stub-rpc-" + options.getPort()));
+        this.delays = Executors.newScheduledThreadPool(2, daemon("stub-rpc-delay"));
+        server.setExecutor(handlers);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * start a node
+     * @param options options, null for defaults
+     * @return running node
+     */
+    public static StubRpcServer start(Options options) throws IOException {
+        return new StubRpcServer(Objects.isNull(options) ? new Options() : options);
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public long getHead() {
+        long blockMillis = options.getBlockMillis();
+        return options.getStartBlock() + (blockMillis > 0 ? (System.currentTimeMillis() - startedAt) / blockMillis : 0L);
+    }
+
+    /**
+     * http requests received
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * http requests answered with an injected fault
+     */
+    public long getInjectedCount() {
+        return injected.sum();
+    }
+
+    /**
+     * calls of a JSON-RPC method, batched calls counted one by one
+     */
+    public long getCallCount(String method) {
+        LongAdder count = calls.get(method);
+        return Objects.isNull(count) ? 0L : count.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        delays.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        byte[] body = readAll(exchange.getRequestBody());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (!tryAcquire()) {
+            injected.increment();
+            respond(exchange, Constant.TOO_MANY_REQUESTS, "rate limited".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        if (random.nextDouble() < options.getHttpErrorRate()) {
+            injected.increment();
+            later(exchange, Constant.UNAVAILABLE, "unavailable".getBytes(StandardCharsets.UTF_8), nextLatency(random));
+            return;
+        }
+        boolean hang = random.nextDouble() < options.getTimeoutRate();
+        boolean fail = !hang && random.nextDouble() < options.getErrorRate();
+        if (hang || fail) {
+            injected.increment();
+        }
+        byte[] response;
+        try {
+            response = OBJECT_MAPPER.writeValueAsBytes(answer(OBJECT_MAPPER.readTree(body), fail));
+        } catch (IOException | RuntimeException e) {
+            ObjectNode error = OBJECT_MAPPER.createObjectNode().put("jsonrpc", "2.0").putNull("id");
+            error.putObject("error").put("code", -32700).put("message", "parse error: " + e.getMessage());
+            response = OBJECT_MAPPER.writeValueAsBytes(error);
+        }
+        later(exchange, 200, response, hang ? options.getHangMillis() : nextLatency(random));
+    }
+
+    private JsonNode answer(JsonNode request, boolean fail) {
+        if (request.isArray()) {
+            ArrayNode responses = OBJECT_MAPPER.createArrayNode();
+            for (JsonNode call : request) {
+                responses.add(answerCall(call, fail));
+            }
+            return responses;
+        }
+        return answerCall(request, fail);
+    }
+
+    private ObjectNode answerCall(JsonNode call, boolean fail) {
+        String method = call.path("method").asText();
+        calls.computeIfAbsent(method, m -> new LongAdder()).increment();
+        ObjectNode response = OBJECT_MAPPER.createObjectNode().put("jsonrpc", "2.0");
+        response.set("id", call.get("id"));
+        if (fail) {
+            return error(response, Constant.SERVER_ERROR, "stub injected error");
+        }
+        JsonNode params = call.path("params");
+        long head = getHead();
+        switch (method) {
+            case "eth_chainId":
+                return response.put("result", Numeric.encodeQuantity(BigInteger.valueOf(options.getChainId())));
+            case "net_version":
+                return response.put("result", String.valueOf(options.getChainId()));
+            case "web3_clientVersion":
+                return response.put("result", "StubRpcServer/v1.0.0");
+            case "eth_blockNumber":
+                return response.put("result", quantity(head));
+            case "eth_gasPrice":
+                return response.put("result", Numeric.encodeQuantity(options.getGasPrice()));
+            case "eth_maxPriorityFeePerGas":
+                return response.put("result", Numeric.encodeQuantity(options.getMaxPriorityFeePerGas()));
+            case "eth_estimateGas":
+                return response.put("result", quantity(21_000L));
+            case "eth_getBalance":
+                return response.put("result", Numeric.encodeQuantity(options.getBalance()));
+            case "eth_getCode":
+                return response.put("result", options.getCode());
+            case "eth_call":
+                return response.put("result", call(params.path(0).path("data").asText(params.path(0).path("input").asText(""))));
+            case "eth_getTransactionCount":
+                return response.put("result", quantity(transactionCount(params.path(0).asText(), params.path(1).asText("latest"), head)));
+            case "eth_sendRawTransaction":
+                return sendRawTransaction(response, params.path(0).asText(), head);
+            case "eth_getTransactionReceipt":
+                return receipt(response, params.path(0).asText(), head);
+            case "eth_getBlockByNumber":
+                return block(response, params.path(0).asText("latest"), head);
+            case "eth_feeHistory":
+                return feeHistory(response, params, head);
+            default:
+                return error(response, Constant.METHOD_NOT_FOUND, "the method " + method + " does not exist/is not available");
+        }
+    }
+
+    private String call(String data) {
+        if (data.startsWith(Constant.BALANCE_OF)) {
+            return "0x" + word(options.getTokenBalance());
+        }
+        if (data.startsWith(Constant.TOTAL_SUPPLY)) {
+            return "0x" + word(options.getTokenBalance().multiply(BigInteger.valueOf(1000)));
+        }
+        if (data.startsWith(Constant.DECIMALS)) {
+            return "0x" + word(18);
+        }
+        if (data.startsWith(Constant.NAME) || data.startsWith(Constant.SYMBOL)) {
+            return Constant.STUB_STRING;
+        }
+        return Constant.ZERO_WORD;
+    }
+
+    private long transactionCount(String address, String block, long head) {
+        Account account = accounts.get(address.toLowerCase(Locale.ROOT));
+        if (Objects.isNull(account)) {
+            return 0L;
+        }
+        return "pending".equals(block) ? account.pending(head) : account.latest(head);
+    }
+
+    private ObjectNode sendRawTransaction(ObjectNode response, String raw, long head) {
+        String from;
+        BigInteger nonce;
+        RawTransaction decoded;
+        try {
+            decoded = TransactionDecoder.decode(raw);
+            from = ((SignedRawTransaction) decoded).getFrom().toLowerCase(Locale.ROOT);
+            nonce = decoded.getNonce();
+        } catch (RuntimeException | SignatureException e) {
+            return error(response, Constant.SERVER_ERROR, "invalid transaction: " + e.getMessage());
+        }
+        String hash = Hash.sha3(raw);
+        Mined existing = transactions.get(hash);
+        if (Objects.nonNull(existing)) {
+            return error(response, Constant.SERVER_ERROR, "already known");
+        }
+        Account account = accounts.computeIfAbsent(from, a -> new Account());
+        String rejected = account.accept(nonce.longValue(), head + 1, head);
+        if (Objects.nonNull(rejected)) {
+            return error(response, Constant.SERVER_ERROR, rejected);
+        }
+        transactions.put(hash, new Mined(from, decoded.getTo(), nonce.longValue(), head + 1));
+        return response.put("result", hash);
+    }
+
+    private ObjectNode receipt(ObjectNode response, String hash, long head) {
+        Mined mined = transactions.get(hash);
+        if (Objects.isNull(mined) || mined.block > head || accounts.get(mined.from).latest(head) <= mined.nonce) {
+            return response.putNull("result");
+        }
+        ObjectNode receipt = response.putObject("result")
+                .put("transactionHash", hash)
+                .put("transactionIndex", "0x0")
+                .put("blockHash", blockHash(mined.block))
+                .put("blockNumber", quantity(mined.block))
+                .put("from", mined.from)
+                .put("to", mined.to)
+                .put("cumulativeGasUsed", quantity(21_000L))
+                .put("gasUsed", quantity(21_000L))
+                .put("effectiveGasPrice", Numeric.encodeQuantity(options.getBaseFeePerGas().add(options.getMaxPriorityFeePerGas())))
+                .put("status", "0x1")
+                .put("type", "0x2")
+                .put("logsBloom", Constant.EMPTY_BLOOM);
+        receipt.putNull("contractAddress");
+        receipt.putArray("logs");
+        return response;
+    }
+
+    private ObjectNode block(ObjectNode response, String tag, long head) {
+        long number;
+        if ("latest".equals(tag) || "pending".equals(tag) || "safe".equals(tag) || "finalized".equals(tag)) {
+            number = head;
+        } else if ("earliest".equals(tag)) {
+            number = 0L;
+        } else {
+            number = Numeric.decodeQuantity(tag).longValue();
+        }
+        if (number > head) {
+            return response.putNull("result");
+        }
+        ObjectNode block = response.putObject("result")
+                .put("number", quantity(number))
+                .put("hash", blockHash(number))
+                .put("parentHash", blockHash(number - 1))
+                .put("timestamp", quantity(startedAt / 1000 + (number - options.getStartBlock()) * Math.max(1L, options.getBlockMillis() / 1000)))
+                .put("gasLimit", quantity(30_000_000L))
+                .put("gasUsed", quantity(15_000_000L))
+                .put("baseFeePerGas", Numeric.encodeQuantity(options.getBaseFeePerGas()))
+                .put("miner", "0x0000000000000000000000000000000000000000")
+                .put("logsBloom", Constant.EMPTY_BLOOM);
+        block.putArray("transactions");
+        block.putArray("uncles");
+        return response;
+    }
+
+    private ObjectNode feeHistory(ObjectNode response, JsonNode params, long head) {
+        JsonNode countParam = params.path(0);
+        int count = (int) Math.min(1024L, countParam.isTextual() ? Numeric.decodeQuantity(countParam.asText()).longValue() : countParam.asLong(1L));
+        String newest = params.path(1).asText("latest");
+        long newestBlock = newest.startsWith("0x") ? Math.min(head, Numeric.decodeQuantity(newest).longValue()) : head;
+        ObjectNode history = response.putObject("result").put("oldestBlock", quantity(newestBlock - count + 1));
+        ArrayNode baseFees = history.putArray("baseFeePerGas");
+        ArrayNode ratios = history.putArray("gasUsedRatio");
+        ArrayNode rewards = history.putArray("reward");
+        String baseFee = Numeric.encodeQuantity(options.getBaseFeePerGas());
+        String reward = Numeric.encodeQuantity(options.getMaxPriorityFeePerGas());
+        for (int i = 0; i < count; i++) {
+            baseFees.add(baseFee);
+            ratios.add(0.5D);
+            ArrayNode blockRewards = rewards.addArray();
+            for (int p = 0; p < params.path(2).size(); p++) {
+                blockRewards.add(reward);
+            }
+        }
+        baseFees.add(baseFee);
+        return response;
+    }
+
+    private boolean tryAcquire() {
+        int limit = options.getRateLimit();
+        if (limit <= 0) {
+            return true;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        if (second != windowSecond) {
+            synchronized (this) {
+                if (second != windowSecond) {
+                    windowSecond = second;
+                    windowCount.set(0);
+                }
+            }
+        }
+        return windowCount.incrementAndGet() <= limit;
+    }
+
+    /**
+     * log-normal latency of the configured median and 99th percentile
+     */
+    private long nextLatency(ThreadLocalRandom random) {
+        long median = options.getLatencyMillis();
+        if (median <= 0) {
+            return 0L;
+        }
+        long p99 = options.getLatencyP99Millis();
+        if (p99 <= median) {
+            return median;
+        }
+        double sigma = (Math.log(p99) - Math.log(median)) / 2.326D;
+        return Math.round(median * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    private void later(HttpExchange exchange, int status, byte[] body, long delayMillis) {
+        if (delayMillis <= 0) {
+            respond(exchange, status, body);
+            return;
+        }
+        delays.schedule(() -> respond(exchange, status, body), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", Constant.JSON);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            // client gone, usually after its own timeout
+            log.debug("Stub response failed: {}", e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static ObjectNode error(ObjectNode response, int code, String message) {
+        response.putObject("error").put("code", code).put("message", message);
+        return response;
+    }
+
+    private static String quantity(long value) {
+        return Numeric.encodeQuantity(BigInteger.valueOf(value));
+    }
+
+    private static String blockHash(long number) {
+        return Hash.sha3(Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(Math.max(0L, number)), 64));
+    }
+
+    private static String word(long value) {
+        return word(BigInteger.valueOf(value));
+    }
+
+    private static String word(BigInteger value) {
+        return Numeric.toHexStringNoPrefixZeroPadded(value, 64);
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        byte[] buffer = new byte[4096];
+        for (int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * nonces of a sender: a nonce above the next one waits in the queue like in a node's tx pool,
+     * transactions mine in nonce order once their block is reached
+     */
+    private static class Account {
+        /**
+         * nonce to block it can be mined in
+         */
+        private final TreeMap<Long, Long> queued = new TreeMap<>();
+        private long mined;
+
+        /**
+         * @return rejection message, null when accepted
+         */
+        private synchronized String accept(long nonce, long block, long head) {
+            long next = latest(head);
+            if (nonce < next) {
+                return "nonce too low: next nonce " + next + ", tx nonce " + nonce;
+            }
+            if (queued.containsKey(nonce)) {
+                return "replacement transaction underpriced";
+            }
+            queued.put(nonce, block);
+            return null;
+        }
+
+        private synchronized long pending(long head) {
+            long next = latest(head);
+            while (queued.containsKey(next)) {
+                next++;
+            }
+            return next;
+        }
+
+        private synchronized long latest(long head) {
+            Long block;
+            while (Objects.nonNull(block = queued.get(mined)) && block <= head) {
+                queued.remove(mined);
+                mined++;
+            }
+            return mined;
+        }
+    }
+
+    private static class Mined {
+        private final String from;
+        private final String to;
+        private final long nonce;
+        private final long block;
+
+        private Mined(String from, String to, long nonce, long block) {
+            this.from = from;
+            this.to = to;
+            this.nonce = nonce;
+            this.block = block;
+        }
+    }
+}
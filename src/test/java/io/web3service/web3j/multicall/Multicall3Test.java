@@ -0,0 +1,138 @@
+package io.web3service.web3j.multicall;
+
+import io.web3service.web3j.batch.BatchResult;
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.DynamicStruct;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Multicall3 aggregate3 call data and results against FunctionEncoder / FunctionReturnDecoder.
+ * @author github.com/x-saofen
+ */
+class Multicall3Test {
+
+    private static final String TOKEN = "0xA0b86991c6218b36c1d19D4a2e9Eb0cE3606eB48";
+
+    private static final String OTHER_TOKEN = "dac17f958d2ee523a2206206994597c13d831ec7";
+
+    private static final String OWNER = "0x5aAeb6053F3E94C9b9A09f33669435E7Ef1BeAed";
+
+    private static final String SPENDER = "0xde0b295669a9fd93d5f28d9ec85e40f4cb697bae";
+
+    private final List<ContractCall> calls = Arrays.asList(
+            ContractCall.balanceOf(TOKEN, OWNER),
+            ContractCall.name(TOKEN),
+            ContractCall.allowance(OTHER_TOKEN, OWNER, SPENDER),
+            ContractCall.totalSupply(OTHER_TOKEN),
+            ContractCall.symbol(OTHER_TOKEN));
+
+    @Test
+    void encodesLikeFunctionEncoder() {
+        String[] callData = callData();
+        assertEquals(aggregate3(0, calls.size()), Multicall3.encode(calls, callData, 0, calls.size()));
+        // chunks of a split
+        assertEquals(aggregate3(1, 3), Multicall3.encode(calls, callData, 1, 3));
+        assertEquals(aggregate3(4, 5), Multicall3.encode(calls, callData, 4, 5));
+    }
+
+    @Test
+    void decodesResultsAndFailures() {
+        BigInteger balance = BigInteger.ONE.shiftLeft(255).add(BigInteger.TEN);
+        BigInteger supply = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+        String data = results(
+                result(true, encode(new Uint256(balance))),
+                result(true, encode(new Utf8String("USD Coin"))),
+                result(false, "0x"),
+                result(true, encode(new Uint256(supply))),
+                result(true, encode(new Utf8String(""))));
+
+        BatchResult<List<Type>>[] results = newResults();
+        Multicall3.decode(calls, data, 0, calls.size(), results);
+
+        assertEquals(balance, results[0].getValue().get(0).getValue());
+        assertEquals("USD Coin", results[1].getValue().get(0).getValue());
+        assertFalse(results[2].isSuccess());
+        assertEquals(supply, results[3].getValue().get(0).getValue());
+        assertEquals("", results[4].getValue().get(0).getValue());
+    }
+
+    @Test
+    void decodesIntoTheChunkOffset() {
+        String data = results(
+                result(true, encode(new Uint256(BigInteger.ZERO))),
+                result(true, encode(new Utf8String("Tether USD"))));
+
+        BatchResult<List<Type>>[] results = newResults();
+        Multicall3.decode(calls, data, 3, 5, results);
+
+        assertEquals(BigInteger.ZERO, results[3].getValue().get(0).getValue());
+        assertEquals("Tether USD", results[4].getValue().get(0).getValue());
+        assertNull(results[0]);
+    }
+
+    @Test
+    void rejectsMalformedResults() {
+        String two = results(
+                result(true, encode(new Uint256(BigInteger.ONE))),
+                result(true, encode(new Utf8String("USD Coin"))));
+        assertThrows(IllegalStateException.class, () -> Multicall3.decode(calls, two, 0, 3, newResults()));
+        String truncated = two.substring(0, two.length() - 64);
+        assertThrows(IllegalStateException.class, () -> Multicall3.decode(calls, truncated, 0, 2, newResults()));
+        assertThrows(IllegalStateException.class, () -> Multicall3.decode(calls, "0x", 0, 1, newResults()));
+    }
+
+    private String[] callData() {
+        String[] callData = new String[calls.size()];
+        for (int i = 0; i < calls.size(); i++) {
+            callData[i] = FunctionEncoder.encode(calls.get(i).getFunction());
+        }
+        return callData;
+    }
+
+    private String aggregate3(int from, int to) {
+        List<DynamicStruct> structs = new ArrayList<>();
+        for (ContractCall call : calls.subList(from, to)) {
+            structs.add(new DynamicStruct(new Address(call.getContractAddress()), new Bool(true),
+                    new DynamicBytes(Numeric.hexStringToByteArray(FunctionEncoder.encode(call.getFunction())))));
+        }
+        return FunctionEncoder.encode(new Function("aggregate3",
+                Collections.singletonList(new DynamicArray<>(DynamicStruct.class, structs)), Collections.emptyList()));
+    }
+
+    private static DynamicStruct result(boolean success, String returnData) {
+        return new DynamicStruct(new Bool(success), new DynamicBytes(Numeric.hexStringToByteArray(returnData)));
+    }
+
+    private static String results(DynamicStruct... results) {
+        return "0x" + FunctionEncoder.encodeConstructor(Collections.singletonList(new DynamicArray<>(DynamicStruct.class, Arrays.asList(results))));
+    }
+
+    private static String encode(Type value) {
+        return "0x" + FunctionEncoder.encodeConstructor(Collections.singletonList(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private BatchResult<List<Type>>[] newResults() {
+        return (BatchResult<List<Type>>[]) new BatchResult<?>[calls.size()];
+    }
+}
@@ -0,0 +1,159 @@
+package io.web3service.web3j.nonce;
+
+import io.web3service.web3j.core.Web3jNetworkService;
+import io.web3service.web3j.core.Web3jServiceTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Service;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author github.com/x-saofen
+ */
+class NonceManagerTest {
+
+    private static final String NETWORK = "test";
+
+    private static final String ADDRESS = "0x5aaeb6053f3e94c9b9a09f33669435e7ef1beaed";
+
+    private static final long GRACE_MILLIS = 60_000L;
+
+    private final AtomicLong pending = new AtomicLong(10L);
+
+    private final AtomicInteger syncs = new AtomicInteger();
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private Web3jServiceTemplate template;
+
+    private NonceManager nonceManager;
+
+    @BeforeEach
+    void setUp() {
+        Service node = new Service(false) {
+            @Override
+            protected InputStream performIO(String payload) {
+                Matcher id = Pattern.compile("\"id\":(\\d+)").matcher(payload);
+                id.find();
+                syncs.incrementAndGet();
+                String response = "{\"jsonrpc\":\"2.0\",\"id\":" + id.group(1) + ",\"result\":\"0x" + Long.toHexString(pending.get()) + "\"}";
+                return new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        template = Web3jServiceTemplate.buildEmpty()
+                .buildServiceList(Collections.singletonList(new Web3jNetworkService(node, 5L)), NETWORK)
+                .getWeb3jServiceTemplate();
+        nonceManager = new NonceManager(template, NETWORK, ADDRESS, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        template.close();
+    }
+
+    @Test
+    void leasesFollowThePendingCount() {
+        assertEquals(10L, lease(true));
+        assertEquals(11L, lease(true));
+        assertEquals(1, syncs.get());
+    }
+
+    @Test
+    void rejectedNonceIsHandedOutFirst() {
+        assertEquals(10L, lease(true));
+        NonceManager.Lease inFlight = nonceManager.acquire();
+        assertEquals(11L, inFlight.getNonce().longValue());
+        assertEquals(12L, lease(false));
+        assertEquals(12L, lease(true));
+        assertEquals(13L, lease(true));
+        inFlight.release();
+        assertEquals(11L, lease(true));
+        assertEquals(14L, lease(true));
+    }
+
+    @Test
+    void gapThenStaleKeepsQueuedNonces() {
+        // a payout: 10 rejected without being sent, 11 and 12 accepted and queued behind it
+        NonceManager.Lease rejected = nonceManager.acquire();
+        NonceManager.Lease first = nonceManager.acquire();
+        NonceManager.Lease second = nonceManager.acquire();
+        complete(first, true);
+        complete(second, true);
+        complete(rejected, false);
+        now.addAndGet(GRACE_MILLIS + 1);
+        nonceManager.invalidate();
+        assertEquals(10L, lease(true));
+        assertEquals(13L, lease(true));
+        assertEquals(14L, lease(true));
+        assertEquals(2, syncs.get());
+    }
+
+    @Test
+    void queuedNoncesAboveAGapAreNotReclaimed() {
+        NonceManager.Lease gap = nonceManager.acquire();
+        assertEquals(11L, lease(true));
+        assertEquals(12L, lease(true));
+        // the send of 10 is still in flight, 11 and 12 wait in the pool, the chain counts up to 10
+        now.addAndGet(GRACE_MILLIS + 1);
+        nonceManager.invalidate();
+        assertEquals(13L, lease(true));
+        gap.complete(null, new IllegalStateException("timeout"));
+        now.addAndGet(GRACE_MILLIS + 1);
+        // the outcome of 10 is unknown, the sync makes it a gap: only 10 is sent again
+        assertEquals(10L, lease(true));
+        assertEquals(14L, lease(true));
+        pending.set(15L);
+        nonceManager.invalidate();
+        assertEquals(15L, lease(true));
+    }
+
+    @Test
+    void staleNonceAtThePendingCountIsReclaimed() {
+        assertEquals(10L, lease(true));
+        assertEquals(11L, lease(true));
+        assertEquals(1, syncs.get());
+        // within the grace period the accepted nonces are trusted
+        now.addAndGet(GRACE_MILLIS / 2);
+        assertEquals(12L, lease(true));
+        assertEquals(1, syncs.get());
+        // 10 was dropped by the node, 11 and 12 are queued behind it
+        now.addAndGet(GRACE_MILLIS);
+        assertEquals(10L, lease(true));
+        assertEquals(2, syncs.get());
+        assertEquals(13L, lease(true));
+        assertEquals(2, syncs.get());
+    }
+
+    private long lease(boolean accepted) {
+        NonceManager.Lease lease = nonceManager.acquire();
+        complete(lease, accepted);
+        return lease.getNonce().longValue();
+    }
+
+    private static void complete(NonceManager.Lease lease, boolean accepted) {
+        EthSendTransaction response = new EthSendTransaction();
+        if (accepted) {
+            response.setResult("0x01");
+        } else {
+            response.setError(new Response.Error(-32000, "insufficient funds for gas * price + value"));
+        }
+        lease.complete(response, null);
+    }
+}